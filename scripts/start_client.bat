@@ -5,8 +5,8 @@ echo ================================
 echo     Starting IPL Auction Client
 echo ================================
 
-REM Compile AuctionClientGUI.java into bin/
-javac -cp "lib\mysql-connector-j-9.1.0.jar" -d bin src\AuctionClientGUI.java
+REM Compile sources into bin/
+javac -cp "lib\mysql-connector-j-9.1.0.jar" -d bin src\*.java
 
 IF %ERRORLEVEL% NEQ 0 (
     echo [ERROR] Compilation failed!
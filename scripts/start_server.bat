@@ -5,8 +5,8 @@ echo ================================
 echo     Starting IPL Auction Server
 echo ================================
 
-REM Compile Server2.java into bin/
-javac -cp "lib\mysql-connector-j-9.1.0.jar" -d bin src\Server2.java
+REM Compile sources into bin/
+javac -cp "lib\mysql-connector-j-9.1.0.jar" -d bin src\*.java
 
 IF %ERRORLEVEL% NEQ 0 (
     echo [ERROR] Compilation failed!
@@ -17,6 +17,6 @@ IF %ERRORLEVEL% NEQ 0 (
 REM Run server from bin/
 echo [INFO] Running server...
 cd bin
-java -cp ".;..\lib\mysql-connector-j-9.1.0.jar" Server2
+java -cp ".;..\lib\mysql-connector-j-9.1.0.jar" Server2 %*
 
 pause
@@ -0,0 +1,288 @@
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+/**
+ * Allocation budgets for the engine's hot paths, checked by driving a scripted auction.
+ *
+ * Usage: {@code java AllocationBudget [--max-gc-pause-ms=100]}
+ *
+ * The engine is started in this JVM on a scratch store and journal with virtual timers,
+ * and {@value #TEAMS} teams with no sockets log in, get ready and bid. After a warmup, the
+ * bytes every thread allocates are counted across three phases and divided out per unit:
+ * per accepted bid (parsing, validation, journal, read model and the {@code NEW_BID}
+ * fan-out), per recipient of a broadcast, and per lot transition (bidding and
+ * finalization timeouts, the unsold lot, and {@code startNextPlayer} opening the next).
+ * Garbage collections are counted from the collectors' notifications. The run exits with
+ * status 1 if any phase allocates more than its budget or a collection pauses longer than
+ * {@code --max-gc-pause-ms}, so a change that makes a hot path allocate more fails here
+ * rather than as GC pauses on auction day. Budgets carry about 50% headroom over a run on
+ * JDK 17; tighten one when a change makes its path cheaper.
+ *
+ * Timers are virtual here, so a bid's timer restart is cheaper than on the live
+ * scheduler, and outgoing messages are written to nowhere rather than to sockets.
+ */
+public class AllocationBudget {
+    private static final int TEAMS = 16;
+    private static final double BASE_PRICE = 20.0;
+    private static final double BID_INCREMENT = 10.0;
+    // Lots rotate between the teams; 370 of them at up to 40 raises each leave every team
+    // short of the 25-player squad limit and inside its purse, so no scripted bid is refused
+    private static final int BIDS_PER_LOT = 40;
+    private static final int WARMUP_BID_LOTS = 150;
+    private static final int BID_LOTS = 220;
+    private static final int BROADCAST_ROUNDS = 20;
+    private static final int BROADCASTS_PER_ROUND = 1_000; // well inside a client's outbox capacity
+    private static final int WARMUP_TRANSITIONS = 200;
+    private static final int TRANSITIONS = 400;
+
+    // Budgets in bytes per unit
+    private static final long BID_BUDGET = 6_144;
+    private static final long BROADCAST_RECIPIENT_BUDGET = 96;
+    private static final long LOT_TRANSITION_BUDGET = 20_480;
+
+    private static final com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final long maxPauseMillis;
+    private final List<String> failures = new ArrayList<>();
+    private final LongAdder collections = new LongAdder();
+    private final AtomicLong longestPause = new AtomicLong();
+    private final LongAdder rejections = new LongAdder();
+    private long windowOverhead;
+
+    /** Output that goes nowhere but counts rejected bids, without allocating. */
+    private final class Tally extends Writer {
+        @Override
+        public void write(String text, int offset, int length) {
+            if (text.startsWith("BID_REJECTED", offset)) {
+                rejections.increment();
+            }
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {}
+
+        @Override
+        public void flush() {}
+
+        @Override
+        public void close() {}
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new TreeMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) continue;
+            int eq = arg.indexOf('=');
+            options.put(eq < 0 ? arg.substring(2) : arg.substring(2, eq), eq < 0 ? "true" : arg.substring(eq + 1));
+        }
+        boolean passed = new AllocationBudget(options).run();
+        // The engine's scheduler threads are not daemons
+        System.exit(passed ? 0 : 1);
+    }
+
+    AllocationBudget(Map<String, String> options) {
+        this.maxPauseMillis = Long.parseLong(options.getOrDefault("max-gc-pause-ms", "100"));
+    }
+
+    boolean run() throws Exception {
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            System.out.println("This JVM cannot count allocated bytes per thread");
+            return false;
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+        watchCollections();
+
+        // Per-bid INFO logging would measure the console
+        Class.forName("Server2");
+        Logger.getLogger(Server2.class.getName()).setLevel(Level.WARNING);
+        List<AuctionStore.Player> catalog = new ArrayList<>();
+        int lots = WARMUP_BID_LOTS + BID_LOTS + WARMUP_TRANSITIONS + TRANSITIONS + 1;
+        for (int i = 1; i <= lots; i++) {
+            catalog.add(new AuctionStore.Player(i, "Player " + i, "BATTER", "India", BASE_PRICE));
+        }
+        Server2.startScratchEngine(catalog);
+        try {
+            PrintWriter out = new PrintWriter(new Tally());
+            List<Server2.ClientHandler> teams = new ArrayList<>();
+            for (int i = 1; i <= TEAMS; i++) {
+                Server2.ClientHandler team = new Server2.ClientHandler(out);
+                team.processMessage("LOGIN:Team " + i);
+                teams.add(team);
+            }
+            for (Server2.ClientHandler team : teams) {
+                team.processMessage("READY");
+            }
+            fire("auction_start");
+            calibrate();
+
+            System.out.printf("%-28s %10s %14s %12s %12s %6s%n",
+                "Path", "Units", "bytes/unit", "budget", "GCs", "");
+            measureBids(teams);
+            measureBroadcasts();
+            measureTransitions();
+
+            if (rejections.sum() > 0) {
+                failures.add(rejections.sum() + " scripted bids were rejected, so the bid figures are off");
+            }
+            if (longestPause.get() > maxPauseMillis) {
+                failures.add("a collection paused for " + longestPause.get() + " ms (limit " + maxPauseMillis + " ms)");
+            }
+        } finally {
+            Server2.shutdown();
+        }
+
+        if (failures.isEmpty()) {
+            System.out.println("All allocation budgets met");
+            return true;
+        }
+        for (String failure : failures) {
+            System.out.println("FAILED: " + failure);
+        }
+        return false;
+    }
+
+    private void measureBids(List<Server2.ClientHandler> teams) throws Exception {
+        for (int lot = 0; lot < WARMUP_BID_LOTS; lot++) {
+            bidLot(teams, lot);
+            closeLot();
+        }
+        Phase phase = new Phase();
+        for (int lot = WARMUP_BID_LOTS; lot < WARMUP_BID_LOTS + BID_LOTS; lot++) {
+            phase.resume();
+            bidLot(teams, lot);
+            phase.pause();
+            closeLot();
+        }
+        phase.report("accepted bid", (long) BID_LOTS * BIDS_PER_LOT, BID_BUDGET);
+    }
+
+    /** Teams take turns to raise, each by the minimum, so every bid is accepted. */
+    private void bidLot(List<Server2.ClientHandler> teams, int lot) throws Exception {
+        for (int bid = 1; bid <= BIDS_PER_LOT; bid++) {
+            teams.get((lot + bid) % TEAMS).processMessage("BID:" + (BASE_PRICE + bid * BID_INCREMENT));
+        }
+    }
+
+    private void measureBroadcasts() throws Exception {
+        String message = "NEW_BID:Team 1:350.00";
+        Phase phase = new Phase();
+        for (int round = -BROADCAST_ROUNDS / 4; round < BROADCAST_ROUNDS; round++) {
+            // The first rounds warm up; measuring restarts at round 0
+            if (round == 0) phase = new Phase();
+            phase.resume();
+            for (int i = 0; i < BROADCASTS_PER_ROUND; i++) {
+                Server2.broadcast(message);
+            }
+            phase.pause();
+        }
+        phase.report("broadcast, per recipient", (long) BROADCAST_ROUNDS * BROADCASTS_PER_ROUND * TEAMS,
+            BROADCAST_RECIPIENT_BUDGET);
+    }
+
+    private void measureTransitions() throws Exception {
+        for (int lot = 0; lot < WARMUP_TRANSITIONS; lot++) {
+            closeLot();
+        }
+        Phase phase = new Phase();
+        for (int lot = 0; lot < TRANSITIONS; lot++) {
+            phase.resume();
+            closeLot();
+            phase.pause();
+        }
+        phase.report("lot transition", TRANSITIONS, LOT_TRANSITION_BUDGET);
+    }
+
+    /** Lets the lot run out: bidding timeout, finalization timeout, then the next lot opens. */
+    private void closeLot() {
+        fire("bidding");
+        fire("finalization");
+        fire("lot_gap");
+    }
+
+    private void fire(String timer) {
+        if (!Server2.fireTimer(timer)) {
+            throw new IllegalStateException("No " + timer + " timer pending; the script is out of step with the engine");
+        }
+    }
+
+    /** What opening and closing a measuring window costs by itself, taken off every window. */
+    private void calibrate() throws Exception {
+        long total = 0;
+        for (int i = 0; i < 200; i++) {
+            long start = allocatedBytes();
+            Server2.awaitIdle();
+            total += allocatedBytes() - start;
+        }
+        windowOverhead = total / 200;
+    }
+
+    /** Accumulates allocation and collections over any number of measuring windows. */
+    private final class Phase {
+        private long bytes;
+        private long gcs;
+        private long start;
+        private long startGcs;
+
+        void resume() throws InterruptedException {
+            Server2.awaitIdle();
+            startGcs = collections.sum();
+            start = allocatedBytes();
+        }
+
+        /** Closes the window once the readers and writers the window's work woke have caught up. */
+        void pause() throws InterruptedException {
+            Server2.awaitIdle();
+            bytes += Math.max(0, allocatedBytes() - start - windowOverhead);
+            gcs += collections.sum() - startGcs;
+        }
+
+        void report(String path, long units, long budget) {
+            long perUnit = bytes / units;
+            boolean met = perUnit <= budget;
+            System.out.printf("%-28s %,10d %,14d %,12d %12d %6s%n", path, units, perUnit, budget, gcs, met ? "ok" : "OVER");
+            if (!met) {
+                failures.add(path + " allocates " + perUnit + " bytes, over its budget of " + budget);
+            }
+        }
+    }
+
+    /** Bytes allocated so far by every live thread: the engine's, and the writers and readers it feeds. */
+    private static long allocatedBytes() {
+        long total = 0;
+        for (long bytes : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            if (bytes > 0) total += bytes;
+        }
+        return total;
+    }
+
+    private void watchCollections() {
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (!(collector instanceof NotificationEmitter emitter)) continue;
+            emitter.addNotificationListener((notification, handback) -> {
+                if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                    return;
+                }
+                GarbageCollectionNotificationInfo info =
+                    GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+                collections.increment();
+                longestPause.accumulateAndGet(info.getGcInfo().getDuration(), Math::max);
+            }, null, null);
+        }
+    }
+}
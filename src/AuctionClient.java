@@ -0,0 +1,412 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Headless client for the auction server, for the GUI, bots and load tests alike.
+ *
+ * Every command is sent with a sequence number and returns a future for the server's
+ * answer, so any number of commands can be in flight at once. Broadcasts are parsed into
+ * {@link AuctionEvent}s and handed to subscribers on the connection's reader thread;
+ * subscribers that touch a UI must hand them over to it.
+ *
+ * If the connection drops after login, the client reconnects with exponential backoff and
+ * full jitter, resumes its session and resends any commands the server had not answered,
+ * under their original sequence numbers so none of them runs twice.
+ */
+class AuctionClient implements AutoCloseable {
+    static final long RECONNECT_BASE_MS = 250;
+    static final long RECONNECT_MAX_MS = 10_000;
+
+    /** The server's answer to one command: its reply text, or the reason it was rejected. */
+    record Reply(boolean accepted, String text) {}
+
+    /** Where the auction stands, as returned by {@link #state()}; player and bidder may be empty. */
+    record State(String phase, String player, double bid, String bidder, double purse) {
+
+        boolean live() {
+            return phase.equals("LIVE");
+        }
+
+        boolean finished() {
+            return phase.equals("FINISHED");
+        }
+
+        /** Reads {@code STATE:<phase>:Player:<name>:Bid:<amount>:Bidder:<team>:Purse:<amount>}. */
+        static State parse(String line) {
+            String[] parts = line.split(":", -1);
+            if (parts.length < 10 || !parts[0].equals("STATE")) {
+                throw new IllegalArgumentException("Not a state line: " + line);
+            }
+            return new State(parts[1], parts[3], Double.parseDouble(parts[5]), parts[7], Double.parseDouble(parts[9]));
+        }
+    }
+
+    private record Pending(String command, CompletableFuture<Reply> reply) {}
+
+    private final String host;
+    private final int port;
+    private final List<Consumer<AuctionEvent>> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicLong nextSeq = new AtomicLong();
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+
+    private volatile Socket socket;
+    private volatile PrintWriter out;
+    private volatile String teamName;
+    private volatile String sessionToken; // issued at login; lets a new connection take the team back
+    private volatile boolean reconnect = true;
+    private volatile boolean closed;
+
+    AuctionClient(String host, int port) {
+        this.host = host;
+        this.port = port;
+    }
+
+    /** Stops the client from reconnecting by itself; a dropped connection then fails pending commands. */
+    AuctionClient withoutReconnect() {
+        reconnect = false;
+        return this;
+    }
+
+    void subscribe(Consumer<AuctionEvent> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    void connect() throws IOException {
+        out = openConnection();
+    }
+
+    /** The team this client is logged in as, or {@code null} before a successful login. */
+    String getTeamName() {
+        return teamName;
+    }
+
+    /** The session token the server issued at login, which {@link #resumeSession} needs to take the team back. */
+    String getSessionToken() {
+        return sessionToken;
+    }
+
+    // ---- commands ----
+
+    CompletableFuture<Reply> login(String team) {
+        return send("LOGIN:" + team);
+    }
+
+    /**
+     * Takes back a team logged in on another connection, e.g. by an earlier run of the client,
+     * with the token its login was issued; once a team has a session, only this gets it back.
+     */
+    CompletableFuture<Reply> resumeSession(String team, String token) {
+        sessionToken = token;
+        return send("RESUME:" + team + ":" + token);
+    }
+
+    CompletableFuture<Reply> ready() {
+        return send("READY");
+    }
+
+    CompletableFuture<Reply> bid(double amount) {
+        return send("BID:" + amount);
+    }
+
+    /** Bids on one of several open lots, by the number its events carry. */
+    CompletableFuture<Reply> bid(int lot, double amount) {
+        return send("BID:" + amount + ":" + lot);
+    }
+
+    CompletableFuture<Reply> finalizePlayer() {
+        return send("FINALIZE_PLAYER");
+    }
+
+    CompletableFuture<Reply> finalizePlayer(int lot) {
+        return send("FINALIZE_PLAYER:" + lot);
+    }
+
+    /** Lists the open lots: {@code OPEN_LOTS:<count>}, then {@code LOT:<number>:<player>:<bid>:<bidder>} for each. */
+    CompletableFuture<Reply> lots() {
+        return send("LOTS");
+    }
+
+    /** Places a sealed bid on a lot of the open sealed round; an amount of 0 withdraws it. */
+    CompletableFuture<Reply> sealedBid(int lot, double amount) {
+        return send("SEALED_BID:" + lot + ":" + amount);
+    }
+
+    /** Tells the server this team has placed its sealed bids, so the round can close early. */
+    CompletableFuture<Reply> sealedDone() {
+        return send("SEALED_DONE");
+    }
+
+    /**
+     * Lists the open sealed round: {@code SEALED_ROUND:<count>:<pricing>}, then
+     * {@code LOT:<number>:<player>:<base>:<type>:<nationality>:<your bid>} for each lot.
+     */
+    CompletableFuture<Reply> round() {
+        return send("ROUND");
+    }
+
+    CompletableFuture<Reply> teamView() {
+        return send("DISPLAY_TEAMS");
+    }
+
+    CompletableFuture<Reply> standings() {
+        return send("STANDINGS");
+    }
+
+    /** @return the auction's state, or {@code null} if the server refused (e.g. not logged in) */
+    CompletableFuture<State> state() {
+        return send("STATE").thenApply(reply -> reply.accepted() ? State.parse(reply.text()) : null);
+    }
+
+    /** Sends one command under a new sequence number. */
+    CompletableFuture<Reply> send(String command) {
+        return send(command, out);
+    }
+
+    /** Sends a command on the given connection; while reconnecting, {@code null} leaves it queued. */
+    private CompletableFuture<Reply> send(String command, PrintWriter writer) {
+        long seq = nextSeq.incrementAndGet();
+        Pending request = new Pending(command, new CompletableFuture<>());
+        pending.put(seq, request);
+        if (writer != null) {
+            writer.println(seq + "#" + command);
+        }
+        return request.reply();
+    }
+
+    /** Sends several commands in one {@code BATCH} frame; the server answers them all in one write. */
+    List<CompletableFuture<Reply>> batch(String... commands) {
+        List<CompletableFuture<Reply>> replies = new ArrayList<>();
+        StringBuilder batch = new StringBuilder("BATCH:").append(commands.length);
+        for (String command : commands) {
+            long seq = nextSeq.incrementAndGet();
+            Pending request = new Pending(command, new CompletableFuture<>());
+            pending.put(seq, request);
+            replies.add(request.reply());
+            batch.append('\n').append(seq).append('#').append(command);
+        }
+        write(batch.toString());
+        return replies;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        PrintWriter writer = out;
+        if (writer != null) {
+            writer.println("EXIT");
+        }
+        try {
+            Socket connection = socket;
+            if (connection != null) connection.close();
+        } catch (IOException e) {
+            // Ignore
+        }
+        failPending("Client closed");
+    }
+
+    /** Cuts the connection the way a network failure would, leaving the client to reconnect and resume. */
+    void dropConnection() {
+        try {
+            Socket connection = socket;
+            if (connection != null) connection.close();
+        } catch (IOException e) {
+            // Ignore
+        }
+    }
+
+    // ---- connection ----
+
+    private void write(String frame) {
+        PrintWriter writer = out;
+        // While reconnecting there is no writer; the command stays pending and is resent on resume
+        if (writer != null) {
+            writer.println(frame);
+        }
+    }
+
+    /**
+     * Opens a connection and starts reading from it. The writer is returned rather than
+     * published, so after a drop new commands stay queued until the session is back.
+     */
+    private PrintWriter openConnection() throws IOException {
+        Socket connection = new Socket(host, port);
+        connection.setTcpNoDelay(true);
+        BufferedReader in = new BufferedReader(new InputStreamReader(connection.getInputStream()));
+        PrintWriter writer = new PrintWriter(connection.getOutputStream(), true);
+        socket = connection;
+
+        Thread reader = new Thread(() -> listen(connection, in), "auction-client-reader");
+        reader.setDaemon(true);
+        reader.start();
+        return writer;
+    }
+
+    private void listen(Socket connection, BufferedReader in) {
+        String reason = "closed by server";
+        try {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.startsWith("ACK:") || line.startsWith("NACK:")) {
+                    readReply(in, line);
+                } else {
+                    publish(AuctionEvent.parse(line));
+                }
+            }
+        } catch (IOException e) {
+            reason = e.getMessage();
+        }
+        connectionLost(connection, reason);
+    }
+
+    /**
+     * Reads an {@code ACK:<seq>}, {@code ACK:<seq>:<lines>} (followed by that many lines of
+     * reply text) or {@code NACK:<seq>:<reason>} and completes the command's future.
+     */
+    private void readReply(BufferedReader in, String header) throws IOException {
+        boolean accepted = header.startsWith("ACK:");
+        String[] parts = header.split(":", 3);
+        long seq = Long.parseLong(parts[1]);
+        Pending request = pending.remove(seq);
+        // Only a login's reply carries the session token; any other line is reply text
+        boolean login = request != null && request.command().startsWith("LOGIN:");
+        String text = null;
+        if (!accepted) {
+            text = parts.length > 2 ? parts[2] : "";
+        } else if (parts.length > 2) {
+            int lines = Integer.parseInt(parts[2]);
+            StringBuilder body = new StringBuilder();
+            for (int i = 0; i < lines; i++) {
+                String line = in.readLine();
+                if (line == null) break;
+                if (login && line.startsWith("SESSION:")) {
+                    sessionToken = line.substring(8);
+                    continue;
+                }
+                if (body.length() > 0) body.append('\n');
+                body.append(line);
+            }
+            text = body.toString();
+        }
+
+        if (request == null) {
+            return;
+        }
+        if (accepted && login) {
+            teamName = request.command().substring(6);
+        } else if (accepted && request.command().startsWith("RESUME:") && teamName == null) {
+            teamName = request.command().substring(7, request.command().lastIndexOf(':'));
+        }
+        request.reply().complete(new Reply(accepted, text));
+    }
+
+    private void publish(AuctionEvent event) {
+        for (Consumer<AuctionEvent> subscriber : subscribers) {
+            subscriber.accept(event);
+        }
+    }
+
+    private void connectionLost(Socket connection, String reason) {
+        if (connection != socket || closed) {
+            return;
+        }
+        out = null;
+        boolean reconnecting = reconnect && sessionToken != null;
+        publish(new AuctionEvent.Disconnected(reason, reconnecting));
+        if (reconnecting) {
+            Thread retry = new Thread(this::reconnect, "auction-client-reconnect");
+            retry.setDaemon(true);
+            retry.start();
+        } else {
+            failPending("Connection lost: " + reason);
+        }
+    }
+
+    private void reconnect() {
+        long started = System.nanoTime();
+        long delay = RECONNECT_BASE_MS;
+        for (int attempt = 1; !closed; attempt++) {
+            PrintWriter writer;
+            try {
+                // Full jitter, so clients cut off together don't all come back at the same instant
+                Thread.sleep(ThreadLocalRandom.current().nextLong(delay + 1));
+                writer = openConnection();
+            } catch (InterruptedException e) {
+                return;
+            } catch (IOException e) {
+                delay = Math.min(delay * 2, RECONNECT_MAX_MS);
+                continue;
+            }
+
+            int attempts = attempt;
+            resume(writer).thenAccept(state -> publish(
+                new AuctionEvent.Reconnected(attempts, (System.nanoTime() - started) / 1_000_000, state)));
+            return;
+        }
+    }
+
+    /**
+     * Takes the session back on a new connection and resends what the old one left
+     * unanswered; if the server no longer knows the session, e.g. after a restart, logs in
+     * again instead. Only the handshake goes out until its reply is in, so no command reaches
+     * the server before the connection belongs to the team.
+     */
+    private CompletableFuture<State> resume(PrintWriter writer) {
+        // A handshake cut off by another drop is superseded by this one
+        for (Long seq : new ArrayList<>(pending.keySet())) {
+            Pending request = pending.get(seq);
+            if (request != null && (request.command().startsWith("RESUME:") || request.command().startsWith("LOGIN:"))
+                    && pending.remove(seq, request)) {
+                request.reply().completeExceptionally(new IOException("Superseded by a new connection"));
+            }
+        }
+        Map<Long, Pending> unanswered = new TreeMap<>(pending);
+        return send("RESUME:" + teamName + ":" + sessionToken, writer).thenCompose(reply -> {
+            if (reply.accepted()) {
+                useConnection(writer);
+                return state();
+            }
+            unanswered.keySet().forEach(seq -> {
+                Pending request = pending.remove(seq);
+                if (request != null) {
+                    request.reply().completeExceptionally(new IOException("Not confirmed before the connection dropped"));
+                }
+            });
+            return send("LOGIN:" + teamName, writer).thenCompose(login -> {
+                useConnection(writer);
+                return state();
+            });
+        });
+    }
+
+    /**
+     * Makes {@code writer} the connection new commands go to, then sends the commands queued
+     * while there was none. One sent in between may go out twice; the server answers the
+     * repeat of a sequence number without running it again.
+     */
+    private void useConnection(PrintWriter writer) {
+        out = writer;
+        new TreeMap<>(pending).forEach((seq, request) -> writer.println(seq + "#" + request.command()));
+    }
+
+    private void failPending(String reason) {
+        for (Long seq : new ArrayList<>(pending.keySet())) {
+            Pending request = pending.remove(seq);
+            if (request != null) {
+                request.reply().completeExceptionally(new IOException(reason));
+            }
+        }
+    }
+}
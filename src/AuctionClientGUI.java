@@ -10,23 +10,28 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.PrintWriter;
-import java.net.Socket;
 import java.text.DecimalFormat;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Timer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
+import javax.swing.JComboBox;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
+import javax.swing.JList;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JProgressBar;
+import javax.swing.JScrollBar;
 import javax.swing.JScrollPane;
-import javax.swing.JTextArea;
 import javax.swing.JTextField;
 import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
@@ -41,12 +46,17 @@ public class AuctionClientGUI extends JFrame {
     private static final Color CARD_COLOR = new Color(25, 25, 45);
     private static final Color SUCCESS_COLOR = new Color(46, 204, 113);
     private static final Color DANGER_COLOR = new Color(231, 76, 60);
+    private static final int LOG_CAPACITY = 5000; // lines kept; older ones scroll out of memory
+    private static final int LOG_ROW_HEIGHT = 18;
+    private static final DateTimeFormatter LOG_TIME = DateTimeFormatter.ofPattern("HH:mm:ss");
+    private static final int FRAME_MS = 16; // UI refresh tick, about 60 per second
 
     // UI Components
-    private JTextArea auctionLog;
+    private final AuctionLogModel logModel = new AuctionLogModel(LOG_CAPACITY);
+    private JList<String> auctionLog;
     private JTextField teamNameField, bidAmountField;
     private JButton connectButton, startAuctionButton, placeBidButton, 
-                   finalizeButton, readyButton, displayTeamButton, exitButton;
+                   finalizeButton, readyButton, displayTeamButton, standingsButton, exitButton;
     private JLabel statusLabel, currentPlayerLabel, currentBidLabel, 
                   teamPurseLabel, connectionStatusLabel;
     private JProgressBar connectionProgress;
@@ -54,9 +64,7 @@ public class AuctionClientGUI extends JFrame {
     private JScrollPane logScrollPane;
     
     // Network components
-    private Socket socket;
-    private PrintWriter out;
-    private BufferedReader in;
+    private volatile AuctionClient client;
     
     // Application state
     private boolean isConnected = false;
@@ -67,13 +75,21 @@ public class AuctionClientGUI extends JFrame {
     private String currentPlayer = "";
     private double currentBid = 0.0;
     private String currentBidder = "";
+    private String auctionStatus = "Disconnected";
+    private Color auctionStatusColor = Color.WHITE;
     private Timer connectionTimer;
     private DecimalFormat currencyFormat = new DecimalFormat("#,##0.00");
+    
+    // Network events and log lines wait here for the next UI tick, which applies them all at once
+    private final ConcurrentLinkedQueue<Runnable> inbox = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<AuctionLogModel.Line> pendingLog = new ConcurrentLinkedQueue<>();
+    private final javax.swing.Timer uiTick = new javax.swing.Timer(FRAME_MS, e -> drainInbox());
 
     public AuctionClientGUI() {
         initializeUI();
         setupEventHandlers();
         updateUIState();
+        uiTick.start();
     }
 
     private void initializeUI() {
@@ -189,6 +205,7 @@ public class AuctionClientGUI extends JFrame {
         finalizeButton = createStyledButton("Finalize", new Color(155, 89, 182));
         readyButton = createStyledButton("Ready", new Color(52, 152, 219));
         displayTeamButton = createStyledButton("My Team", new Color(26, 188, 156));
+        standingsButton = createStyledButton("Standings", new Color(230, 126, 34));
         exitButton = createStyledButton("Exit", DANGER_COLOR);
 
         buttonPanel.add(connectButton);
@@ -197,8 +214,8 @@ public class AuctionClientGUI extends JFrame {
         buttonPanel.add(finalizeButton);
         buttonPanel.add(readyButton);
         buttonPanel.add(displayTeamButton);
+        buttonPanel.add(standingsButton);
         buttonPanel.add(exitButton);
-        buttonPanel.add(new JLabel()); // Empty space
 
         return buttonPanel;
     }
@@ -269,10 +286,24 @@ public class AuctionClientGUI extends JFrame {
         JLabel logTitle = new JLabel("Auction Log");
         logTitle.setFont(new Font("Arial", Font.BOLD, 16));
         logTitle.setForeground(SECONDARY_COLOR);
-        logTitle.setBorder(BorderFactory.createEmptyBorder(0, 0, 10, 0));
 
-        auctionLog = new JTextArea(15, 50);
-        auctionLog.setEditable(false);
+        JComboBox<AuctionLogModel.Filter> logFilter = new JComboBox<>(AuctionLogModel.Filter.values());
+        logFilter.addActionListener(e -> {
+            logModel.setFilter((AuctionLogModel.Filter) logFilter.getSelectedItem());
+            scrollLogToEnd();
+        });
+
+        JPanel logHeader = new JPanel(new BorderLayout());
+        logHeader.setOpaque(false);
+        logHeader.setBorder(BorderFactory.createEmptyBorder(0, 0, 10, 0));
+        logHeader.add(logTitle, BorderLayout.WEST);
+        logHeader.add(logFilter, BorderLayout.EAST);
+
+        // Fixed row size lets the list lay out and paint only the rows in view
+        auctionLog = new JList<>(logModel);
+        auctionLog.setFixedCellHeight(LOG_ROW_HEIGHT);
+        auctionLog.setFixedCellWidth(400);
+        auctionLog.setVisibleRowCount(15);
         auctionLog.setBackground(new Color(20, 20, 30));
         auctionLog.setForeground(Color.WHITE);
         auctionLog.setFont(new Font("Consolas", Font.PLAIN, 12));
@@ -282,7 +313,7 @@ public class AuctionClientGUI extends JFrame {
         logScrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_ALWAYS);
         logScrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_AS_NEEDED);
 
-        logPanel.add(logTitle, BorderLayout.NORTH);
+        logPanel.add(logHeader, BorderLayout.NORTH);
         logPanel.add(logScrollPane, BorderLayout.CENTER);
 
         mainPanel.add(logPanel, BorderLayout.CENTER);
@@ -295,6 +326,7 @@ public class AuctionClientGUI extends JFrame {
         finalizeButton.addActionListener(e -> finalizeBid());
         readyButton.addActionListener(e -> markReady());
         displayTeamButton.addActionListener(e -> displayTeam());
+        standingsButton.addActionListener(e -> displayStandings());
         exitButton.addActionListener(e -> exitApplication());
 
         // Enter key handlers
@@ -333,28 +365,11 @@ public class AuctionClientGUI extends JFrame {
 
         // Connect in background thread
         new Thread(() -> {
+            AuctionClient connection = new AuctionClient(SERVER_ADDRESS, SERVER_PORT);
+            // Events arrive on the client's reader thread; the UI tick applies them
+            connection.subscribe(event -> inbox.add(() -> processEvent(event)));
             try {
-                socket = new Socket(SERVER_ADDRESS, SERVER_PORT);
-                out = new PrintWriter(socket.getOutputStream(), true);
-                in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-                
-                SwingUtilities.invokeLater(() -> {
-                    isConnected = true;
-                    connectionStatusLabel.setText("Connected");
-                    connectionStatusLabel.setForeground(SUCCESS_COLOR);
-                    connectionProgress.setVisible(false);
-                    connectButton.setEnabled(true);
-                    updateUIState();
-                    appendLog("Connected to server successfully!");
-                });
-
-                // Send login immediately after connection
-                out.println("LOGIN:" + teamName);
-                isLoggedIn = true;
-                
-                // Start listening for server messages
-                listenForServerMessages();
-                
+                connection.connect();
             } catch (IOException e) {
                 SwingUtilities.invokeLater(() -> {
                     showMessage("Failed to connect to server: " + e.getMessage(), "ERROR");
@@ -363,7 +378,28 @@ public class AuctionClientGUI extends JFrame {
                     connectionProgress.setVisible(false);
                     connectButton.setEnabled(true);
                 });
+                return;
             }
+            client = connection;
+                
+            SwingUtilities.invokeLater(() -> {
+                isConnected = true;
+                connectionStatusLabel.setText("Connected");
+                connectionStatusLabel.setForeground(SUCCESS_COLOR);
+                connectionProgress.setVisible(false);
+                connectButton.setEnabled(true);
+                updateUIState();
+                appendLog("Connected to server successfully!");
+            });
+
+            // Log in and fetch the squad in one write; a team rejoining after a
+            // server restart sees its purchases straight away
+            List<CompletableFuture<AuctionClient.Reply>> replies = connection.batch("LOGIN:" + teamName, "DISPLAY_TEAMS");
+            onReply(replies.get(0), "Login as " + teamName, reply -> {
+                isLoggedIn = true;
+                appendLog("Logged in as " + teamName);
+            });
+            onReply(replies.get(1), "Team view", this::showReplyText);
         }).start();
     }
 
@@ -373,7 +409,7 @@ public class AuctionClientGUI extends JFrame {
             return;
         }
         
-        out.println("READY");
+        onReply(client.ready(), "Ready", reply -> { });
         appendLog("Marked as ready for auction start...");
         updateUIState();
     }
@@ -402,8 +438,8 @@ public class AuctionClientGUI extends JFrame {
                 return;
             }
 
-            out.println("BID:" + bidAmount);
-            appendLog("Placed bid: ₹" + currencyFormat.format(bidAmount));
+            onReply(client.bid(bidAmount), "Bid of ₹" + currencyFormat.format(bidAmount), reply -> { });
+            appendLog("Placed bid: ₹" + currencyFormat.format(bidAmount), AuctionLogModel.Kind.MY_BID);
             bidAmountField.setText("");
             
         } catch (NumberFormatException e) {
@@ -423,7 +459,7 @@ public class AuctionClientGUI extends JFrame {
             JOptionPane.YES_NO_OPTION);
             
         if (confirm == JOptionPane.YES_OPTION) {
-            out.println("FINALIZE_PLAYER");
+            onReply(client.finalizePlayer(), "Finalize", reply -> { });
             appendLog("Voted to finalize current player...");
         }
     }
@@ -434,7 +470,7 @@ public class AuctionClientGUI extends JFrame {
             return;
         }
         
-        out.println("READY");
+        onReply(client.ready(), "Ready", reply -> { });
         appendLog("Marked as ready...");
     }
 
@@ -444,18 +480,23 @@ public class AuctionClientGUI extends JFrame {
             return;
         }
         
-        out.println("DISPLAY_TEAMS");
+        onReply(client.teamView(), "Team view", this::showReplyText);
         appendLog("Requesting team information...");
     }
 
+    private void displayStandings() {
+        if (!isConnected || !isLoggedIn) {
+            showMessage("Please connect first!", "ERROR");
+            return;
+        }
+        
+        onReply(client.standings(), "Standings", this::showReplyText);
+        appendLog("Requesting standings...");
+    }
+
     private void exitApplication() {
-        if (isConnected) {
-            try {
-                out.println("EXIT");
-                socket.close();
-            } catch (IOException e) {
-                // Ignore
-            }
+        if (client != null) {
+            client.close();
         }
         
         if (connectionTimer != null) {
@@ -465,121 +506,207 @@ public class AuctionClientGUI extends JFrame {
         System.exit(0);
     }
 
-    private void listenForServerMessages() {
-        new Thread(() -> {
-            try {
-                String message;
-                while ((message = in.readLine()) != null) {
-                    final String finalMessage = message;
-                    SwingUtilities.invokeLater(() -> processServerMessage(finalMessage));
+    /**
+     * Applies the server's answer to a command on the next UI tick: {@code accepted} runs if it
+     * went through, otherwise the rejection (or the lost connection) is logged and shown.
+     */
+    private void onReply(CompletableFuture<AuctionClient.Reply> reply, String description,
+                         Consumer<AuctionClient.Reply> accepted) {
+        reply.whenComplete((answer, failure) -> inbox.add(() -> {
+            if (failure != null) {
+                appendLog(description + " not confirmed: " + failure.getMessage());
+            } else if (answer.accepted()) {
+                accepted.accept(answer);
+            } else {
+                appendLog(description + " rejected: " + answer.text(),
+                    description.startsWith("Bid") ? AuctionLogModel.Kind.MY_BID : AuctionLogModel.Kind.INFO);
+                showMessage(description + " rejected: " + answer.text(), "ERROR");
+                if (description.startsWith("Login")) {
+                    // Drop the connection so another team name can be tried
+                    client.close();
+                    isConnected = false;
+                    connectionStatusLabel.setText("Disconnected");
+                    connectionStatusLabel.setForeground(DANGER_COLOR);
                 }
-            } catch (IOException e) {
-                SwingUtilities.invokeLater(() -> {
-                    if (isConnected) {
-                        appendLog("Connection lost: " + e.getMessage());
-                        connectionStatusLabel.setText("Disconnected");
-                        connectionStatusLabel.setForeground(DANGER_COLOR);
-                        isConnected = false;
-                        isLoggedIn = false;
-                        isAuctionStarted = false;
-                        updateUIState();
-                    }
-                });
             }
-        }).start();
+        }));
     }
 
-    private void processServerMessage(String message) {
-        appendLog("Server: " + message);
-        
-        if (message.startsWith("AUCTION_STARTED")) {
+    private void showReplyText(AuctionClient.Reply reply) {
+        for (String line : reply.text().split("\n")) {
+            appendLog("Server: " + line);
+            if (line.startsWith("Remaining Purse: ₹")) {
+                try {
+                    teamPurse = currencyFormat.parse(line.substring(18)).doubleValue();
+                } catch (java.text.ParseException e) {
+                    // Ignore parsing errors
+                }
+            }
+        }
+    }
+
+    private void processEvent(AuctionEvent event) {
+        if (event instanceof AuctionEvent.AuctionStarted) {
+            appendLog("Auction started");
             isAuctionStarted = true;
-            statusLabel.setText("Status: Auction Started");
-            statusLabel.setForeground(SUCCESS_COLOR);
+            auctionStatus = "Auction Started";
+            auctionStatusColor = SUCCESS_COLOR;
             showMessage("Auction has started!", "INFO");
             
-        } else if (message.startsWith("NEW_PLAYER:")) {
-            String[] parts = message.split(":");
-            if (parts.length >= 3) {
-                currentPlayer = parts[1];
-                currentBid = Double.parseDouble(parts[2]);
-                currentBidder = "";
-                currentPlayerLabel.setText("Current Player: " + currentPlayer);
-                currentBidLabel.setText("Current Bid: ₹" + currencyFormat.format(currentBid));
-                showMessage("New player up for auction: " + currentPlayer, "INFO");
-            }
+        } else if (event instanceof AuctionEvent.NewPlayer player) {
+            appendLog(String.format("Up next: %s (%s, %s), base ₹%s", player.name(), player.type(),
+                player.nationality(), currencyFormat.format(player.basePrice())));
+            currentPlayer = player.name();
+            currentBid = player.basePrice();
+            currentBidder = "";
             
-        } else if (message.startsWith("NEW_BID:")) {
-            String[] parts = message.split(":");
-            if (parts.length >= 3) {
-                currentBidder = parts[1];
-                currentBid = Double.parseDouble(parts[2]);
-                currentBidLabel.setText("Current Bid: ₹" + currencyFormat.format(currentBid) + " by " + currentBidder);
-            }
+        } else if (event instanceof AuctionEvent.NewBid bid) {
+            appendLog(bid.team() + " bids ₹" + currencyFormat.format(bid.amount()),
+                bid.team().equals(teamName) ? AuctionLogModel.Kind.MY_BID : AuctionLogModel.Kind.INFO);
+            currentBidder = bid.team();
+            currentBid = bid.amount();
             
-        } else if (message.startsWith("PLAYER_SOLD:")) {
-            String[] parts = message.split(":");
-            if (parts.length >= 3) {
-                String buyer = parts[1];
-                double price = Double.parseDouble(parts[2]);
-                showMessage(currentPlayer + " sold to " + buyer + " for ₹" + currencyFormat.format(price), "SUCCESS");
-                
-                // Update purse if it's our team
-                if (buyer.equals(teamName)) {
-                    teamPurse -= price;
-                    teamPurseLabel.setText("Team Purse: ₹" + currencyFormat.format(teamPurse));
-                }
-            }
+        } else if (event instanceof AuctionEvent.PlayerSold sold) {
+            appendLog(currentPlayer + " sold to " + sold.team() + " for ₹" + currencyFormat.format(sold.price()),
+                AuctionLogModel.Kind.SALE);
             
-        } else if (message.startsWith("PLAYER_UNSOLD")) {
-            showMessage(currentPlayer + " went unsold!", "INFO");
+            // Update purse if it's our team
+            if (sold.team().equals(teamName)) {
+                teamPurse = sold.remainingPurse();
+            }
             
-        } else if (message.startsWith("BID_REJECTED:")) {
-            String reason = message.substring(13);
-            showMessage("Bid rejected: " + reason, "ERROR");
+        } else if (event instanceof AuctionEvent.PlayerUnsold) {
+            appendLog(currentPlayer + " went unsold", AuctionLogModel.Kind.SALE);
             
-        } else if (message.startsWith("AUCTION_FINISHED")) {
+        } else if (event instanceof AuctionEvent.AuctionFinished) {
+            appendLog("Auction finished");
             isAuctionStarted = false;
-            statusLabel.setText("Status: Auction Finished");
-            statusLabel.setForeground(new Color(155, 89, 182));
+            auctionStatus = "Auction Finished";
+            auctionStatusColor = new Color(155, 89, 182);
             showMessage("Auction has finished!", "INFO");
             
-        } else if (message.contains("Remaining purse:")) {
-            // Extract purse amount from message
-            String[] parts = message.split("Remaining purse: ");
-            if (parts.length > 1) {
-                try {
-                    teamPurse = Double.parseDouble(parts[1]);
-                    teamPurseLabel.setText("Team Purse: ₹" + currencyFormat.format(teamPurse));
-                } catch (NumberFormatException e) {
-                    // Ignore parsing errors
-                }
+        } else if (event instanceof AuctionEvent.TeamJoined joined) {
+            appendLog(joined.team() + " joined");
+        } else if (event instanceof AuctionEvent.TeamReady ready) {
+            appendLog(ready.team() + " is ready");
+        } else if (event instanceof AuctionEvent.TeamLeft left) {
+            appendLog(left.team() + " left");
+            
+        } else if (event instanceof AuctionEvent.Notice notice) {
+            appendLog("Server: " + notice.message());
+            
+        } else if (event instanceof AuctionEvent.Disconnected lost) {
+            isConnected = false;
+            isLoggedIn = false;
+            isAuctionStarted = false;
+            connectionStatusLabel.setForeground(DANGER_COLOR);
+            connectionStatusLabel.setText(lost.reconnecting() ? "Reconnecting..." : "Disconnected");
+            appendLog("Connection lost: " + lost.reason() + (lost.reconnecting() ? "; reconnecting..." : ""));
+            
+        } else if (event instanceof AuctionEvent.Reconnected back) {
+            if (back.state() == null) {
+                appendLog("Reconnected, but the team could not log back in");
+                return;
             }
+            isConnected = true;
+            isLoggedIn = true;
+            connectionStatusLabel.setText("Connected");
+            connectionStatusLabel.setForeground(SUCCESS_COLOR);
+            applyState(back.state());
+            appendLog(String.format("Back in sync %d ms after the connection dropped (%d attempt(s))",
+                back.millis(), back.attempts()));
         }
-        
-        updateUIState();
+    }
+
+    /** Rebuilds the labels from the server's state instead of replaying missed messages. */
+    private void applyState(AuctionClient.State state) {
+        isAuctionStarted = state.live();
+        if (state.live()) {
+            auctionStatus = "Auction Started";
+            auctionStatusColor = SUCCESS_COLOR;
+        } else if (state.finished()) {
+            auctionStatus = "Auction Finished";
+            auctionStatusColor = new Color(155, 89, 182);
+        }
+        currentPlayer = state.player();
+        currentBid = state.bid();
+        currentBidder = state.bidder();
+        teamPurse = state.purse();
+    }
+
+    /**
+     * One UI tick: applies every event that arrived since the last one, then repaints each
+     * widget once from the resulting state and appends the new log lines in one batch.
+     */
+    private void drainInbox() {
+        boolean changed = false;
+        Runnable event;
+        while ((event = inbox.poll()) != null) {
+            event.run();
+            changed = true;
+        }
+        if (changed) {
+            refreshInfoPanel();
+            updateUIState();
+        }
+        flushLog();
+    }
+
+    private void refreshInfoPanel() {
+        statusLabel.setText("Status: " + auctionStatus);
+        statusLabel.setForeground(auctionStatusColor);
+        currentPlayerLabel.setText("Current Player: " + (currentPlayer.isEmpty() ? "None" : currentPlayer));
+        currentBidLabel.setText("Current Bid: ₹" + currencyFormat.format(currentBid) +
+                                (currentBidder.isEmpty() ? "" : " by " + currentBidder));
+        teamPurseLabel.setText("Team Purse: ₹" + currencyFormat.format(teamPurse));
     }
 
     private void updateUIState() {
-        SwingUtilities.invokeLater(() -> {
-            connectButton.setEnabled(!isConnected);
-            teamNameField.setEnabled(!isConnected);
-            startAuctionButton.setEnabled(isConnected && isLoggedIn && !isAuctionStarted);
-            placeBidButton.setEnabled(isConnected && isAuctionStarted);
-            finalizeButton.setEnabled(isConnected && isAuctionStarted);
-            readyButton.setEnabled(isConnected && isLoggedIn);
-            displayTeamButton.setEnabled(isConnected && isLoggedIn);
-            bidAmountField.setEnabled(isConnected && isAuctionStarted);
-        });
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(this::updateUIState);
+            return;
+        }
+        connectButton.setEnabled(!isConnected);
+        teamNameField.setEnabled(!isConnected);
+        startAuctionButton.setEnabled(isConnected && isLoggedIn && !isAuctionStarted);
+        placeBidButton.setEnabled(isConnected && isAuctionStarted);
+        finalizeButton.setEnabled(isConnected && isAuctionStarted);
+        readyButton.setEnabled(isConnected && isLoggedIn);
+        displayTeamButton.setEnabled(isConnected && isLoggedIn);
+        standingsButton.setEnabled(isConnected && isLoggedIn);
+        bidAmountField.setEnabled(isConnected && isAuctionStarted);
     }
 
     private void appendLog(String message) {
-        SwingUtilities.invokeLater(() -> {
-            String timestamp = java.time.LocalTime.now().format(
-                java.time.format.DateTimeFormatter.ofPattern("HH:mm:ss"));
-            auctionLog.append("[" + timestamp + "] " + message + "\n");
-            auctionLog.setCaretPosition(auctionLog.getDocument().getLength());
-        });
+        appendLog(message, AuctionLogModel.Kind.INFO);
+    }
+
+    /** Queues a log line for the next UI tick; safe to call from any thread. */
+    private void appendLog(String message, AuctionLogModel.Kind kind) {
+        pendingLog.add(new AuctionLogModel.Line("[" + LocalTime.now().format(LOG_TIME) + "] " + message, kind));
+    }
+
+    private void flushLog() {
+        if (pendingLog.isEmpty()) return;
+        List<AuctionLogModel.Line> batch = new ArrayList<>();
+        AuctionLogModel.Line line;
+        while ((line = pendingLog.poll()) != null) {
+            batch.add(line);
+        }
+
+        // Follow new lines only while the user is looking at the end of the log
+        JScrollBar bar = logScrollPane.getVerticalScrollBar();
+        boolean following = bar.getValue() + bar.getVisibleAmount() >= bar.getMaximum() - LOG_ROW_HEIGHT;
+        logModel.addAll(batch);
+        if (following) {
+            scrollLogToEnd();
+        }
+    }
+
+    private void scrollLogToEnd() {
+        if (logModel.getSize() > 0) {
+            auctionLog.ensureIndexIsVisible(logModel.getSize() - 1);
+        }
     }
 
     private void showMessage(String message, String type) {
@@ -0,0 +1,86 @@
+/**
+ * Something the auction server announced to every team, or a change in the client's own
+ * connection, as delivered to {@link AuctionClient} subscribers.
+ *
+ * When the server keeps several lots open at once, events about a lot carry its number in
+ * {@code lot}; otherwise {@code lot} is 0 and the event is about the one lot in play.
+ */
+sealed interface AuctionEvent {
+
+    record AuctionStarted() implements AuctionEvent {}
+
+    record NewPlayer(String name, double basePrice, String type, String nationality, int lot) implements AuctionEvent {}
+
+    record NewBid(String team, double amount, int lot) implements AuctionEvent {}
+
+    record PlayerSold(String team, double price, double remainingPurse, int lot) implements AuctionEvent {}
+
+    record PlayerUnsold(String name, int lot) implements AuctionEvent {}
+
+    record AuctionFinished() implements AuctionEvent {}
+
+    record TeamJoined(String team) implements AuctionEvent {}
+
+    record TeamReady(String team) implements AuctionEvent {}
+
+    record TeamLeft(String team) implements AuctionEvent {}
+
+    /** Any other line from the server: timeouts, finalization progress, errors. */
+    record Notice(String message) implements AuctionEvent {}
+
+    /** The connection dropped; {@code reconnecting} is false if the client has given up on it. */
+    record Disconnected(String reason, boolean reconnecting) implements AuctionEvent {}
+
+    /**
+     * The session was taken back on a new connection, or logged in again if the server had
+     * forgotten it, and {@code state} is where the auction now stands.
+     */
+    record Reconnected(int attempts, long millis, AuctionClient.State state) implements AuctionEvent {}
+
+    /** Reads one broadcast line from the server. */
+    static AuctionEvent parse(String line) {
+        String[] parts = line.split(":", -1);
+        try {
+            // A lot's messages end with :Lot:<number> when several lots are open
+            int lot = parts.length > 2 && parts[parts.length - 2].equals("Lot")
+                ? Integer.parseInt(parts[parts.length - 1]) : 0;
+            switch (parts[0]) {
+                case "AUCTION_STARTED":
+                    return new AuctionStarted();
+                case "AUCTION_FINISHED":
+                    return new AuctionFinished();
+                case "NEW_PLAYER":
+                    // NEW_PLAYER:<name>:<base>:Type:<type>:Nationality:<nationality>
+                    if (parts.length >= 7) {
+                        return new NewPlayer(parts[1], Double.parseDouble(parts[2]), parts[4], parts[6], lot);
+                    }
+                    break;
+                case "NEW_BID":
+                    if (parts.length >= 3) {
+                        return new NewBid(parts[1], Double.parseDouble(parts[2]), lot);
+                    }
+                    break;
+                case "PLAYER_SOLD":
+                    // PLAYER_SOLD:<team>:<price>:Remaining purse: <purse>
+                    if (parts.length >= 5) {
+                        return new PlayerSold(parts[1], Double.parseDouble(parts[2]),
+                            Double.parseDouble(parts[4].trim()), lot);
+                    }
+                    break;
+                case "PLAYER_UNSOLD":
+                    return new PlayerUnsold(parts.length > 1 ? parts[1] : "", lot);
+                case "TEAM_JOINED":
+                    return new TeamJoined(line.substring(12));
+                case "TEAM_READY":
+                    return new TeamReady(line.substring(11));
+                case "TEAM_LEFT":
+                    return new TeamLeft(line.substring(10));
+                default:
+                    break;
+            }
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            // Fall through and pass it on as it came
+        }
+        return new Notice(line);
+    }
+}
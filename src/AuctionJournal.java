@@ -0,0 +1,422 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only binary journal of auction events, written through a memory-mapped file.
+ *
+ * Each record is {@code [int length][byte type][payload][int crc32]} and every append
+ * writes a zero length word after itself, so a scan stops cleanly at the end of the
+ * log or at a torn record left by a crash. A background thread forces dirty pages
+ * to disk, coalescing all appends made within one commit window into a single fsync.
+ */
+class AuctionJournal implements AuctionListener, AutoCloseable {
+    private static final Logger logger = Logger.getLogger(AuctionJournal.class.getName());
+
+    private static final int MAGIC = 0x49504c4a; // "IPLJ"
+    private static final short VERSION = 1;
+    private static final int HEADER_SIZE = 6;
+    private static final int INITIAL_CAPACITY = 16 * 1024 * 1024;
+
+    private static final byte CATALOG = 1;
+    private static final byte TEAM = 2;
+    private static final byte LOT = 3;
+    private static final byte BID = 4;
+    private static final byte SOLD = 5;
+    private static final byte UNSOLD = 6;
+    private static final byte FINISHED = 7;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final long groupCommitMillis;
+    private final Thread flusher;
+    private final CRC32 crc = new CRC32();
+    private final ByteBuffer scratch = ByteBuffer.allocate(4096);
+
+    private MappedByteBuffer buffer;
+    private volatile int writePosition; // read without the lock by size()
+    private int durablePosition;
+    private byte lastType; // of the last intact record, 0 if there is none
+    private boolean open = true;
+
+    private AuctionJournal(Path path, FileChannel channel, long groupCommitMillis) throws IOException {
+        this.path = path;
+        this.channel = channel;
+        this.groupCommitMillis = groupCommitMillis;
+
+        long size = channel.size();
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, INITIAL_CAPACITY));
+        if (size == 0) {
+            buffer.putInt(0, MAGIC);
+            buffer.putShort(4, VERSION);
+            buffer.force();
+        } else if (buffer.getInt(0) != MAGIC || buffer.getShort(4) != VERSION) {
+            throw new IOException("Not an auction journal (or unsupported version): " + path);
+        }
+        writePosition = scan(record -> lastType = record.get(0));
+        durablePosition = writePosition;
+
+        flusher = new Thread(this::flushLoop, "journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    public static AuctionJournal open(Path path, long groupCommitMillis) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new AuctionJournal(path, channel, groupCommitMillis);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public synchronized boolean isEmpty() {
+        return writePosition == HEADER_SIZE;
+    }
+
+    /** Whether the last record is the end of the auction, found without decoding the journal. */
+    public synchronized boolean isFinished() {
+        return lastType == FINISHED;
+    }
+
+    /** Bytes of the file holding records, header included. */
+    public int size() {
+        return writePosition;
+    }
+
+    /**
+     * Feeds every intact record to the listener in the order it was written.
+     *
+     * @return the number of records replayed
+     */
+    public synchronized int replay(AuctionListener listener) {
+        return replayFrom(HEADER_SIZE, listener);
+    }
+
+    /** Replays only the records written at or after {@code offset}, as returned by {@link #size()}. */
+    public synchronized int replayFrom(int offset, AuctionListener listener) {
+        int[] count = new int[1];
+        scanFrom(Math.max(offset, HEADER_SIZE), record -> {
+            dispatch(record, listener);
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    /**
+     * Replays a journal file through a read-only mapping, without taking the lock a running
+     * server holds for appends. Only records wholly before {@code limit} are read, so a
+     * caller can pass the {@link #size()} of the live journal to get a consistent prefix.
+     *
+     * @return the number of records replayed
+     */
+    public static int replayFile(Path path, int limit, AuctionListener listener) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            int end = (int) Math.min(Math.min(channel.size(), limit), Integer.MAX_VALUE);
+            if (end < HEADER_SIZE) {
+                return 0;
+            }
+            MappedByteBuffer mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, end);
+            if (mapping.getInt(0) != MAGIC || mapping.getShort(4) != VERSION) {
+                throw new IOException("Not an auction journal (or unsupported version): " + path);
+            }
+            int[] count = new int[1];
+            scan(mapping, HEADER_SIZE, end, path, record -> {
+                dispatch(record, listener);
+                count[0]++;
+            });
+            return count[0];
+        }
+    }
+
+    // ---- AuctionListener: every engine event becomes one record ----
+
+    @Override
+    public synchronized void catalogLoaded(List<Integer> lotOrder) {
+        ByteBuffer payload = payload(4 + 4 * lotOrder.size());
+        payload.putInt(lotOrder.size());
+        for (int id : lotOrder) {
+            payload.putInt(id);
+        }
+        append(CATALOG, payload);
+    }
+
+    @Override
+    public synchronized void teamJoined(String teamName, double purse) {
+        byte[] team = utf8(teamName);
+        ByteBuffer payload = payload(2 + team.length + 8);
+        putString(payload, team);
+        payload.putDouble(purse);
+        append(TEAM, payload);
+    }
+
+    @Override
+    public synchronized void lotOpened(int lotIndex, int playerId, String playerName, double basePrice,
+                                       String playerType, String nationality) {
+        byte[] name = utf8(playerName);
+        byte[] type = utf8(playerType);
+        byte[] country = utf8(nationality);
+        ByteBuffer payload = payload(4 + 4 + 2 + name.length + 8 + 2 + type.length + 2 + country.length);
+        payload.putInt(lotIndex);
+        payload.putInt(playerId);
+        putString(payload, name);
+        payload.putDouble(basePrice);
+        putString(payload, type);
+        putString(payload, country);
+        append(LOT, payload);
+    }
+
+    @Override
+    public synchronized void bidAccepted(int playerId, String teamName, double amount) {
+        byte[] team = utf8(teamName);
+        ByteBuffer payload = payload(4 + 2 + team.length + 8);
+        payload.putInt(playerId);
+        putString(payload, team);
+        payload.putDouble(amount);
+        append(BID, payload);
+    }
+
+    @Override
+    public synchronized void playerSold(int playerId, String teamName, double price, boolean overseas) {
+        byte[] team = utf8(teamName);
+        ByteBuffer payload = payload(4 + 2 + team.length + 8 + 1);
+        payload.putInt(playerId);
+        putString(payload, team);
+        payload.putDouble(price);
+        payload.put((byte) (overseas ? 1 : 0));
+        append(SOLD, payload);
+    }
+
+    @Override
+    public synchronized void playerUnsold(int playerId) {
+        ByteBuffer payload = payload(4);
+        payload.putInt(playerId);
+        append(UNSOLD, payload);
+    }
+
+    @Override
+    public synchronized void auctionFinished() {
+        append(FINISHED, payload(0));
+    }
+
+    /**
+     * Blocks until the journal up to {@code position}, as returned by {@link #size()}, has
+     * been forced to disk by the flusher, or the journal is closed.
+     */
+    public synchronized void awaitDurable(int position) throws InterruptedException {
+        while (durablePosition < position && open) {
+            wait();
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (!open) return;
+            open = false;
+            notifyAll();
+        }
+        try {
+            flusher.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            buffer.force();
+            durablePosition = writePosition;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.warning("Error closing journal: " + e.getMessage());
+        }
+    }
+
+    // ---- writing ----
+
+    /** A buffer for a payload of {@code size} bytes, the shared scratch buffer if it fits. */
+    private ByteBuffer payload(int size) {
+        if (size > scratch.capacity()) {
+            return ByteBuffer.allocate(size);
+        }
+        scratch.clear();
+        return scratch;
+    }
+
+    /** Encodes a string for {@link #putString}, which takes at most 65,535 bytes. */
+    private static byte[] utf8(String value) {
+        byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xffff) {
+            throw new IllegalArgumentException("String of " + bytes.length + " bytes is too long to journal");
+        }
+        return bytes;
+    }
+
+    private static void putString(ByteBuffer payload, byte[] bytes) {
+        payload.putShort((short) bytes.length);
+        payload.put(bytes);
+    }
+
+    private void append(byte type, ByteBuffer payload) {
+        if (!open) {
+            logger.warning("Journal closed, dropping record of type " + type);
+            return;
+        }
+        payload.flip();
+        int length = 1 + payload.remaining();
+        ensureCapacity(4 + length + 4 + 4);
+
+        crc.reset();
+        crc.update(type);
+        crc.update(payload.duplicate());
+
+        buffer.putInt(writePosition, length);
+        buffer.put(writePosition + 4, type);
+        buffer.put(writePosition + 5, payload, payload.position(), payload.remaining());
+        buffer.putInt(writePosition + 4 + length, (int) crc.getValue());
+        writePosition += 4 + length + 4;
+        buffer.putInt(writePosition, 0);
+        lastType = type;
+        notifyAll();
+    }
+
+    private void ensureCapacity(int needed) {
+        if (writePosition + needed <= buffer.capacity()) return;
+        long capacity = buffer.capacity();
+        while (writePosition + needed > capacity) {
+            capacity *= 2;
+        }
+        if (capacity > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Journal exceeds 2 GB: " + path);
+        }
+        try {
+            buffer.force(durablePosition, writePosition - durablePosition);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to grow journal " + path, e);
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            MappedByteBuffer target;
+            int from;
+            int to;
+            synchronized (this) {
+                while (open && writePosition == durablePosition) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (!open) return;
+                target = buffer;
+                from = durablePosition;
+                to = writePosition;
+            }
+
+            target.force(from, to - from);
+
+            synchronized (this) {
+                durablePosition = Math.max(durablePosition, to);
+                notifyAll();
+            }
+            try {
+                // Everything appended while we sleep is committed by the next force
+                Thread.sleep(groupCommitMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    // ---- reading ----
+
+    private interface RecordSink {
+        void accept(ByteBuffer record);
+    }
+
+    private int scan(RecordSink sink) {
+        return scanFrom(HEADER_SIZE, sink);
+    }
+
+    private int scanFrom(int position, RecordSink sink) {
+        return scan(buffer, position, buffer.capacity(), path, sink);
+    }
+
+    /** Walks intact records from {@code position} and returns the offset just past the last one. */
+    private static int scan(ByteBuffer buffer, int position, int limit, Path path, RecordSink sink) {
+        CRC32 check = new CRC32();
+        while (position + 4 <= limit) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + 4 + length + 4 > limit) break;
+
+            ByteBuffer record = buffer.slice(position + 4, length);
+            check.reset();
+            check.update(record.duplicate());
+            if ((int) check.getValue() != buffer.getInt(position + 4 + length)) {
+                logger.warning("Journal " + path + " has a torn record at offset " + position +
+                               "; ignoring the tail");
+                break;
+            }
+            if (sink != null) {
+                sink.accept(record);
+            }
+            position += 4 + length + 4;
+        }
+        return position;
+    }
+
+    private static void dispatch(ByteBuffer record, AuctionListener listener) {
+        byte type = record.get();
+        switch (type) {
+            case CATALOG: {
+                int count = record.getInt();
+                List<Integer> order = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    order.add(record.getInt());
+                }
+                listener.catalogLoaded(order);
+                break;
+            }
+            case TEAM:
+                listener.teamJoined(getString(record), record.getDouble());
+                break;
+            case LOT:
+                listener.lotOpened(record.getInt(), record.getInt(), getString(record),
+                    record.getDouble(), getString(record), getString(record));
+                break;
+            case BID:
+                listener.bidAccepted(record.getInt(), getString(record), record.getDouble());
+                break;
+            case SOLD:
+                listener.playerSold(record.getInt(), getString(record), record.getDouble(),
+                    record.get() != 0);
+                break;
+            case UNSOLD:
+                listener.playerUnsold(record.getInt());
+                break;
+            case FINISHED:
+                listener.auctionFinished();
+                break;
+            default:
+                logger.warning("Skipping unknown journal record type " + type);
+        }
+    }
+
+    private static String getString(ByteBuffer record) {
+        byte[] bytes = new byte[record.getShort() & 0xffff];
+        record.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
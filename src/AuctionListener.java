@@ -0,0 +1,73 @@
+import java.util.List;
+
+/**
+ * Callbacks for the state-changing events of an auction.
+ *
+ * The server emits these from the bid engine as they happen, and the journal
+ * replays them in the same order on restart, so anything that implements this
+ * interface can be rebuilt from a journal alone.
+ */
+interface AuctionListener {
+
+    /** The order in which lots will be auctioned has been fixed. */
+    default void catalogLoaded(List<Integer> lotOrder) {}
+
+    /** A team has been registered with a fresh purse. */
+    default void teamJoined(String teamName, double purse) {}
+
+    /** Bidding has opened on the lot at {@code lotIndex} of the catalog order. */
+    default void lotOpened(int lotIndex, int playerId, String playerName, double basePrice,
+                           String playerType, String nationality) {}
+
+    /** A bid has become the standing bid on a lot. */
+    default void bidAccepted(int playerId, String teamName, double amount) {}
+
+    default void playerSold(int playerId, String teamName, double price, boolean overseas) {}
+
+    default void playerUnsold(int playerId) {}
+
+    default void auctionFinished() {}
+
+    /** Forwards every event to each of the given listeners in turn, e.g. for a single replay pass. */
+    static AuctionListener all(AuctionListener... targets) {
+        return new AuctionListener() {
+            @Override
+            public void catalogLoaded(List<Integer> lotOrder) {
+                for (AuctionListener target : targets) target.catalogLoaded(lotOrder);
+            }
+
+            @Override
+            public void teamJoined(String teamName, double purse) {
+                for (AuctionListener target : targets) target.teamJoined(teamName, purse);
+            }
+
+            @Override
+            public void lotOpened(int lotIndex, int playerId, String playerName, double basePrice,
+                                  String playerType, String nationality) {
+                for (AuctionListener target : targets) {
+                    target.lotOpened(lotIndex, playerId, playerName, basePrice, playerType, nationality);
+                }
+            }
+
+            @Override
+            public void bidAccepted(int playerId, String teamName, double amount) {
+                for (AuctionListener target : targets) target.bidAccepted(playerId, teamName, amount);
+            }
+
+            @Override
+            public void playerSold(int playerId, String teamName, double price, boolean overseas) {
+                for (AuctionListener target : targets) target.playerSold(playerId, teamName, price, overseas);
+            }
+
+            @Override
+            public void playerUnsold(int playerId) {
+                for (AuctionListener target : targets) target.playerUnsold(playerId);
+            }
+
+            @Override
+            public void auctionFinished() {
+                for (AuctionListener target : targets) target.auctionFinished();
+            }
+        };
+    }
+}
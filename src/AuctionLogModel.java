@@ -0,0 +1,133 @@
+import java.util.Collection;
+import java.util.List;
+
+import javax.swing.AbstractListModel;
+
+/**
+ * Bounded list model behind the client's auction log.
+ *
+ * Lines go into a fixed-size ring, so a long auction costs the same memory as a short one:
+ * once the ring is full each new line overwrites the oldest. The filtered view is a second
+ * ring of line numbers that is updated as lines come and go, which keeps adding a line
+ * constant-time for every filter; only switching filters rescans the retained lines.
+ * Must be used on the EDT, like any Swing model.
+ */
+class AuctionLogModel extends AbstractListModel<String> {
+    private static final long serialVersionUID = 1L;
+
+    /** What a log line is about, for filtering. */
+    enum Kind { INFO, MY_BID, SALE }
+
+    record Line(String text, Kind kind) {}
+
+    enum Filter {
+        ALL("All"), MY_BIDS("My bids"), SALES("Sales");
+
+        private final String label;
+
+        Filter(String label) {
+            this.label = label;
+        }
+
+        boolean accepts(Kind kind) {
+            return switch (this) {
+                case ALL -> true;
+                case MY_BIDS -> kind == Kind.MY_BID;
+                case SALES -> kind == Kind.SALE;
+            };
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    private final int capacity;
+    private final String[] lines;
+    private final Kind[] kinds;
+    private long appended; // lines ever added; line n is kept at n % capacity until overwritten
+
+    // Numbers of the kept lines that pass the filter, oldest first
+    private final long[] visible;
+    private int visibleStart;
+    private int visibleCount;
+    private Filter filter = Filter.ALL;
+
+    AuctionLogModel(int capacity) {
+        this.capacity = capacity;
+        this.lines = new String[capacity];
+        this.kinds = new Kind[capacity];
+        this.visible = new long[capacity];
+    }
+
+    void add(String line, Kind kind) {
+        addAll(List.of(new Line(line, kind)));
+    }
+
+    /** Appends lines with one pair of list events however many there are. */
+    void addAll(Collection<Line> batch) {
+        int before = visibleCount;
+        int removed = 0;
+        for (Line line : batch) {
+            if (append(line)) removed++;
+        }
+
+        // Lines evicted from the front were the oldest shown, which may include some of this batch
+        int removedOld = Math.min(removed, before);
+        if (removedOld > 0) fireIntervalRemoved(this, 0, removedOld - 1);
+        int kept = before - removedOld;
+        if (visibleCount > kept) fireIntervalAdded(this, kept, visibleCount - 1);
+    }
+
+    /** @return whether a shown line was evicted to make room */
+    private boolean append(Line line) {
+        boolean evicted = false;
+        if (appended >= capacity && visibleCount > 0 && visible[visibleStart] == appended - capacity) {
+            visibleStart = (visibleStart + 1) % capacity;
+            visibleCount--;
+            evicted = true;
+        }
+
+        int slot = (int) (appended % capacity);
+        lines[slot] = line.text();
+        kinds[slot] = line.kind();
+        if (filter.accepts(line.kind())) {
+            visible[(visibleStart + visibleCount) % capacity] = appended;
+            visibleCount++;
+        }
+        appended++;
+        return evicted;
+    }
+
+    Filter getFilter() {
+        return filter;
+    }
+
+    void setFilter(Filter filter) {
+        if (filter == this.filter) return;
+        this.filter = filter;
+
+        int previousCount = visibleCount;
+        visibleStart = 0;
+        visibleCount = 0;
+        for (long n = Math.max(0, appended - capacity); n < appended; n++) {
+            if (filter.accepts(kinds[(int) (n % capacity)])) {
+                visible[visibleCount++] = n;
+            }
+        }
+        if (previousCount > 0) fireIntervalRemoved(this, 0, previousCount - 1);
+        if (visibleCount > 0) fireIntervalAdded(this, 0, visibleCount - 1);
+    }
+
+    @Override
+    public int getSize() {
+        return visibleCount;
+    }
+
+    @Override
+    public String getElementAt(int index) {
+        long n = visible[(visibleStart + index) % capacity];
+        return lines[(int) (n % capacity)];
+    }
+}
@@ -0,0 +1,177 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * In-process metrics, exposed in the Prometheus text format.
+ *
+ * Counters and histograms are built on {@link LongAdder}s, so recording from the bid path
+ * never takes a lock; gauges are read from the live server state when scraped. Series are
+ * created on first use and identified by family name plus label values, which are passed
+ * as alternating names and values.
+ */
+class AuctionMetrics {
+    /** Histogram bucket bounds in seconds, from 100 µs to 10 s. */
+    private static final double[] BUCKETS = {
+        0.0001, 0.00025, 0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10
+    };
+
+    private enum Type { COUNTER, GAUGE, HISTOGRAM }
+
+    private record Family(String name, Type type, String help, Map<String, Object> series) {}
+
+    class Counter {
+        private final LongAdder value = new LongAdder();
+
+        void increment() {
+            value.increment();
+        }
+    }
+
+    class Histogram {
+        private final LongAdder[] counts = new LongAdder[BUCKETS.length + 1];
+        private final DoubleAdder sum = new DoubleAdder();
+
+        private Histogram() {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = new LongAdder();
+            }
+        }
+
+        void observeNanos(long nanos) {
+            double seconds = nanos / 1e9;
+            int bucket = 0;
+            while (bucket < BUCKETS.length && seconds > BUCKETS[bucket]) {
+                bucket++;
+            }
+            counts[bucket].increment();
+            sum.add(seconds);
+        }
+    }
+
+    // Sorted, so a scrape lists families and series in a stable order
+    private final Map<String, Family> families = new ConcurrentSkipListMap<>();
+    private HttpServer server;
+
+    Counter counter(String name, String help, String... labels) {
+        return (Counter) series(name, Type.COUNTER, help, labels, Counter::new);
+    }
+
+    Histogram histogram(String name, String help, String... labels) {
+        return (Histogram) series(name, Type.HISTOGRAM, help, labels, Histogram::new);
+    }
+
+    void gauge(String name, String help, DoubleSupplier value) {
+        series(name, Type.GAUGE, help, new String[0], () -> value);
+    }
+
+    /** A gauge with one series per key of the map {@code values} returns, labelled {@code label}. */
+    void gauges(String name, String help, String label, Supplier<Map<String, ? extends Number>> values) {
+        series(name, Type.GAUGE, help, new String[] {label}, () -> values);
+    }
+
+    private Object series(String name, Type type, String help, String[] labels, Supplier<Object> create) {
+        Family family = families.computeIfAbsent(name,
+            key -> new Family(name, type, help, new ConcurrentSkipListMap<>()));
+        if (family.type() != type) {
+            throw new IllegalArgumentException(name + " is already a " + family.type());
+        }
+        return family.series().computeIfAbsent(labelText(labels), key -> create.get());
+    }
+
+    /** {@code name1="value1",name2="value2"}, or just the label name for a labelled gauge family. */
+    private static String labelText(String[] labels) {
+        if (labels.length == 1) return labels[0];
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i + 1 < labels.length; i += 2) {
+            if (text.length() > 0) text.append(',');
+            text.append(labels[i]).append("=\"").append(escape(labels[i + 1])).append('"');
+        }
+        return text.toString();
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /** Every series in the Prometheus text exposition format, version 0.0.4. */
+    String scrape() {
+        StringBuilder out = new StringBuilder(4096);
+        for (Family family : families.values()) {
+            out.append("# HELP ").append(family.name()).append(' ').append(family.help()).append('\n');
+            out.append("# TYPE ").append(family.name()).append(' ')
+               .append(family.type().name().toLowerCase()).append('\n');
+            family.series().forEach((labels, series) -> write(out, family.name(), labels, series));
+        }
+        return out.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void write(StringBuilder out, String name, String labels, Object series) {
+        if (series instanceof Counter counter) {
+            sample(out, name, labels, counter.value.sum());
+        } else if (series instanceof Histogram histogram) {
+            long cumulative = 0;
+            for (int i = 0; i < histogram.counts.length; i++) {
+                cumulative += histogram.counts[i].sum();
+                String le = "le=\"" + (i < BUCKETS.length ? Double.toString(BUCKETS[i]) : "+Inf") + '"';
+                sample(out, name + "_bucket", labels.isEmpty() ? le : labels + "," + le, cumulative);
+            }
+            sample(out, name + "_sum", labels, histogram.sum.sum());
+            sample(out, name + "_count", labels, cumulative);
+        } else if (series instanceof DoubleSupplier gauge) {
+            sample(out, name, labels, gauge.getAsDouble());
+        } else if (series instanceof Supplier<?> gauges) {
+            ((Map<String, ? extends Number>) gauges.get()).forEach((key, value) ->
+                sample(out, name, labels + "=\"" + escape(key) + '"', value.doubleValue()));
+        }
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, double value) {
+        out.append(name);
+        if (!labels.isEmpty()) out.append('{').append(labels).append('}');
+        out.append(' ');
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+        out.append('\n');
+    }
+
+    /** Serves {@link #scrape()} at {@code http://127.0.0.1:<port>/metrics}. */
+    void serve(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", exchange -> {
+            byte[] body = scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream response = exchange.getResponseBody()) {
+                response.write(body);
+            }
+        });
+        server.start();
+    }
+
+    void stop() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    /** Per-call latency around any {@link AuctionStore}, labelled by operation. */
+    AuctionStore metered(AuctionStore store, String kind) {
+        return new MeteredAuctionStore(store, operation ->
+            histogram("auction_store_call_seconds", "Latency of auction store calls.", "store", kind, "operation", operation));
+    }
+}
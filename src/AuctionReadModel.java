@@ -0,0 +1,125 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * Read side of the auction: an {@link AuctionStandings} projection updated on a thread of its
+ * own and published as immutable {@link StandingsView}s.
+ *
+ * The bid engine only pays for queueing each event. Team views, the league table and the
+ * closing report are formatted from the latest published view on whatever thread asks,
+ * so read traffic never holds a lock the engine needs.
+ */
+class AuctionReadModel implements AuctionListener {
+    private static final Logger logger = Logger.getLogger(AuctionReadModel.class.getName());
+
+    private final AuctionStandings standings = new AuctionStandings();
+    private final BlockingQueue<Consumer<AuctionStandings>> updates = new LinkedBlockingQueue<>();
+    private final Thread projector = new Thread(this::project, "read-model");
+    private volatile StandingsView current = StandingsView.EMPTY;
+
+    AuctionReadModel() {
+        projector.setDaemon(true);
+    }
+
+    void start() {
+        projector.start();
+    }
+
+    /** The latest published view; it may trail the engine by the events still queued. */
+    StandingsView current() {
+        return current;
+    }
+
+    /** A view that includes every event emitted before this call. */
+    StandingsView awaitCurrent() {
+        return query(AuctionStandings::view);
+    }
+
+    /**
+     * Runs {@code query} on the projector thread once every event queued before it has been
+     * applied, and waits for its result. For the rare reader that needs more than a view
+     * holds.
+     */
+    <T> T query(Function<AuctionStandings, T> query) {
+        return queryLater(query).join();
+    }
+
+    /**
+     * Queues {@code query} behind the events emitted so far without waiting for it, so the
+     * snapshot writer can fix the point it reads at under the engine lock and wait outside it.
+     */
+    <T> CompletableFuture<T> queryLater(Function<AuctionStandings, T> query) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        updates.add(standings -> {
+            try {
+                result.complete(query.apply(standings));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    /** Replaces the projection with the one in a snapshot, ahead of any events still to come. */
+    void restore(AuctionSnapshot snapshot) {
+        updates.add(standings -> standings.restore(snapshot));
+    }
+
+    private void project() {
+        List<Consumer<AuctionStandings>> batch = new ArrayList<>();
+        while (true) {
+            try {
+                batch.add(updates.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            updates.drainTo(batch);
+            for (Consumer<AuctionStandings> update : batch) {
+                try {
+                    update.accept(standings);
+                } catch (RuntimeException e) {
+                    logger.severe("Read model update failed: " + e);
+                }
+            }
+            batch.clear();
+            // One publish per batch, however many events arrived together
+            current = standings.view();
+        }
+    }
+
+    // ---- AuctionListener: queue each event for the projector ----
+
+    @Override
+    public void catalogLoaded(List<Integer> lotOrder) {
+        List<Integer> order = List.copyOf(lotOrder);
+        updates.add(standings -> standings.catalogLoaded(order));
+    }
+
+    @Override
+    public void teamJoined(String teamName, double purse) {
+        updates.add(standings -> standings.teamJoined(teamName, purse));
+    }
+
+    @Override
+    public void lotOpened(int lotIndex, int playerId, String playerName, double basePrice,
+                          String playerType, String nationality) {
+        updates.add(standings -> standings.lotOpened(lotIndex, playerId, playerName, basePrice,
+            playerType, nationality));
+    }
+
+    @Override
+    public void playerSold(int playerId, String teamName, double price, boolean overseas) {
+        updates.add(standings -> standings.playerSold(playerId, teamName, price, overseas));
+    }
+
+    @Override
+    public void playerUnsold(int playerId) {
+        updates.add(standings -> standings.playerUnsold(playerId));
+    }
+}
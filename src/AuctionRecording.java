@@ -0,0 +1,238 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * A recorded auction session, which {@code java Server2 replay} feeds back through the engine.
+ *
+ * The file is text, one tab-separated entry per line. It opens with the catalog in lot
+ * order, so a replay auctions the same players in the same order. Then come the engine's
+ * inputs in the order they took effect: each connection's command lines, disconnects,
+ * auction timer firings and the console commands that steer the auction. Every broadcast the engine made is recorded too, so a replay can
+ * check it reaches the same outcomes. Each event is stamped with its logical time, its
+ * position in the session, and the microseconds since recording began. A session with
+ * several lots open at once says how many before the catalog:
+ *
+ * <pre>
+ * L        &lt;lots open at once&gt;
+ * P        &lt;name&gt; &lt;type&gt; &lt;nationality&gt; &lt;base price&gt;
+ * &lt;seq&gt; &lt;micros&gt; LINE     &lt;connection&gt; &lt;command line&gt;
+ * &lt;seq&gt; &lt;micros&gt; BATCHED  &lt;connection&gt; &lt;command line sent inside a BATCH&gt;
+ * &lt;seq&gt; &lt;micros&gt; CLOSE    &lt;connection&gt;
+ * &lt;seq&gt; &lt;micros&gt; TIMER    &lt;timer name&gt;
+ * &lt;seq&gt; &lt;micros&gt; ADMIN    &lt;console command&gt;
+ * &lt;seq&gt; &lt;micros&gt; OUT      &lt;broadcast message&gt;
+ * </pre>
+ *
+ * Tabs, newlines and backslashes in text are escaped. The server only calls the writing
+ * methods while holding the engine lock, which is what makes the order the true one.
+ */
+class AuctionRecording implements AutoCloseable {
+    private static final Logger logger = Logger.getLogger(AuctionRecording.class.getName());
+    private static final String HEADER = "# auction recording v1";
+
+    enum Kind { LINE, BATCHED, CLOSE, TIMER, ADMIN, OUT }
+
+    /** One recorded event; {@code connection} is 0 for timers, console commands and broadcasts. */
+    record Event(long seq, long micros, Kind kind, int connection, String text) {}
+
+    private final Path path;
+    private final BufferedWriter writer;
+    private final long startNanos = System.nanoTime();
+    private long seq;
+    private boolean failed;
+
+    private AuctionRecording(Path path, BufferedWriter writer) {
+        this.path = path;
+        this.writer = writer;
+    }
+
+    /**
+     * Starts a recording of an auction that will offer {@code lots} in this order, up to
+     * {@code parallelLots} of them at a time.
+     */
+    static AuctionRecording create(Path path, List<AuctionStore.Player> lots, int parallelLots) throws IOException {
+        BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+        try {
+            writer.write(HEADER);
+            writer.newLine();
+            if (parallelLots > 1) {
+                writer.write("L\t" + parallelLots);
+                writer.newLine();
+            }
+            for (AuctionStore.Player player : lots) {
+                writer.write("P\t" + escape(player.name()) + '\t' + escape(player.type()) + '\t' +
+                    escape(player.nationality()) + '\t' + player.basePrice());
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            writer.close();
+            throw e;
+        }
+        return new AuctionRecording(path, writer);
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    synchronized void command(int connection, String line, boolean batched) {
+        write(batched ? Kind.BATCHED : Kind.LINE, connection + "\t" + escape(line));
+    }
+
+    synchronized void closed(int connection) {
+        write(Kind.CLOSE, String.valueOf(connection));
+    }
+
+    synchronized void timer(String name) {
+        write(Kind.TIMER, escape(name));
+    }
+
+    synchronized void admin(String command) {
+        write(Kind.ADMIN, escape(command));
+    }
+
+    synchronized void broadcast(String message) {
+        write(Kind.OUT, escape(message));
+    }
+
+    private void write(Kind kind, String fields) {
+        if (failed) return;
+        try {
+            writer.write(++seq + "\t" + (System.nanoTime() - startNanos) / 1_000 + '\t' + kind + '\t' + fields);
+            writer.newLine();
+        } catch (IOException e) {
+            // Losing the recording must not take the auction down with it
+            failed = true;
+            logger.severe("Recording to " + path + " stopped: " + e.getMessage());
+        }
+    }
+
+    synchronized void flush() {
+        if (failed) return;
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            failed = true;
+            logger.severe("Recording to " + path + " stopped: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        flush();
+        try {
+            writer.close();
+        } catch (IOException e) {
+            // Already reported by flush, or nothing left to lose
+        }
+    }
+
+    /** Reads a recording back: the catalog first, then the events one at a time. */
+    static class Reader implements AutoCloseable {
+        private final BufferedReader reader;
+        private final List<AuctionStore.Player> catalog = new ArrayList<>();
+        private int parallelLots = 1;
+        private String pending; // the first event line, read while looking for the catalog's end
+        private int lineNumber;
+
+        Reader(Path path) throws IOException {
+            reader = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+            String header = nextLine();
+            if (!HEADER.equals(header)) {
+                reader.close();
+                throw new IOException(path + " is not an auction recording");
+            }
+            String line = nextLine();
+            if (line != null && line.startsWith("L\t")) {
+                try {
+                    parallelLots = Integer.parseInt(line.substring(2));
+                } catch (NumberFormatException e) {
+                    reader.close();
+                    throw malformed(line);
+                }
+                line = nextLine();
+            }
+            for (; line != null && line.startsWith("P\t"); line = nextLine()) {
+                String[] fields = line.split("\t", -1);
+                if (fields.length != 5) throw malformed(line);
+                catalog.add(new AuctionStore.Player(catalog.size() + 1, unescape(fields[1]), unescape(fields[2]),
+                    unescape(fields[3]), Double.parseDouble(fields[4])));
+            }
+            pending = line;
+        }
+
+        /** How many lots the recorded auction kept open at once. */
+        int parallelLots() {
+            return parallelLots;
+        }
+        
+        /** The recorded catalog in lot order, numbered from 1 in that order. */
+        List<AuctionStore.Player> catalog() {
+            return catalog;
+        }
+
+        /** @return the next event, or {@code null} at the end of the recording */
+        Event next() throws IOException {
+            String line = pending != null ? pending : nextLine();
+            pending = null;
+            if (line == null) return null;
+
+            String[] fields = line.split("\t", 5);
+            try {
+                Kind kind = Kind.valueOf(fields[2]);
+                long seq = Long.parseLong(fields[0]);
+                long micros = Long.parseLong(fields[1]);
+                return switch (kind) {
+                    case LINE, BATCHED -> new Event(seq, micros, kind, Integer.parseInt(fields[3]), unescape(fields[4]));
+                    case CLOSE -> new Event(seq, micros, kind, Integer.parseInt(fields[3]), "");
+                    case TIMER, ADMIN, OUT -> new Event(seq, micros, kind, 0, unescape(fields[3]));
+                };
+            } catch (RuntimeException e) {
+                throw malformed(line);
+            }
+        }
+
+        private String nextLine() throws IOException {
+            lineNumber++;
+            return reader.readLine();
+        }
+
+        private IOException malformed(String line) {
+            return new IOException("Malformed recording at line " + lineNumber + ": " + line);
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    private static String escape(String text) {
+        if (text.indexOf('\\') < 0 && text.indexOf('\t') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return text.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    private static String unescape(String text) {
+        if (text.indexOf('\\') < 0) return text;
+        StringBuilder out = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' && i + 1 < text.length()) {
+                char next = text.charAt(++i);
+                out.append(next == 't' ? '\t' : next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+            } else {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+}
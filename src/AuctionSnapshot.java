@@ -0,0 +1,186 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Point-in-time image of the complete auction state, written as a compact versioned
+ * binary file.
+ *
+ * A snapshot remembers how far into the journal it reaches, so recovery loads the
+ * snapshot and then replays only the journal records written after it.
+ */
+record AuctionSnapshot(int journalOffset, List<Integer> lotOrder, byte[] lotStatus, int currentLotIndex,
+                       List<OpenLot> openLots, List<TeamLedger> teams) {
+
+    static final byte PENDING = 0;
+    static final byte OPEN = 1;
+    static final byte SOLD = 2;
+    static final byte UNSOLD = 3;
+
+    private static final int MAGIC = 0x49504c53; // "IPLS"
+    private static final int VERSION = 2; // 1 held at most one open lot
+
+    /** A lot with bidding open when the snapshot was taken; the bidder is {@code null} if nobody has bid. */
+    record OpenLot(int lotIndex, AuctionStore.Player player, String standingBidder, double standingBid) {}
+
+    record TeamLedger(String name, double purse, int playerCount, int overseasCount,
+                      List<AuctionStore.RosterEntry> roster) {}
+
+    /** Snapshot file that belongs to the given journal. */
+    static Path pathFor(Path journalPath) {
+        return Paths.get(journalPath + ".snapshot");
+    }
+
+    /**
+     * Writes the snapshot through a temporary file so a crash never leaves a half-written one behind.
+     *
+     * @return the size of the snapshot in bytes
+     */
+    int writeTo(Path path) throws IOException {
+        byte[] bytes = encode();
+        Path temp = Paths.get(path + ".tmp");
+        Files.write(temp, bytes);
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return bytes.length;
+    }
+
+    static AuctionSnapshot readFrom(Path path) throws IOException {
+        return decode(Files.readAllBytes(path));
+    }
+
+    byte[] encode() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + lotOrder.size() * 5);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(journalOffset);
+
+        out.writeInt(lotOrder.size());
+        for (int id : lotOrder) {
+            out.writeInt(id);
+        }
+        out.write(lotStatus);
+        out.writeInt(currentLotIndex);
+
+        out.writeInt(openLots.size());
+        for (OpenLot lot : openLots) {
+            out.writeInt(lot.lotIndex());
+            writePlayer(out, lot.player());
+            out.writeUTF(lot.standingBidder() == null ? "" : lot.standingBidder());
+            out.writeDouble(lot.standingBid());
+        }
+
+        out.writeInt(teams.size());
+        for (TeamLedger team : teams) {
+            out.writeUTF(team.name());
+            out.writeDouble(team.purse());
+            out.writeInt(team.playerCount());
+            out.writeInt(team.overseasCount());
+            out.writeInt(team.roster().size());
+            for (AuctionStore.RosterEntry entry : team.roster()) {
+                out.writeInt(entry.playerId());
+                out.writeUTF(entry.playerName());
+                out.writeUTF(entry.playerType());
+                out.writeUTF(entry.nationality());
+                out.writeDouble(entry.basePrice());
+                out.writeDouble(entry.bidAmount());
+            }
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeInt((int) crc.getValue());
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    static AuctionSnapshot decode(byte[] bytes) throws IOException {
+        if (bytes.length < 16) {
+            throw new IOException("Snapshot too short");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - 4);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        in.skipBytes(bytes.length - 4);
+        if (in.readInt() != (int) crc.getValue()) {
+            throw new IOException("Snapshot checksum mismatch");
+        }
+
+        in = new DataInputStream(new ByteArrayInputStream(bytes, 0, bytes.length - 4));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not an auction snapshot");
+        }
+        int version = in.readInt();
+        if (version != VERSION && version != 1) {
+            throw new IOException("Unsupported snapshot version " + version);
+        }
+        int journalOffset = in.readInt();
+
+        int lotCount = in.readInt();
+        List<Integer> lotOrder = new ArrayList<>(lotCount);
+        for (int i = 0; i < lotCount; i++) {
+            lotOrder.add(in.readInt());
+        }
+        byte[] lotStatus = new byte[lotCount];
+        in.readFully(lotStatus);
+        int currentLotIndex = in.readInt();
+
+        List<OpenLot> openLots = new ArrayList<>();
+        if (version == 1) {
+            AuctionStore.Player player = in.readBoolean() ? readPlayer(in) : null;
+            boolean open = in.readBoolean();
+            String bidder = in.readUTF();
+            double bid = in.readDouble();
+            if (open && player != null) {
+                openLots.add(new OpenLot(currentLotIndex, player, bidder.isEmpty() ? null : bidder, bid));
+            }
+        } else {
+            int openCount = in.readInt();
+            for (int i = 0; i < openCount; i++) {
+                int lotIndex = in.readInt();
+                AuctionStore.Player player = readPlayer(in);
+                String bidder = in.readUTF();
+                openLots.add(new OpenLot(lotIndex, player, bidder.isEmpty() ? null : bidder, in.readDouble()));
+            }
+        }
+
+        int teamCount = in.readInt();
+        List<TeamLedger> teams = new ArrayList<>(teamCount);
+        for (int t = 0; t < teamCount; t++) {
+            String name = in.readUTF();
+            double purse = in.readDouble();
+            int playerCount = in.readInt();
+            int overseasCount = in.readInt();
+            int rosterSize = in.readInt();
+            List<AuctionStore.RosterEntry> roster = new ArrayList<>(rosterSize);
+            for (int r = 0; r < rosterSize; r++) {
+                roster.add(new AuctionStore.RosterEntry(in.readInt(), in.readUTF(), in.readUTF(),
+                    in.readUTF(), in.readDouble(), in.readDouble()));
+            }
+            teams.add(new TeamLedger(name, purse, playerCount, overseasCount, roster));
+        }
+
+        return new AuctionSnapshot(journalOffset, lotOrder, lotStatus, currentLotIndex, openLots, teams);
+    }
+
+    private static void writePlayer(DataOutputStream out, AuctionStore.Player player) throws IOException {
+        out.writeInt(player.id());
+        out.writeUTF(player.name());
+        out.writeUTF(player.type());
+        out.writeUTF(player.nationality());
+        out.writeDouble(player.basePrice());
+    }
+
+    private static AuctionStore.Player readPlayer(DataInputStream in) throws IOException {
+        return new AuctionStore.Player(in.readInt(), in.readUTF(), in.readUTF(), in.readUTF(), in.readDouble());
+    }
+}
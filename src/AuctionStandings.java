@@ -0,0 +1,206 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Running league table of the auction, kept up to date from auction events so team views
+ * and the closing report never have to go back to the store.
+ *
+ * Every sale updates the buying team's spend, squad size, overseas count and type
+ * breakdown in constant time; rosters are kept sorted by price as they grow. Instances
+ * are not thread-safe: {@link AuctionReadModel} confines one to its projector thread and
+ * publishes {@link #view() views} of it.
+ */
+class AuctionStandings implements AuctionListener {
+    static final int TOP_BUYS = 10;
+
+    /** One team's line in the table. */
+    private static final class TeamStanding {
+        final String name;
+        double purse;
+        double spent;
+        int players;
+        int overseas;
+        final Map<String, Integer> byType = new TreeMap<>();
+        final List<AuctionStore.RosterEntry> roster = new ArrayList<>();
+
+        TeamStanding(String name, double purse) {
+            this.name = name;
+            this.purse = purse;
+        }
+    }
+
+    private final Map<String, TeamStanding> teams = new HashMap<>();
+    private final Map<Integer, AuctionStore.Player> openLots = new HashMap<>();
+    private final Set<Integer> soldIds = new HashSet<>();
+    private final List<StandingsView.Purchase> topBuys = new ArrayList<>();
+    private int lotCount;
+    private int passedLots;
+
+    // Teams changed since the last view; unchanged teams reuse their previous immutable copy
+    private final Set<String> dirtyTeams = new HashSet<>();
+    private StandingsView lastView = StandingsView.EMPTY;
+
+    /**
+     * Loads the table from a snapshot; the journal tail written after it is then replayed
+     * into this listener as usual.
+     */
+    void restore(AuctionSnapshot snapshot) {
+        teams.clear();
+        openLots.clear();
+        soldIds.clear();
+        topBuys.clear();
+        lotCount = snapshot.lotOrder().size();
+        passedLots = 0;
+        for (int i = 0; i < lotCount; i++) {
+            byte status = snapshot.lotStatus()[i];
+            if (status == AuctionSnapshot.SOLD) {
+                soldIds.add(snapshot.lotOrder().get(i));
+            } else if (status == AuctionSnapshot.UNSOLD) {
+                passedLots++;
+            }
+        }
+        for (AuctionSnapshot.OpenLot lot : snapshot.openLots()) {
+            openLots.put(lot.player().id(), lot.player());
+        }
+
+        for (AuctionSnapshot.TeamLedger ledger : snapshot.teams()) {
+            TeamStanding team = new TeamStanding(ledger.name(), ledger.purse());
+            for (AuctionStore.RosterEntry entry : ledger.roster()) {
+                addToRoster(team, entry);
+            }
+            teams.put(team.name, team);
+        }
+        dirtyTeams.addAll(teams.keySet());
+    }
+
+    // ---- AuctionListener ----
+
+    @Override
+    public void catalogLoaded(List<Integer> lotOrder) {
+        lotCount = lotOrder.size();
+        passedLots = 0;
+        soldIds.clear();
+        openLots.clear();
+    }
+
+    @Override
+    public void teamJoined(String teamName, double purse) {
+        TeamStanding previous = teams.put(teamName, new TeamStanding(teamName, purse));
+        if (previous != null && !previous.roster.isEmpty()) {
+            rebuildTopBuys();
+        }
+        dirtyTeams.add(teamName);
+    }
+
+    @Override
+    public void lotOpened(int lotIndex, int playerId, String playerName, double basePrice,
+                          String playerType, String nationality) {
+        openLots.put(playerId, new AuctionStore.Player(playerId, playerName, playerType, nationality, basePrice));
+    }
+
+    @Override
+    public void playerSold(int playerId, String teamName, double price, boolean overseas) {
+        AuctionStore.Player player = openLots.remove(playerId);
+        TeamStanding team = teams.computeIfAbsent(teamName, name -> new TeamStanding(name, 0));
+        soldIds.add(playerId);
+        team.purse -= price;
+        if (player != null) {
+            addToRoster(team, new AuctionStore.RosterEntry(player.id(), player.name(), player.type(),
+                player.nationality(), player.basePrice(), price));
+        } else {
+            // Lot details unknown (opened before the replay window), so only the totals can move
+            team.spent += price;
+            team.players++;
+            if (overseas) team.overseas++;
+        }
+        dirtyTeams.add(teamName);
+    }
+
+    @Override
+    public void playerUnsold(int playerId) {
+        openLots.remove(playerId);
+        passedLots++;
+    }
+
+    // ---- queries ----
+
+    boolean isSold(int playerId) {
+        return soldIds.contains(playerId);
+    }
+
+    /** A copy of the team's roster, most expensive purchase first. */
+    List<AuctionStore.RosterEntry> roster(String teamName) {
+        TeamStanding team = teams.get(teamName);
+        return team == null ? new ArrayList<>() : new ArrayList<>(team.roster);
+    }
+
+    /**
+     * An immutable copy of the table. Only teams that changed since the previous call are
+     * copied again, so publishing after every event stays cheap.
+     */
+    StandingsView view() {
+        Map<String, StandingsView.TeamView> views = new LinkedHashMap<>();
+        for (TeamStanding team : teams.values()) {
+            StandingsView.TeamView previous = lastView.teams().get(team.name);
+            if (previous != null && !dirtyTeams.contains(team.name)) {
+                views.put(team.name, previous);
+            } else {
+                views.put(team.name, new StandingsView.TeamView(team.name, team.purse, team.spent, team.players,
+                    team.overseas, Collections.unmodifiableMap(new TreeMap<>(team.byType)), List.copyOf(team.roster)));
+            }
+        }
+        dirtyTeams.clear();
+        lastView = new StandingsView(lastView.version() + 1, Collections.unmodifiableMap(views),
+            List.copyOf(topBuys), lotCount - soldIds.size(), passedLots);
+        return lastView;
+    }
+
+    // ---- internals ----
+
+    private void addToRoster(TeamStanding team, AuctionStore.RosterEntry entry) {
+        int index = team.roster.size();
+        while (index > 0 && team.roster.get(index - 1).bidAmount() < entry.bidAmount()) {
+            index--;
+        }
+        team.roster.add(index, entry);
+        team.spent += entry.bidAmount();
+        team.players++;
+        if (!entry.nationality().equalsIgnoreCase("India")) {
+            team.overseas++;
+        }
+        team.byType.merge(entry.playerType(), 1, Integer::sum);
+        offerTopBuy(new StandingsView.Purchase(team.name, entry));
+    }
+
+    private void offerTopBuy(StandingsView.Purchase purchase) {
+        double price = purchase.player().bidAmount();
+        if (topBuys.size() == TOP_BUYS && topBuys.get(TOP_BUYS - 1).player().bidAmount() >= price) {
+            return;
+        }
+        int index = topBuys.size();
+        while (index > 0 && topBuys.get(index - 1).player().bidAmount() < price) {
+            index--;
+        }
+        topBuys.add(index, purchase);
+        if (topBuys.size() > TOP_BUYS) {
+            topBuys.remove(TOP_BUYS);
+        }
+    }
+
+    /** A team that rejoined with an empty roster takes its purchases out of the top buys. */
+    private void rebuildTopBuys() {
+        topBuys.clear();
+        for (TeamStanding team : teams.values()) {
+            for (AuctionStore.RosterEntry entry : team.roster) {
+                offerTopBuy(new StandingsView.Purchase(team.name, entry));
+            }
+        }
+    }
+}
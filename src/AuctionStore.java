@@ -0,0 +1,82 @@
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Persistence used by the auction server: the player catalog, sales and team rosters.
+ *
+ * Implementations must be safe to call from the bid engine and from client handler
+ * threads at the same time.
+ */
+interface AuctionStore extends AutoCloseable {
+
+    record Player(int id, String name, String type, String nationality, double basePrice) {
+        boolean isOverseas() {
+            return !nationality.equalsIgnoreCase("India");
+        }
+    }
+
+    record RosterEntry(int playerId, String playerName, String playerType, String nationality,
+                       double basePrice, double bidAmount) {}
+
+    /** Receives the catalog one player at a time from {@link #forEachPlayer}. */
+    interface PlayerVisitor {
+        void visit(Player player, boolean sold) throws IOException;
+    }
+
+    class StoreException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        StoreException(String message) {
+            super(message);
+        }
+
+        StoreException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    /**
+     * Discards the catalog and every roster, then loads the given players in batches,
+     * assigning fresh ids. The players are consumed as a stream and never held all at once.
+     *
+     * @return the number of players loaded
+     */
+    int replaceCatalog(Iterator<Player> players) throws StoreException;
+
+    /** Ids of every player not yet sold, most expensive first. */
+    List<Integer> loadAvailablePlayerIds() throws StoreException;
+
+    /** @return the player, or {@code null} if no player has that id */
+    Player loadPlayer(int playerId) throws StoreException;
+
+    /** Loads several players in one round trip; ids with no player are left out of the map. */
+    Map<Integer, Player> loadPlayers(List<Integer> playerIds) throws StoreException;
+
+    /**
+     * Marks every player available again and empties every roster, ready for a new auction
+     * over the same catalog.
+     */
+    void resetSales() throws StoreException;
+
+    /**
+     * Makes sure the team has a roster, emptying it first when {@code reset} is set.
+     */
+    void registerTeam(String teamName, boolean reset) throws StoreException;
+
+    /** Marks the player sold and adds them to the buying team's roster. */
+    void recordSale(Player player, String teamName, double price) throws StoreException;
+
+    /** The team's roster, most expensive purchase first. */
+    List<RosterEntry> loadRoster(String teamName) throws StoreException;
+
+    /**
+     * Walks the whole catalog in id order with each player's sale status, without
+     * materializing it, so it can be exported however large it is.
+     */
+    void forEachPlayer(PlayerVisitor visitor) throws StoreException, IOException;
+
+    @Override
+    void close();
+}
@@ -0,0 +1,254 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.logging.Logger;
+
+/**
+ * Streams players out of a CSV catalog one row at a time, validating each row and
+ * normalizing its type to one of the values the {@code players.type} column accepts.
+ *
+ * The file needs a header row naming at least the {@code name}, {@code type},
+ * {@code nationality} and {@code base_price_inr} columns, in any order. Rows that
+ * cannot be imported are counted and skipped rather than failing the whole import.
+ */
+class CatalogImporter implements Iterator<AuctionStore.Player>, AutoCloseable {
+    private static final Logger logger = Logger.getLogger(CatalogImporter.class.getName());
+
+    static final String DEFAULT_CATALOG = "data/players.csv";
+    private static final int MAX_LOGGED_REJECTIONS = 10;
+
+    private final Path path;
+    private final BufferedReader reader;
+    private final int nameColumn;
+    private final int typeColumn;
+    private final int nationalityColumn;
+    private final int priceColumn;
+
+    private AuctionStore.Player next;
+    private int lineNumber = 1;
+    private int accepted;
+    private int rejected;
+    private int normalized;
+    private final long startNanos = System.nanoTime();
+
+    private CatalogImporter(Path path) throws IOException {
+        this.path = path;
+        this.reader = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+
+        String header = reader.readLine();
+        if (header == null) {
+            reader.close();
+            throw new IOException("Catalog " + path + " is empty");
+        }
+        List<String> columns = parseLine(header.replace("\uFEFF", ""));
+        nameColumn = column(columns, "name");
+        typeColumn = column(columns, "type");
+        nationalityColumn = column(columns, "nationality");
+        priceColumn = columns.contains("base_price") ? column(columns, "base_price")
+                                                     : column(columns, "base_price_inr");
+    }
+
+    public static CatalogImporter open(Path path) throws IOException {
+        return new CatalogImporter(path);
+    }
+
+    /**
+     * The bundled seed catalog, found relative to the working directory or, when run
+     * from {@code bin/} by the start scripts, its parent.
+     */
+    public static Path defaultCatalog() {
+        Path path = Paths.get(DEFAULT_CATALOG);
+        if (!Files.exists(path) && Files.exists(Paths.get("..").resolve(DEFAULT_CATALOG))) {
+            return Paths.get("..").resolve(DEFAULT_CATALOG);
+        }
+        return path;
+    }
+
+    private int column(List<String> columns, String name) throws IOException {
+        int index = columns.indexOf(name);
+        if (index < 0) {
+            reader.close();
+            throw new IOException("Catalog " + path + " has no '" + name + "' column");
+        }
+        return index;
+    }
+
+    // ---- Iterator ----
+
+    @Override
+    public boolean hasNext() {
+        if (next != null) return true;
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) continue;
+                next = parsePlayer(line);
+                if (next != null) {
+                    accepted++;
+                    return true;
+                }
+            }
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading catalog " + path, e);
+        }
+    }
+
+    @Override
+    public AuctionStore.Player next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        AuctionStore.Player player = next;
+        next = null;
+        return player;
+    }
+
+    @Override
+    public void close() {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            logger.warning("Error closing catalog " + path + ": " + e.getMessage());
+        }
+    }
+
+    public int getAccepted() {
+        return accepted;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    /** Rows whose type was rewritten to its canonical form. */
+    public int getNormalized() {
+        return normalized;
+    }
+
+    public String summary() {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        return String.format("Imported %,d players from %s in %.2f s (%,.0f rows/sec); %,d normalized, %,d rejected",
+            accepted, path, seconds, accepted / Math.max(seconds, 1e-9), normalized, rejected);
+    }
+
+    // ---- rows ----
+
+    private AuctionStore.Player parsePlayer(String line) {
+        List<String> fields = parseLine(line);
+        int needed = Math.max(Math.max(nameColumn, typeColumn), Math.max(nationalityColumn, priceColumn));
+        if (fields.size() <= needed) {
+            return reject("expected at least " + (needed + 1) + " columns");
+        }
+
+        String name = fields.get(nameColumn).trim();
+        String rawType = fields.get(typeColumn).trim();
+        String nationality = fields.get(nationalityColumn).trim();
+        if (name.isEmpty() || name.length() > 100) {
+            return reject("name must be 1-100 characters");
+        }
+        if (nationality.isEmpty() || nationality.length() > 50) {
+            return reject("nationality must be 1-50 characters");
+        }
+
+        String type = normalizeType(rawType);
+        if (type == null) {
+            return reject("unknown player type '" + rawType + "'");
+        }
+        if (!type.equals(rawType)) {
+            normalized++;
+        }
+
+        double basePrice;
+        try {
+            basePrice = Double.parseDouble(fields.get(priceColumn).trim());
+        } catch (NumberFormatException e) {
+            return reject("base price '" + fields.get(priceColumn) + "' is not a number");
+        }
+        if (!(basePrice > 0) || basePrice >= 1e8) {
+            return reject("base price must be positive and below 100,000,000");
+        }
+
+        return new AuctionStore.Player(0, name, type, nationality, basePrice);
+    }
+
+    private AuctionStore.Player reject(String reason) {
+        rejected++;
+        if (rejected <= MAX_LOGGED_REJECTIONS) {
+            logger.warning(path + " line " + lineNumber + " skipped: " + reason);
+        }
+        return null;
+    }
+
+    /**
+     * Maps free-form role descriptions such as "Left-hand Wicket-keeper" or
+     * "Right-arm Fast Bowler" onto BATTER, BOWLER, ALL-ROUNDER or WICKETKEEPER.
+     *
+     * @return the canonical type, or {@code null} if the role is not recognised
+     */
+    static String normalizeType(String rawType) {
+        String type = rawType.toUpperCase(Locale.ROOT).replace('_', '-');
+        switch (type) {
+            case "BATTER":
+            case "BOWLER":
+            case "ALL-ROUNDER":
+            case "WICKETKEEPER":
+                return type;
+            default:
+                break;
+        }
+
+        String compact = type.replace("-", "").replace(" ", "");
+        if (compact.contains("KEEPER") || compact.equals("WK")) {
+            return "WICKETKEEPER";
+        }
+        if (compact.contains("ALLROUNDER") || compact.equals("AR")) {
+            return "ALL-ROUNDER";
+        }
+        if (compact.contains("BOWL") || compact.contains("SPIN") || compact.contains("PACE") ||
+            compact.contains("SEAM")) {
+            return "BOWLER";
+        }
+        if (compact.contains("BAT")) {
+            return "BATTER";
+        }
+        return null;
+    }
+
+    /** Splits one CSV line, honouring double-quoted fields and doubled quotes inside them. */
+    static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
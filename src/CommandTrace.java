@@ -0,0 +1,157 @@
+import java.util.concurrent.atomic.AtomicLong;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder events for the stages a client command goes through on the server:
+ * decoding the line, validating a bid, persisting a sale and fanning the result out to
+ * every team. Record an auction with
+ * {@code java -XX:StartFlightRecording=filename=auction.jfr Server2 ...} (or
+ * {@code jcmd <pid> JFR.start}) and open the file in JDK Mission Control, or run
+ * {@code jfr print --events auction.Validate auction.jfr}, to see which stage a slow
+ * command spent its time in.
+ *
+ * Every event carries the id the server gave the command, the client's sequence number
+ * (-1 for a legacy unsequenced command), the team and the lot. Stages pick the first
+ * three up from the command running on the same thread; stages run from a timer rather
+ * than a command, such as an auto-finalized sale, have command id 0.
+ *
+ * When no recording is running, an event costs a begin/end pair and a disabled check,
+ * and its fields are never filled in.
+ */
+final class CommandTrace {
+    private static final AtomicLong nextCommandId = new AtomicLong();
+
+    /** The command being run on this thread, if any. */
+    private static final ThreadLocal<Context> context = ThreadLocal.withInitial(Context::new);
+
+    private static final class Context {
+        long commandId;
+        long seq = -1;
+        String team = "";
+    }
+
+    private CommandTrace() {}
+
+    // The stage says where it was recorded, so a stack walk per event would be wasted
+    @Category({"Auction", "Commands"})
+    @StackTrace(false)
+    abstract static class Stage extends Event {
+        @Label("Command Id")
+        @Description("Server-assigned id of the command that caused this stage; 0 for timers")
+        long commandId;
+
+        @Label("Sequence Number")
+        @Description("The client's sequence number, or -1 for an unsequenced command")
+        long seq;
+
+        @Label("Team")
+        String team;
+
+        @Label("Lot")
+        int lot;
+    }
+
+    @Name("auction.Command")
+    @Label("Command")
+    @Description("One client command, from reading its line to having its answer")
+    static final class Command extends Stage {
+        @Label("Command")
+        String command;
+
+        @Label("Accepted")
+        boolean accepted;
+    }
+
+    @Name("auction.Decode")
+    @Label("Decode")
+    @Description("Splitting a command line into its sequence number and command")
+    static final class Decode extends Stage {}
+
+    @Name("auction.Validate")
+    @Label("Validate Bid")
+    @Description("Checking a bid against the standing bid, the purse and the squad limits")
+    static final class Validate extends Stage {
+        @Label("Amount")
+        double amount;
+
+        @Label("Rejection")
+        String rejection;
+    }
+
+    @Name("auction.Persist")
+    @Label("Persist Sale")
+    @Description("Recording a sale in the store and the journal")
+    static final class Persist extends Stage {
+        @Label("Player Id")
+        int playerId;
+
+        @Label("Price")
+        double price;
+    }
+
+    @Name("auction.Fanout")
+    @Label("Broadcast")
+    @Description("Queuing one message for every connected team")
+    static final class Fanout extends Stage {
+        @Label("Message Type")
+        String messageType;
+
+        @Label("Recipients")
+        int recipients;
+    }
+
+    /** Starts a command on this thread; stages it causes are tagged with it until {@link #finish}. */
+    static Command start(String team) {
+        Context current = context.get();
+        current.commandId = nextCommandId.incrementAndGet();
+        current.seq = -1;
+        current.team = team != null ? team : "";
+        Command event = new Command();
+        event.begin();
+        return event;
+    }
+
+    /** Notes the sequence number once the line is decoded. */
+    static void decoded(Decode event, long seq, int lot) {
+        context.get().seq = seq;
+        commit(event, lot);
+    }
+
+    /** Ends the command; {@code team} is who sent it by the end, e.g. after a LOGIN. */
+    static void finish(Command event, String team, String command, boolean accepted, int lot) {
+        event.end();
+        Context current = context.get();
+        if (event.shouldCommit()) {
+            current.team = team != null ? team : "";
+            event.command = command;
+            event.accepted = accepted;
+            tag(event, current, lot);
+            event.commit();
+        }
+        current.commandId = 0;
+        current.seq = -1;
+        current.team = "";
+    }
+
+    /** Ends a stage and records it, if a recording wants it, against the current command. */
+    static void commit(Stage event, int lot) {
+        event.end();
+        if (event.shouldCommit()) {
+            tag(event, context.get(), lot);
+            event.commit();
+        }
+    }
+
+    private static void tag(Stage event, Context current, int lot) {
+        event.commandId = current.commandId;
+        event.seq = current.seq;
+        event.team = current.team;
+        event.lot = lot;
+    }
+}
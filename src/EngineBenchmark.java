@@ -0,0 +1,225 @@
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Throughput baselines for the hot paths of the auction engine and protocol.
+ *
+ * Usage: {@code java EngineBenchmark [--filter=<name part>] [--warmup=5] [--iterations=10] [--iteration-ms=500]}
+ *
+ * Each benchmark runs for a number of warmup iterations and then a number of measured ones
+ * of fixed length, and reports the mean rate with its spread across iterations, so two runs
+ * can be compared the way JMH results would be. The engine is driven in this JVM against
+ * mock teams that write to nowhere, with no store, journal or sockets; fan-out therefore
+ * measures the server's own cost per recipient, not the network's.
+ */
+public class EngineBenchmark {
+    private static final String[] SERVER_LINES = {
+        "NEW_PLAYER:Virat Kohli:200.00:Type:BATTER:Nationality:Indian",
+        "NEW_BID:Mumbai Indians:350.00",
+        "PLAYER_SOLD:Mumbai Indians:350.00:Remaining purse: 11650.00",
+        "FINALIZATION_PROGRESS:3/8",
+        "TEAM_READY:Chennai Super Kings",
+        "PLAYER_UNSOLD:Kyle Jamieson",
+    };
+
+    private interface Operation {
+        /** Runs one operation and returns something derived from it, so it cannot be optimized away. */
+        long run() throws Exception;
+    }
+
+    private final int warmup;
+    private final int iterations;
+    private final long iterationNanos;
+    private final String filter;
+    private int measured;
+    private volatile long sink;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new TreeMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) continue;
+            int eq = arg.indexOf('=');
+            options.put(eq < 0 ? arg.substring(2) : arg.substring(2, eq), eq < 0 ? "true" : arg.substring(eq + 1));
+        }
+        new EngineBenchmark(options).run();
+        // The engine's scheduler threads are not daemons
+        System.exit(0);
+    }
+
+    EngineBenchmark(Map<String, String> options) {
+        this.warmup = Integer.parseInt(options.getOrDefault("warmup", "5"));
+        this.iterations = Integer.parseInt(options.getOrDefault("iterations", "10"));
+        this.iterationNanos = Long.parseLong(options.getOrDefault("iteration-ms", "500")) * 1_000_000;
+        this.filter = options.getOrDefault("filter", "");
+    }
+
+    void run() throws Exception {
+        // Per-bid INFO logging would measure the console
+        Class.forName("Server2");
+        Logger.getLogger(Server2.class.getName()).setLevel(Level.WARNING);
+        PrintWriter nowhere = new PrintWriter(Writer.nullWriter(), true);
+        AuctionStore.Player indian = new AuctionStore.Player(1, "Virat Kohli", "BATTER", "Indian", 200);
+        AuctionStore.Player overseas = new AuctionStore.Player(2, "Jos Buttler", "WICKETKEEPER", "England", 200);
+
+        System.out.printf("%-36s %8s %16s %12s%n", "Benchmark", "Threads", "ops/s", "ns/op");
+
+        // ---- engine ----
+        Server2.openLotForBenchmark(overseas, teams(8), nowhere);
+        measure("validateTeamConstraints", 1, () -> Server2.validateTeamConstraints("Team 1", overseas) == null ? 1 : 0);
+
+        for (int threads : new int[] {1, 2, 4, 8}) {
+            Server2.openLotForBenchmark(indian, teams(8), nowhere);
+            AtomicLong nextBid = new AtomicLong(1_000);
+            LongAdder accepted = new LongAdder();
+            // Threads race for the next amount, so some bids land behind a higher one and are rejected
+            measure("handleBid (8 teams)", threads, index -> () -> {
+                boolean won = Server2.handleBid("Team " + (index % 8), nextBid.addAndGet(10)).accepted();
+                if (won) accepted.increment();
+                return won ? 1 : 0;
+            });
+            if (accepted.sum() > 0) {
+                System.out.printf("%-36s %8s %16s%n", "", "", String.format("(%.0f%% accepted)",
+                    100.0 * accepted.sum() / ((nextBid.get() - 1_000) / 10)));
+            }
+        }
+
+        Server2.openLotForBenchmark(indian, teams(8), nowhere);
+        measure("restartBiddingTimer", 1, () -> {
+            Server2.restartBiddingTimer();
+            return 1;
+        });
+
+        for (int recipients : new int[] {10, 100, 1_000}) {
+            Server2.openLotForBenchmark(indian, teams(recipients), nowhere);
+            measure("broadcast (" + recipients + " teams)", 1, () -> {
+                Server2.broadcast("NEW_BID:Team 1:350.00");
+                return recipients;
+            });
+        }
+
+        // ---- protocol ----
+        Server2.openLotForBenchmark(indian, teams(8), nowhere);
+        Server2.ClientHandler handler = new Server2.ClientHandler("Team 1", nowhere);
+        long[] seq = {0};
+        measure("processMessage legacy BID (rejected)", 1, () -> {
+            handler.processMessage("BID:10.0");
+            return 1;
+        });
+        measure("processMessage sequenced STATE", 1, () -> {
+            handler.processMessage(++seq[0] + "#STATE");
+            return seq[0];
+        });
+
+        // ---- client ----
+        int[] line = {0};
+        measure("AuctionEvent.parse", 1, () -> {
+            line[0] = (line[0] + 1) % SERVER_LINES.length;
+            return AuctionEvent.parse(SERVER_LINES[line[0]]).hashCode();
+        });
+
+        if (measured == 0) {
+            System.out.println("No benchmark matches --filter=" + filter);
+        }
+    }
+
+    private static List<String> teams(int count) {
+        List<String> teams = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            teams.add("Team " + i);
+        }
+        return teams;
+    }
+
+    private void measure(String name, int threads, Operation operation) throws Exception {
+        measure(name, threads, index -> operation);
+    }
+
+    /**
+     * Runs {@code threads} copies of an operation together for each iteration; {@code perThread}
+     * builds the copy for each thread index.
+     */
+    private void measure(String name, int threads, IntFunction<Operation> perThread) throws Exception {
+        if (!name.toLowerCase().contains(filter.toLowerCase())) return;
+
+        Operation[] operations = new Operation[threads];
+        for (int i = 0; i < threads; i++) {
+            operations[i] = perThread.apply(i);
+        }
+        for (int i = 0; i < warmup; i++) {
+            iteration(operations);
+        }
+        double[] rates = new double[iterations];
+        for (int i = 0; i < iterations; i++) {
+            rates[i] = iteration(operations);
+        }
+
+        double mean = 0;
+        for (double rate : rates) mean += rate;
+        mean /= rates.length;
+        double variance = 0;
+        for (double rate : rates) variance += (rate - mean) * (rate - mean);
+        double error = rates.length > 1 ? Math.sqrt(variance / (rates.length - 1)) : 0;
+
+        measured++;
+        System.out.printf("%-36s %8d %16s %12.1f%n", name, threads, String.format("%,.0f", mean),
+            threads * 1e9 / mean);
+        if (error > mean * 0.1) {
+            System.out.printf("%-36s %8s %16s%n", "", "", String.format("(± %,.0f)", error));
+        }
+    }
+
+    /** @return operations per second across all threads for one iteration */
+    private double iteration(Operation[] operations) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        long[] counts = new long[operations.length];
+        Exception[] failure = new Exception[1];
+        Thread[] workers = new Thread[operations.length];
+        long[] window = new long[2];
+
+        for (int t = 0; t < operations.length; t++) {
+            int index = t;
+            workers[t] = new Thread(() -> {
+                long local = 0;
+                long ops = 0;
+                try {
+                    start.await();
+                    long deadline = window[0] + iterationNanos;
+                    // Check the clock every 64 calls so it doesn't dominate sub-microsecond operations
+                    do {
+                        for (int i = 0; i < 64; i++) {
+                            local += operations[index].run();
+                        }
+                        ops += 64;
+                    } while (System.nanoTime() < deadline);
+                } catch (Exception e) {
+                    failure[0] = e;
+                }
+                counts[index] = ops;
+                sink += local;
+            }, "bench-" + t);
+            workers[t].start();
+        }
+
+        window[0] = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        window[1] = System.nanoTime();
+        if (failure[0] != null) throw failure[0];
+
+        long total = 0;
+        for (long count : counts) total += count;
+        return total * 1e9 / (window[1] - window[0]);
+    }
+}
@@ -0,0 +1,151 @@
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link AuctionStore} stand-in for soak tests: passes calls through to the store it wraps,
+ * but once {@linkplain #arm() armed} fails a fraction of them with a {@link StoreException}
+ * and holds up another fraction, the way a flaky database would. It also counts the calls
+ * that have started and not yet returned, the stand-in's open statements, which must not
+ * climb however long the server runs.
+ */
+class FaultInjectingStore implements AuctionStore {
+    private final AuctionStore store;
+    private final double failureRate;
+    private final double slowRate;
+    private final long slowMillis;
+    private final Random random;
+    private final LongAdder inFlight = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder delays = new LongAdder();
+    private volatile boolean armed;
+
+    /**
+     * @param failureRate fraction of calls that fail
+     * @param slowRate fraction of calls held up for {@code slowMillis} before they run
+     */
+    FaultInjectingStore(AuctionStore store, double failureRate, double slowRate, long slowMillis, long seed) {
+        this.store = store;
+        this.failureRate = failureRate;
+        this.slowRate = slowRate;
+        this.slowMillis = slowMillis;
+        this.random = new Random(seed);
+    }
+
+    /** Starts injecting faults, e.g. once the server is up; until then every call passes straight through. */
+    void arm() {
+        armed = true;
+    }
+
+    long inFlight() {
+        return inFlight.sum();
+    }
+
+    long failures() {
+        return failures.sum();
+    }
+
+    long delays() {
+        return delays.sum();
+    }
+
+    private interface Call<T> {
+        T run() throws StoreException;
+    }
+
+    private <T> T faulty(String operation, Call<T> call) throws StoreException {
+        inFlight.increment();
+        try {
+            inject(operation);
+            return call.run();
+        } finally {
+            inFlight.decrement();
+        }
+    }
+
+    private void inject(String operation) throws StoreException {
+        if (!armed) return;
+        double roll = random.nextDouble();
+        if (roll < failureRate) {
+            failures.increment();
+            throw new StoreException("Injected failure in " + operation);
+        }
+        if (roll < failureRate + slowRate) {
+            delays.increment();
+            try {
+                Thread.sleep(slowMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new StoreException("Interrupted in " + operation, e);
+            }
+        }
+    }
+
+    @Override
+    public int replaceCatalog(Iterator<Player> players) throws StoreException {
+        return store.replaceCatalog(players);
+    }
+
+    @Override
+    public List<Integer> loadAvailablePlayerIds() throws StoreException {
+        return faulty("loadAvailablePlayerIds", store::loadAvailablePlayerIds);
+    }
+
+    @Override
+    public Player loadPlayer(int playerId) throws StoreException {
+        return faulty("loadPlayer", () -> store.loadPlayer(playerId));
+    }
+
+    @Override
+    public Map<Integer, Player> loadPlayers(List<Integer> playerIds) throws StoreException {
+        return faulty("loadPlayers", () -> store.loadPlayers(playerIds));
+    }
+
+    @Override
+    public void resetSales() throws StoreException {
+        faulty("resetSales", () -> {
+            store.resetSales();
+            return null;
+        });
+    }
+
+    @Override
+    public void registerTeam(String teamName, boolean reset) throws StoreException {
+        faulty("registerTeam", () -> {
+            store.registerTeam(teamName, reset);
+            return null;
+        });
+    }
+
+    @Override
+    public void recordSale(Player player, String teamName, double price) throws StoreException {
+        faulty("recordSale", () -> {
+            store.recordSale(player, teamName, price);
+            return null;
+        });
+    }
+
+    @Override
+    public List<RosterEntry> loadRoster(String teamName) throws StoreException {
+        return faulty("loadRoster", () -> store.loadRoster(teamName));
+    }
+
+    @Override
+    public void forEachPlayer(PlayerVisitor visitor) throws StoreException, IOException {
+        inFlight.increment();
+        try {
+            inject("forEachPlayer");
+            store.forEachPlayer(visitor);
+        } finally {
+            inFlight.decrement();
+        }
+    }
+
+    @Override
+    public void close() {
+        store.close();
+    }
+}
@@ -0,0 +1,249 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Embedded {@link AuctionStore} that keeps everything in memory and persists it as
+ * plain files in one directory, for single-box events and offline runs without MySQL.
+ *
+ * {@code players.tsv} holds the catalog and is rewritten only by an import; {@code sales.log}
+ * is an append-only log of sales and roster resets that is replayed on open. An empty
+ * store is seeded from the bundled CSV catalog.
+ */
+class FileAuctionStore implements AuctionStore {
+    private static final Logger logger = Logger.getLogger(FileAuctionStore.class.getName());
+
+    private static final String CATALOG_FILE = "players.tsv";
+    private static final String SALES_FILE = "sales.log";
+
+    private final Path directory;
+    private final Map<Integer, Player> catalog = new LinkedHashMap<>();
+    private final Set<Integer> soldIds = new HashSet<>();
+    private final Map<String, List<RosterEntry>> rosters = new HashMap<>();
+    private BufferedWriter salesLog;
+
+    private FileAuctionStore(Path directory) throws IOException {
+        this.directory = directory;
+        Path catalogFile = directory.resolve(CATALOG_FILE);
+        if (Files.exists(catalogFile)) {
+            readCatalog(catalogFile);
+        }
+
+        Path salesFile = directory.resolve(SALES_FILE);
+        if (Files.exists(salesFile)) {
+            replaySales(salesFile);
+        }
+        salesLog = Files.newBufferedWriter(salesFile, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    public static FileAuctionStore open(Path directory) throws StoreException {
+        try {
+            Files.createDirectories(directory);
+            FileAuctionStore store = new FileAuctionStore(directory);
+            Path seed = CatalogImporter.defaultCatalog();
+            if (store.catalog.isEmpty() && Files.exists(seed)) {
+                try (CatalogImporter importer = CatalogImporter.open(seed)) {
+                    store.replaceCatalog(importer);
+                    logger.info(importer.summary());
+                }
+            }
+            logger.info("Opened embedded store in " + directory.toAbsolutePath() + " (" +
+                        store.catalog.size() + " players, " + store.soldIds.size() + " sold)");
+            return store;
+        } catch (IOException e) {
+            throw new StoreException("Unable to open embedded store in " + directory + ": " + e.getMessage(), e);
+        }
+    }
+
+    // ---- AuctionStore ----
+
+    /**
+     * Writes the new catalog to a temporary file and moves it over {@code players.tsv} in
+     * one step; only then are the sales log and the in-memory catalog replaced. An import
+     * that fails part-way leaves the old catalog and its sales as they were.
+     */
+    @Override
+    public synchronized int replaceCatalog(Iterator<Player> players) throws StoreException {
+        Path staged = directory.resolve(CATALOG_FILE + ".tmp");
+        Map<Integer, Player> imported = new LinkedHashMap<>();
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(staged, StandardCharsets.UTF_8)) {
+                while (players.hasNext()) {
+                    Player source = players.next();
+                    Player player = new Player(imported.size() + 1, source.name(), source.type(),
+                        source.nationality(), source.basePrice());
+                    imported.put(player.id(), player);
+                    writeCatalogLine(writer, player);
+                }
+            }
+            Files.move(staged, directory.resolve(CATALOG_FILE),
+                StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | UncheckedIOException e) {
+            try {
+                Files.deleteIfExists(staged);
+            } catch (IOException cleanup) {
+                e.addSuppressed(cleanup);
+            }
+            throw new StoreException("Unable to import catalog: " + e.getMessage(), e);
+        }
+
+        catalog.clear();
+        catalog.putAll(imported);
+        resetSales();
+        return catalog.size();
+    }
+
+    @Override
+    public synchronized List<Integer> loadAvailablePlayerIds() {
+        List<Integer> ids = new ArrayList<>();
+        catalog.values().stream()
+            .filter(player -> !soldIds.contains(player.id()))
+            .sorted(Comparator.comparingDouble(Player::basePrice).reversed())
+            .forEach(player -> ids.add(player.id()));
+        return ids;
+    }
+
+    @Override
+    public synchronized Player loadPlayer(int playerId) {
+        return catalog.get(playerId);
+    }
+
+    @Override
+    public synchronized Map<Integer, Player> loadPlayers(List<Integer> playerIds) {
+        Map<Integer, Player> players = new HashMap<>();
+        for (int id : playerIds) {
+            Player player = catalog.get(id);
+            if (player != null) {
+                players.put(id, player);
+            }
+        }
+        return players;
+    }
+
+    @Override
+    public synchronized void resetSales() throws StoreException {
+        soldIds.clear();
+        rosters.clear();
+        try {
+            salesLog.close();
+            salesLog = Files.newBufferedWriter(directory.resolve(SALES_FILE), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new StoreException("Unable to reset sales log: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public synchronized void registerTeam(String teamName, boolean reset) throws StoreException {
+        if (reset) {
+            appendSalesLine("R\t" + clean(teamName));
+            rosters.remove(teamName);
+        }
+        rosters.computeIfAbsent(teamName, name -> new ArrayList<>());
+    }
+
+    @Override
+    public synchronized void recordSale(Player player, String teamName, double price) throws StoreException {
+        appendSalesLine("S\t" + player.id() + "\t" + clean(teamName) + "\t" + price);
+        applySale(player.id(), teamName, price);
+    }
+
+    @Override
+    public synchronized List<RosterEntry> loadRoster(String teamName) {
+        List<RosterEntry> roster = new ArrayList<>(rosters.getOrDefault(teamName, List.of()));
+        roster.sort(Comparator.comparingDouble(RosterEntry::bidAmount).reversed());
+        return roster;
+    }
+
+    @Override
+    public synchronized void forEachPlayer(PlayerVisitor visitor) throws IOException {
+        for (Player player : catalog.values()) {
+            visitor.visit(player, soldIds.contains(player.id()));
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            salesLog.close();
+        } catch (IOException e) {
+            logger.warning("Error closing embedded store: " + e.getMessage());
+        }
+    }
+
+    // ---- files ----
+
+    private void appendSalesLine(String line) throws StoreException {
+        try {
+            salesLog.write(line);
+            salesLog.newLine();
+            salesLog.flush();
+        } catch (IOException e) {
+            throw new StoreException("Unable to write sales log: " + e.getMessage(), e);
+        }
+    }
+
+    private void applySale(int playerId, String teamName, double price) {
+        Player player = catalog.get(playerId);
+        if (player == null) {
+            logger.warning("Sale of unknown player id " + playerId + " ignored");
+            return;
+        }
+        soldIds.add(playerId);
+        rosters.computeIfAbsent(teamName, name -> new ArrayList<>()).add(new RosterEntry(
+            playerId, player.name(), player.type(), player.nationality(), player.basePrice(), price));
+    }
+
+    private void replaySales(Path salesFile) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(salesFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\t");
+                if (fields[0].equals("S") && fields.length == 4) {
+                    applySale(Integer.parseInt(fields[1]), fields[2], Double.parseDouble(fields[3]));
+                } else if (fields[0].equals("R") && fields.length == 2) {
+                    rosters.remove(fields[1]);
+                }
+            }
+        }
+    }
+
+    private void readCatalog(Path catalogFile) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(catalogFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\t");
+                if (fields.length != 5) continue;
+                Player player = new Player(Integer.parseInt(fields[0]), fields[1], fields[2], fields[3],
+                    Double.parseDouble(fields[4]));
+                catalog.put(player.id(), player);
+            }
+        }
+    }
+
+    private static void writeCatalogLine(BufferedWriter writer, Player player) throws IOException {
+        writer.write(player.id() + "\t" + clean(player.name()) + "\t" + clean(player.type()) + "\t" +
+                     clean(player.nationality()) + "\t" + player.basePrice());
+        writer.newLine();
+    }
+
+    private static String clean(String value) {
+        return value.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+}
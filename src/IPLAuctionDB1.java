@@ -0,0 +1,131 @@
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+class IPLAuctionDB1 {
+    // Override with -Dauction.db.url=... or the AUCTION_DB_URL environment variable (likewise USER, PASSWORD, NAME)
+    private static final String URL = config("url", "jdbc:mysql://localhost:3306/");
+    private static final String USER = config("user", "root");
+    private static final String PASSWORD = config("password", "your_password");
+    private static final String DB_NAME = config("name", "ipl_auction_2025");
+    static final int SCHEMA_VERSION = 1;
+    private static final int ER_BAD_DB_ERROR = 1049; // MySQL: unknown database
+    private static final int ER_NO_SUCH_TABLE = 1146; // MySQL: table doesn't exist
+    
+    private static String config(String key, String defaultValue) {
+        String value = System.getProperty("auction.db." + key);
+        if (value == null) {
+            value = System.getenv("AUCTION_DB_" + key.toUpperCase());
+        }
+        return value != null ? value : defaultValue;
+    }
+    
+    static String describe() {
+        return URL + DB_NAME + " as " + USER;
+    }
+    
+    /**
+     * Opens a separate connection to the auction database that reads result sets through a
+     * server-side cursor, fetching as many rows at a time as the statement's fetch size.
+     */
+    static Connection openCursorConnection() throws SQLException {
+        Connection connection = DriverManager.getConnection(URL + (URL.contains("?") ? "&" : "?") +
+            "useCursorFetch=true", USER, PASSWORD);
+        connection.setCatalog(DB_NAME);
+        return connection;
+    }
+    
+    /**
+     * Connects to the auction database, creating or upgrading the schema only when its
+     * recorded version is older than {@link #SCHEMA_VERSION}. The catalog itself is loaded
+     * by {@link CatalogImporter}.
+     */
+    public static Connection setupDatabase(Connection connection) {
+        try {
+            
+            connection = DriverManager.getConnection(URL + (URL.contains("?") ? "&" : "?") +
+                "rewriteBatchedStatements=true", USER, PASSWORD);
+            
+            int version = schemaVersion(connection);
+            if (version == SCHEMA_VERSION) {
+                return connection;
+            }
+            if (version > SCHEMA_VERSION) {
+                throw new SQLException("Database " + DB_NAME + " has schema version " + version +
+                                       ", newer than this server understands (" + SCHEMA_VERSION + ")");
+            }
+            
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("CREATE DATABASE IF NOT EXISTS " + DB_NAME);
+                statement.executeUpdate("USE " + DB_NAME);
+            
+            
+                String createPlayersTable = """
+                    CREATE TABLE IF NOT EXISTS players (
+                        id INT AUTO_INCREMENT PRIMARY KEY,
+                        name VARCHAR(100) NOT NULL,
+                        type ENUM('BATTER', 'BOWLER', 'ALL-ROUNDER', 'WICKETKEEPER') NOT NULL,
+                        nationality VARCHAR(50) NOT NULL,
+                        base_price_inr DECIMAL(10, 2) NOT NULL,
+                        status ENUM('Available', 'Sold', 'Unsold') DEFAULT 'Available',
+                        age INT,
+                        matches_played INT DEFAULT 0,
+                        created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                        updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+                    )
+                """;
+                statement.executeUpdate(createPlayersTable);
+            
+            
+                String createAuctionLogTable = """
+                    CREATE TABLE IF NOT EXISTS auction_log (
+                        id INT AUTO_INCREMENT PRIMARY KEY,
+                        player_id INT,
+                        team_name VARCHAR(100),
+                        bid_amount DECIMAL(10, 2),
+                        action ENUM('BID', 'SOLD', 'UNSOLD') NOT NULL,
+                        timestamp TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                        FOREIGN KEY (player_id) REFERENCES players(id)
+                    )
+                """;
+                statement.executeUpdate(createAuctionLogTable);
+            
+                // Written last, so an interrupted setup is simply run again on the next start
+                statement.executeUpdate("CREATE TABLE IF NOT EXISTS schema_version (version INT NOT NULL)");
+                statement.executeUpdate("DELETE FROM schema_version");
+                statement.executeUpdate("INSERT INTO schema_version (version) VALUES (" + SCHEMA_VERSION + ")");
+            }
+            
+            System.out.println("Database setup completed successfully! (schema version " + SCHEMA_VERSION + ")");
+            return connection;
+            
+        } catch (SQLException e) {
+            System.err.println("Database setup failed: " + e.getMessage());
+            e.printStackTrace();
+            return null;
+        }
+    }
+    
+    /**
+     * @return the version recorded in the database, or 0 if the database or its
+     *         {@code schema_version} table does not exist yet
+     * @throws SQLException for any other failure to read it
+     */
+    private static int schemaVersion(Connection connection) throws SQLException {
+        try {
+            connection.setCatalog(DB_NAME);
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT MAX(version) FROM schema_version")) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        } catch (SQLException e) {
+            // Anything else, e.g. a lost connection or a denied grant, must not pass for a new database
+            if (e.getErrorCode() == ER_BAD_DB_ERROR || e.getErrorCode() == ER_NO_SUCH_TABLE) {
+                return 0;
+            }
+            throw e;
+        }
+    }
+}
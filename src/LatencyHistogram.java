@@ -0,0 +1,92 @@
+/**
+ * Fixed-memory latency histogram in the style of HdrHistogram: values below 128 get a bucket
+ * each, and every power of two above that is split into 64 equal buckets, so any recorded
+ * value is reported to within about 1.6% whatever its magnitude. Recording is a couple of
+ * shifts and an increment; percentiles are read by walking the buckets.
+ *
+ * Values are plain longs in whatever unit the caller picks; the load tools record
+ * microseconds. Methods are synchronized so one histogram can be shared, but the cheap
+ * pattern is one per thread, {@link #add merged} at the end.
+ */
+class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;        // per power of two
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;            // below this, one bucket per value
+    private static final int BUCKETS = LINEAR_LIMIT + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    synchronized void record(long value) {
+        if (value < 0) value = 0;
+        counts[indexOf(value)]++;
+        count++;
+        sum += value;
+        if (value < min) min = value;
+        if (value > max) max = value;
+    }
+
+    /** Folds another histogram's values into this one. */
+    synchronized void add(LatencyHistogram other) {
+        synchronized (other) {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] += other.counts[i];
+            }
+            count += other.count;
+            sum += other.sum;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+        }
+    }
+
+    synchronized long count() {
+        return count;
+    }
+
+    synchronized long max() {
+        return max;
+    }
+
+    synchronized double mean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * @param percentile 0-100
+     * @return the highest value in the bucket holding that percentile, never more than the true maximum
+     */
+    synchronized long percentile(double percentile) {
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(Math.max(highestIn(i), min), max);
+            }
+        }
+        return max;
+    }
+
+    private static int indexOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        // Keep the top SUB_BUCKET_BITS + 1 bits: shift is how many low bits are dropped
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int sub = (int) (value >>> shift) - SUB_BUCKETS;
+        return LINEAR_LIMIT + (shift - 1) * SUB_BUCKETS + sub;
+    }
+
+    private static long highestIn(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int shift = (index - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+        long sub = (index - LINEAR_LIMIT) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((sub + 1) << shift) - 1;
+    }
+}
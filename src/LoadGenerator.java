@@ -0,0 +1,356 @@
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Stress test for {@link Server2}: simulated teams log in over real sockets, get ready and
+ * fight bidding wars lot after lot, then the run reports per-command latency percentiles,
+ * throughput, the rejected-bid rate and how long each team waited for bid broadcasts.
+ *
+ * Usage: {@code java LoadGenerator [--teams=200] [--lots=20] [--seed=1] [--think-ms=20]
+ * [--interest=0.2] [--quiet-ms=300] [--port=1235] [--connect] [--record=file] [--parallel-lots=1]
+ * [--timer-policy=fixed] [--timers-only]}
+ *
+ * By default a server is started in this JVM on loopback with the embedded store in a
+ * temporary directory, and its bidding timers and lot gap are shortened so lots turn over
+ * quickly. {@code --connect} drives a server that is already running on {@code --port}
+ * instead; {@code --record} has the in-process server record the run for
+ * {@code java Server2 replay}. Each lot, every team is interested with probability
+ * {@code --interest} and then outbids others up to a private ceiling after a random think
+ * time; once no bid has been seen for {@code --quiet-ms}, teams vote to finalize. Runs with the same seed make the
+ * same choices, though their timing differs. With {@code --parallel-lots} the server keeps that many lots
+ * open at once and teams follow each of them separately, so runs can compare lots per hour.
+ * {@code --timers-only} stops teams voting to finalize, so every lot runs until its timers close it,
+ * and runs with each {@code --timer-policy} can compare how long lots take.
+ */
+public class LoadGenerator {
+    private static final double BID_INCREMENT = 10.0; // the server's minimum raise
+
+    private final Map<String, String> options;
+    private final int lots;
+    private final long thinkMillis;
+    private final double interest;
+    private final long quietMillis;
+    private final boolean vote;
+
+    private final ScheduledExecutorService timers = Executors.newScheduledThreadPool(4);
+    private final List<Bot> bots = new ArrayList<>();
+    private final CountDownLatch done = new CountDownLatch(1);
+    private final AtomicInteger lotsOpened = new AtomicInteger();
+    private volatile boolean stopping;
+
+    // When each bid was sent, keyed by NEW_BID's team:amount, to time the broadcast that follows
+    private final Map<String, Long> bidSentAt = new ConcurrentHashMap<>();
+    // From each lot's NEW_PLAYER to its result, in µs, as the first team saw them
+    private final LatencyHistogram soldLots = new LatencyHistogram();
+    private final LatencyHistogram unsoldLots = new LatencyHistogram();
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) continue;
+            int eq = arg.indexOf('=');
+            options.put(eq < 0 ? arg.substring(2) : arg.substring(2, eq), eq < 0 ? "true" : arg.substring(eq + 1));
+        }
+        new LoadGenerator(options).run();
+        // The in-process server never returns from its accept loop
+        System.exit(0);
+    }
+
+    LoadGenerator(Map<String, String> options) {
+        this.options = options;
+        this.lots = Integer.parseInt(options.getOrDefault("lots", "20"));
+        this.thinkMillis = Long.parseLong(options.getOrDefault("think-ms", "20"));
+        this.interest = Double.parseDouble(options.getOrDefault("interest", "0.2"));
+        this.quietMillis = Long.parseLong(options.getOrDefault("quiet-ms", "300"));
+        this.vote = !options.containsKey("timers-only");
+    }
+
+    void run() throws Exception {
+        int teams = Integer.parseInt(options.getOrDefault("teams", "200"));
+        int port = Integer.parseInt(options.getOrDefault("port", "1235"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "1"));
+
+        Path directory = null;
+        if (!options.containsKey("connect")) {
+            directory = Files.createTempDirectory("auction-load");
+            startServer(directory, port, teams);
+        }
+
+        try {
+            System.out.printf("Connecting %d teams to port %d...%n", teams, port);
+            Random seeds = new Random(seed);
+            for (int i = 0; i < teams; i++) {
+                Bot bot = new Bot(String.format("Team %03d", i + 1), new Random(seeds.nextLong()), port);
+                bots.add(bot);
+            }
+            for (Bot bot : bots) {
+                bot.client.connect();
+            }
+            join(bots.stream().map(Bot::login).toList());
+            long started = System.nanoTime();
+            join(bots.stream().map(Bot::ready).toList());
+
+            if (!done.await(Long.parseLong(options.getOrDefault("timeout-s", "600")), TimeUnit.SECONDS)) {
+                System.out.println("Timed out before " + lots + " lots finished");
+            }
+            stopping = true;
+            double seconds = (System.nanoTime() - started) / 1e9;
+            timers.shutdownNow();
+            for (Bot bot : bots) {
+                bot.client.close();
+            }
+            report(teams, seconds);
+        } finally {
+            if (directory != null) {
+                deleteRecursively(directory);
+            }
+        }
+    }
+
+    /** Starts {@link Server2} in this JVM with a compressed auction and waits for it to listen. */
+    private void startServer(Path directory, int port, int teams) throws Exception {
+        String[] args = {
+            "--store=embedded", "--data-dir=" + directory.resolve("store"),
+            "--journal=" + directory.resolve("auction.journal"), "--fresh", "--snapshot-interval=0",
+            "--port=" + port, "--max-clients=" + teams,
+            "--bid-timeout=" + options.getOrDefault("bid-timeout", "5000"),
+            "--finalize-timeout=" + options.getOrDefault("finalize-timeout", "2000"),
+            "--lot-gap=" + options.getOrDefault("lot-gap", "100"),
+            "--record=" + options.getOrDefault("record", ""),
+            "--parallel-lots=" + options.getOrDefault("parallel-lots", "1"),
+            "--timer-policy=" + options.getOrDefault("timer-policy", "fixed"),
+        };
+        // Per-bid INFO logging from hundreds of teams would measure the console, not the server
+        Class.forName("Server2");
+        Logger.getLogger(Server2.class.getName()).setLevel(
+            Level.parse(options.getOrDefault("server-log", "WARNING")));
+
+        Thread server = new Thread(() -> Server2.main(args), "server");
+        server.setDaemon(true);
+        server.start();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (true) {
+            try {
+                new Socket("localhost", port).close();
+                return;
+            } catch (IOException e) {
+                if (System.nanoTime() > deadline) throw new IOException("Server did not start on port " + port, e);
+                Thread.sleep(50);
+            }
+        }
+    }
+
+    private static void join(List<CompletableFuture<AuctionClient.Reply>> replies) {
+        CompletableFuture.allOf(replies.toArray(new CompletableFuture<?>[0])).join();
+    }
+
+    /** One simulated team. Its callbacks all run on its client's reader thread or a timer thread. */
+    private final class Bot {
+        final String team;
+        final Random random;
+        final AuctionClient client;
+        final Map<String, LatencyHistogram> latency = new ConcurrentHashMap<>();
+        final LatencyHistogram broadcastLag = new LatencyHistogram();
+        final AtomicLong bids = new AtomicLong();
+        final AtomicLong rejectedBids = new AtomicLong();
+        final AtomicLong broadcasts = new AtomicLong();
+        final boolean timesLots;         // one team times the lots for everyone
+
+        // The lots in play as seen by this team, by the number their events carry (0 if only one is open)
+        private final Map<Integer, LotView> lotsInPlay = new HashMap<>();
+
+        Bot(String team, Random random, int port) {
+            this.team = team;
+            this.random = random;
+            this.client = new AuctionClient("localhost", port).withoutReconnect();
+            this.timesLots = bots.isEmpty();
+            client.subscribe(this::onEvent);
+        }
+
+        CompletableFuture<AuctionClient.Reply> login() {
+            return timed("LOGIN", client.login(team));
+        }
+
+        CompletableFuture<AuctionClient.Reply> ready() {
+            return timed("READY", client.ready());
+        }
+
+        private CompletableFuture<AuctionClient.Reply> timed(String command, CompletableFuture<AuctionClient.Reply> reply) {
+            long sent = System.nanoTime();
+            return reply.whenComplete((answer, failure) -> {
+                if (failure == null) {
+                    latency.computeIfAbsent(command, name -> new LatencyHistogram())
+                        .record((System.nanoTime() - sent) / 1_000);
+                }
+            });
+        }
+
+        private synchronized void onEvent(AuctionEvent event) {
+            broadcasts.incrementAndGet();
+            if (event instanceof AuctionEvent.NewPlayer player) {
+                int opened = lotsOpened.incrementAndGet();
+                if (opened > lots * bots.size()) {
+                    done.countDown();
+                }
+                LotView lot = new LotView(player.lot(), random.nextDouble() < interest
+                    ? player.basePrice() * (1.5 + random.nextDouble() * 4) : 0);
+                lot.standingBid = player.basePrice() - BID_INCREMENT;
+                lotsInPlay.put(lot.number, lot);
+                considerBidding(lot);
+                scheduleFinalizeCheck(lot);
+
+            } else if (event instanceof AuctionEvent.NewBid bid) {
+                Long sentAt = bidSentAt.get(bidKey(bid.team(), bid.amount()));
+                if (sentAt != null) {
+                    broadcastLag.record((System.nanoTime() - sentAt) / 1_000);
+                }
+                LotView lot = lotsInPlay.get(bid.lot());
+                if (lot == null) return;
+                lot.bidsSeen++;
+                lot.standingBid = bid.amount();
+                lot.standingBidder = bid.team();
+                considerBidding(lot);
+                scheduleFinalizeCheck(lot);
+
+            } else if (event instanceof AuctionEvent.PlayerSold sold) {
+                lotClosed(lotsInPlay.remove(sold.lot()), soldLots);
+            } else if (event instanceof AuctionEvent.PlayerUnsold unsold) {
+                lotClosed(lotsInPlay.remove(unsold.lot()), unsoldLots);
+            } else if (event instanceof AuctionEvent.AuctionFinished) {
+                done.countDown();
+            }
+        }
+
+        private void lotClosed(LotView lot, LatencyHistogram durations) {
+            if (timesLots && lot != null) {
+                durations.record((System.nanoTime() - lot.openedAt) / 1_000);
+            }
+        }
+
+        private void considerBidding(LotView lot) {
+            if (stopping || lot.bidPending || team.equals(lot.standingBidder)) return;
+            double next = lot.standingBid + BID_INCREMENT * (1 + random.nextInt(3));
+            if (next > lot.ceiling) return;
+
+            lot.bidPending = true;
+            timers.schedule(() -> placeBid(lot, next), random.nextInt((int) thinkMillis + 1), TimeUnit.MILLISECONDS);
+        }
+
+        private synchronized void placeBid(LotView lot, double amount) {
+            lot.bidPending = false;
+            if (stopping || lotsInPlay.get(lot.number) != lot) return;
+            // Someone may have bid past us while we were thinking
+            double bid = Math.max(amount, lot.standingBid + BID_INCREMENT);
+            if (bid > lot.ceiling || team.equals(lot.standingBidder)) return;
+
+            bids.incrementAndGet();
+            bidSentAt.put(bidKey(team, bid), System.nanoTime());
+            timed("BID", lot.number > 0 ? client.bid(lot.number, bid) : client.bid(bid)).thenAccept(reply -> {
+                if (!reply.accepted()) rejectedBids.incrementAndGet();
+            });
+        }
+
+        private void scheduleFinalizeCheck(LotView lot) {
+            if (stopping || !vote) return;
+            long seenAtCheck = lot.bidsSeen;
+            long delay = quietMillis + random.nextInt((int) Math.max(1, quietMillis / 2));
+            timers.schedule(() -> finalizeIfQuiet(lot, seenAtCheck), delay, TimeUnit.MILLISECONDS);
+        }
+
+        private synchronized void finalizeIfQuiet(LotView lot, long seenAtCheck) {
+            if (stopping || lot.voted || lotsInPlay.get(lot.number) != lot || seenAtCheck != lot.bidsSeen) return;
+            lot.voted = true;
+            timed("FINALIZE_PLAYER", lot.number > 0 ? client.finalizePlayer(lot.number) : client.finalizePlayer());
+        }
+    }
+
+    /** One lot as a team follows it; a timer holding a view that is no longer in play was overtaken. */
+    private static final class LotView {
+        final int number;
+        final double ceiling;            // highest price the team will pay for the lot; 0 if not interested
+        final long openedAt = System.nanoTime();
+        double standingBid;
+        String standingBidder;
+        long bidsSeen;                   // bumps on every NEW_BID, so a stale timer can tell it was overtaken
+        boolean bidPending;
+        boolean voted;
+
+        LotView(int number, double ceiling) {
+            this.number = number;
+            this.ceiling = ceiling;
+        }
+    }
+
+    private static String bidKey(String team, double amount) {
+        return team + ":" + Math.round(amount * 100);
+    }
+
+    private void report(int teams, double seconds) {
+        Map<String, LatencyHistogram> latency = new TreeMap<>();
+        LatencyHistogram lag = new LatencyHistogram();
+        long bids = 0, rejected = 0, broadcasts = 0;
+        for (Bot bot : bots) {
+            bot.latency.forEach((command, histogram) ->
+                latency.computeIfAbsent(command, name -> new LatencyHistogram()).add(histogram));
+            lag.add(bot.broadcastLag);
+            bids += bot.bids.get();
+            rejected += bot.rejectedBids.get();
+            broadcasts += bot.broadcasts.get();
+        }
+        long commands = latency.values().stream().mapToLong(LatencyHistogram::count).sum();
+
+        int lotsRun = Math.min(lots, lotsOpened.get() / teams);
+        System.out.printf("%nLoad test: %d teams, %d lots in %.1f s (%,.0f lots/hour)%n", teams, lotsRun, seconds,
+            lotsRun * 3600 / seconds);
+        System.out.printf("Commands: %,d (%,.0f/s); bids: %,d (%,.0f/s), %,d rejected (%.1f%%)%n",
+            commands, commands / seconds, bids, bids / seconds, rejected, bids == 0 ? 0 : 100.0 * rejected / bids);
+        System.out.printf("Broadcasts received: %,d (%,.0f/s across all teams)%n", broadcasts, broadcasts / seconds);
+
+        System.out.printf("%nLatency (ms)          count      p50      p90      p99    p99.9      max%n");
+        latency.forEach((command, histogram) -> printRow(command, histogram));
+        printRow("NEW_BID broadcast", lag);
+        printRow("lot sold", soldLots);
+        printRow("lot unsold", unsoldLots);
+
+        List<Bot> slowest = new ArrayList<>(bots);
+        slowest.sort(Comparator.comparingLong((Bot bot) -> bot.broadcastLag.percentile(99)).reversed());
+        System.out.printf("%nSlowest teams to hear about bids (p99 broadcast lag):%n");
+        for (Bot bot : slowest.subList(0, Math.min(5, slowest.size()))) {
+            printRow(bot.team, bot.broadcastLag);
+        }
+    }
+
+    private static void printRow(String name, LatencyHistogram histogram) {
+        System.out.printf("  %-18s %8d %8.2f %8.2f %8.2f %8.2f %8.2f%n", name, histogram.count(),
+            histogram.percentile(50) / 1e3, histogram.percentile(90) / 1e3, histogram.percentile(99) / 1e3,
+            histogram.percentile(99.9) / 1e3, histogram.max() / 1e3);
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (var paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
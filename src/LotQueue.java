@@ -0,0 +1,100 @@
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.logging.Logger;
+
+/**
+ * Supplies the full details of each lot in auction order, loading them from the store
+ * in chunks on a background thread ahead of the lot that is being auctioned.
+ *
+ * Only the chunks around the current lot are kept, so the catalog never has to fit in
+ * memory at once, and moving to the next lot normally costs no store round trip at all.
+ */
+class LotQueue {
+    private static final Logger logger = Logger.getLogger(LotQueue.class.getName());
+
+    private final AuctionStore store;
+    private final List<Integer> lotOrder;
+    private final int chunkSize;
+    private final Executor executor;
+    private final Map<Integer, CompletableFuture<Map<Integer, AuctionStore.Player>>> chunks = new HashMap<>();
+    private long ready;
+    private long stalls;
+
+    /**
+     * @param chunkSize lots per store query; the chunk after the current one is always being fetched
+     */
+    LotQueue(AuctionStore store, List<Integer> lotOrder, int chunkSize, Executor executor) {
+        this.store = store;
+        this.lotOrder = lotOrder;
+        this.chunkSize = chunkSize;
+        this.executor = executor;
+    }
+
+    /** Starts fetching the lots from {@code lotIndex} on, e.g. when an auction resumes part way through. */
+    synchronized void prefetchFrom(int lotIndex) {
+        int chunk = Math.max(lotIndex, 0) / chunkSize;
+        fetch(chunk);
+        fetch(chunk + 1);
+    }
+
+    /**
+     * The player offered at {@code lotIndex}, waiting for its chunk if it is still in flight.
+     *
+     * @return the player, or {@code null} if the store no longer has them
+     */
+    AuctionStore.Player get(int lotIndex) throws AuctionStore.StoreException {
+        int playerId = lotOrder.get(lotIndex);
+        int chunk = lotIndex / chunkSize;
+
+        CompletableFuture<Map<Integer, AuctionStore.Player>> pending;
+        synchronized (this) {
+            chunks.keySet().removeIf(loaded -> loaded < chunk);
+            fetch(chunk);
+            fetch(chunk + 1);
+            pending = chunks.get(chunk);
+            if (pending.isDone()) {
+                ready++;
+            } else {
+                stalls++;
+            }
+        }
+
+        try {
+            return pending.join().get(playerId);
+        } catch (CompletionException e) {
+            synchronized (this) {
+                chunks.remove(chunk);
+            }
+            logger.warning("Loading lots " + (chunk * chunkSize + 1) + "+ failed (" + e.getCause().getMessage() +
+                           "); loading lot " + (lotIndex + 1) + " on its own");
+            return store.loadPlayer(playerId);
+        }
+    }
+
+    /** Lots whose details were already in memory when they came up. */
+    synchronized long getReady() {
+        return ready;
+    }
+
+    /** Lots that had to wait for their chunk to arrive from the store. */
+    synchronized long getStalls() {
+        return stalls;
+    }
+
+    private void fetch(int chunk) {
+        int from = chunk * chunkSize;
+        if (from >= lotOrder.size() || chunks.containsKey(chunk)) return;
+        List<Integer> ids = List.copyOf(lotOrder.subList(from, Math.min(from + chunkSize, lotOrder.size())));
+        chunks.put(chunk, CompletableFuture.supplyAsync(() -> {
+            try {
+                return store.loadPlayers(ids);
+            } catch (AuctionStore.StoreException e) {
+                throw new CompletionException(e);
+            }
+        }, executor));
+    }
+}
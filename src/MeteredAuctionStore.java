@@ -0,0 +1,98 @@
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * {@link AuctionStore} that times every call to the store it wraps, so slow statements show
+ * up in the metrics by operation name. Failed calls are timed too.
+ */
+class MeteredAuctionStore implements AuctionStore {
+    private final AuctionStore store;
+    private final Function<String, AuctionMetrics.Histogram> histograms;
+
+    /** @param histograms the latency histogram for each operation name */
+    MeteredAuctionStore(AuctionStore store, Function<String, AuctionMetrics.Histogram> histograms) {
+        this.store = store;
+        this.histograms = histograms;
+    }
+
+    private interface Call<T> {
+        T run() throws StoreException;
+    }
+
+    private <T> T timed(String operation, Call<T> call) throws StoreException {
+        long start = System.nanoTime();
+        try {
+            return call.run();
+        } finally {
+            histograms.apply(operation).observeNanos(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public int replaceCatalog(Iterator<Player> players) throws StoreException {
+        return timed("replaceCatalog", () -> store.replaceCatalog(players));
+    }
+
+    @Override
+    public List<Integer> loadAvailablePlayerIds() throws StoreException {
+        return timed("loadAvailablePlayerIds", store::loadAvailablePlayerIds);
+    }
+
+    @Override
+    public Player loadPlayer(int playerId) throws StoreException {
+        return timed("loadPlayer", () -> store.loadPlayer(playerId));
+    }
+
+    @Override
+    public Map<Integer, Player> loadPlayers(List<Integer> playerIds) throws StoreException {
+        return timed("loadPlayers", () -> store.loadPlayers(playerIds));
+    }
+
+    @Override
+    public void resetSales() throws StoreException {
+        timed("resetSales", () -> {
+            store.resetSales();
+            return null;
+        });
+    }
+
+    @Override
+    public void registerTeam(String teamName, boolean reset) throws StoreException {
+        timed("registerTeam", () -> {
+            store.registerTeam(teamName, reset);
+            return null;
+        });
+    }
+
+    @Override
+    public void recordSale(Player player, String teamName, double price) throws StoreException {
+        timed("recordSale", () -> {
+            store.recordSale(player, teamName, price);
+            return null;
+        });
+    }
+
+    @Override
+    public List<RosterEntry> loadRoster(String teamName) throws StoreException {
+        return timed("loadRoster", () -> store.loadRoster(teamName));
+    }
+
+    @Override
+    public void forEachPlayer(PlayerVisitor visitor) throws StoreException, IOException {
+        // A full catalog walk, timed as one call; the visitor's own time is included
+        long start = System.nanoTime();
+        try {
+            store.forEachPlayer(visitor);
+        } finally {
+            histograms.apply("forEachPlayer").observeNanos(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void close() {
+        store.close();
+    }
+}
@@ -0,0 +1,311 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * {@link AuctionStore} backed by the {@code ipl_auction_2025} MySQL database.
+ *
+ * Sold players are kept in one {@code team_<name>} table per team, as before.
+ */
+class MySqlAuctionStore implements AuctionStore {
+    private static final Logger logger = Logger.getLogger(MySqlAuctionStore.class.getName());
+    private static final int IMPORT_BATCH_SIZE = 1000;
+    private static final int EXPORT_FETCH_SIZE = 1000;
+
+    private final Connection connection;
+    private final Set<String> knownTeamTables = ConcurrentHashMap.newKeySet();
+    // Team tables known to hold no rows, so registering those teams needs no statement at all
+    private final Set<String> emptyTeamTables = ConcurrentHashMap.newKeySet();
+
+    private MySqlAuctionStore(Connection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Connects, preparing the schema if it is missing or out of date, and seeds the catalog
+     * from the bundled CSV only when it is empty.
+     */
+    public static MySqlAuctionStore connect() throws StoreException {
+        Connection connection = IPLAuctionDB1.setupDatabase(null);
+        if (connection == null) {
+            throw new StoreException("Unable to connect to MySQL at " + IPLAuctionDB1.describe());
+        }
+        MySqlAuctionStore store = new MySqlAuctionStore(connection);
+        try (Statement statement = connection.createStatement()) {
+            try (ResultSet rs = statement.executeQuery("SHOW TABLES LIKE 'team\\_%'")) {
+                while (rs.next()) {
+                    store.knownTeamTables.add(rs.getString(1));
+                }
+            }
+            boolean empty;
+            try (ResultSet rs = statement.executeQuery("SELECT 1 FROM players LIMIT 1")) {
+                empty = !rs.next();
+            }
+            if (empty) {
+                store.importCatalog(CatalogImporter.defaultCatalog());
+            }
+        } catch (SQLException e) {
+            store.close();
+            throw new StoreException("Unable to inspect database: " + e.getMessage(), e);
+        }
+        return store;
+    }
+
+    static String tableName(String teamName) {
+        return "team_" + teamName.replaceAll("\\s+", "_").toLowerCase();
+    }
+
+    /** Streams a CSV catalog into the store and logs its throughput. */
+    private void importCatalog(Path csv) throws StoreException {
+        try (CatalogImporter importer = CatalogImporter.open(csv)) {
+            replaceCatalog(importer);
+            logger.info(importer.summary());
+        } catch (IOException e) {
+            throw new StoreException("Unable to read catalog " + csv + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Swaps the catalog in one transaction: the old catalog, sales and team rosters stay
+     * in place until the last row of the new one is in, and a failure anywhere, in the
+     * database or in reading the rows, rolls the whole import back. Rows are sent in
+     * batches of {@value #IMPORT_BATCH_SIZE}, so a large catalog still streams.
+     */
+    @Override
+    public int replaceCatalog(Iterator<Player> players) throws StoreException {
+        try {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement();
+                 PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO players (name, type, nationality, base_price_inr, status) " +
+                     "VALUES (?, ?, ?, ?, 'Available')")) {
+                statement.executeUpdate("DELETE FROM auction_log");
+                statement.executeUpdate("DELETE FROM players");
+                for (String tableName : knownTeamTables) {
+                    statement.executeUpdate("DELETE FROM " + tableName);
+                }
+
+                int count = 0;
+                while (players.hasNext()) {
+                    Player player = players.next();
+                    insert.setString(1, player.name());
+                    insert.setString(2, player.type());
+                    insert.setString(3, player.nationality());
+                    insert.setDouble(4, player.basePrice());
+                    insert.addBatch();
+                    if (++count % IMPORT_BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                    }
+                }
+                insert.executeBatch();
+                connection.commit();
+                emptyTeamTables.addAll(knownTeamTables);
+                return count;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException | UncheckedIOException e) {
+            throw new StoreException("Unable to import catalog: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<Integer> loadAvailablePlayerIds() throws StoreException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT id FROM players WHERE status = 'Available' ORDER BY base_price_inr DESC");
+             ResultSet rs = ps.executeQuery()) {
+            List<Integer> ids = new ArrayList<>();
+            while (rs.next()) {
+                ids.add(rs.getInt("id"));
+            }
+            return ids;
+        } catch (SQLException e) {
+            throw new StoreException("Unable to load player ids: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Player loadPlayer(int playerId) throws StoreException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT name, base_price_inr, type, nationality FROM players WHERE id = ?")) {
+            ps.setInt(1, playerId);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) return null;
+                return new Player(playerId, rs.getString("name"), rs.getString("type"),
+                    rs.getString("nationality"), rs.getDouble("base_price_inr"));
+            }
+        } catch (SQLException e) {
+            throw new StoreException("Unable to load player " + playerId + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Map<Integer, Player> loadPlayers(List<Integer> playerIds) throws StoreException {
+        Map<Integer, Player> players = new HashMap<>();
+        if (playerIds.isEmpty()) return players;
+        String placeholders = String.join(",", Collections.nCopies(playerIds.size(), "?"));
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT id, name, base_price_inr, type, nationality FROM players WHERE id IN (" + placeholders + ")")) {
+            for (int i = 0; i < playerIds.size(); i++) {
+                ps.setInt(i + 1, playerIds.get(i));
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Player player = new Player(rs.getInt("id"), rs.getString("name"), rs.getString("type"),
+                        rs.getString("nationality"), rs.getDouble("base_price_inr"));
+                    players.put(player.id(), player);
+                }
+            }
+            return players;
+        } catch (SQLException e) {
+            throw new StoreException("Unable to load " + playerIds.size() + " players: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void resetSales() throws StoreException {
+        try (Statement statement = connection.createStatement()) {
+            statement.addBatch("UPDATE players SET status = 'Available' WHERE status <> 'Available'");
+            for (String tableName : knownTeamTables) {
+                statement.addBatch("DELETE FROM " + tableName);
+            }
+            statement.executeBatch();
+            emptyTeamTables.addAll(knownTeamTables);
+        } catch (SQLException e) {
+            throw new StoreException("Unable to reset sales: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void registerTeam(String teamName, boolean reset) throws StoreException {
+        String tableName = tableName(teamName);
+        if (knownTeamTables.contains(tableName) && (!reset || emptyTeamTables.contains(tableName))) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            if (!knownTeamTables.contains(tableName)) {
+                createTeamTable(statement, tableName);
+            } else {
+                statement.execute("DELETE FROM " + tableName);
+                emptyTeamTables.add(tableName);
+            }
+        } catch (SQLException e) {
+            throw new StoreException("Unable to create team table: " + e.getMessage(), e);
+        }
+    }
+
+    private void createTeamTable(Statement statement, String tableName) throws SQLException {
+        statement.execute(String.format(
+            "CREATE TABLE IF NOT EXISTS %s (" +
+            "player_id INT PRIMARY KEY, " +
+            "player_name VARCHAR(100), " +
+            "player_type VARCHAR(50), " +
+            "nationality VARCHAR(100), " +
+            "base_price DECIMAL(10,2), " +
+            "bid_amount DECIMAL(10,2), " +
+            "purchase_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP)",
+            tableName));
+        knownTeamTables.add(tableName);
+        emptyTeamTables.add(tableName);
+    }
+
+    @Override
+    public void recordSale(Player player, String teamName, double price) throws StoreException {
+        String tableName = tableName(teamName);
+        try {
+            try (PreparedStatement updatePlayer = connection.prepareStatement(
+                    "UPDATE players SET status = 'Sold' WHERE id = ?")) {
+                updatePlayer.setInt(1, player.id());
+                updatePlayer.executeUpdate();
+            }
+
+            if (!knownTeamTables.contains(tableName)) {
+                try (Statement statement = connection.createStatement()) {
+                    createTeamTable(statement, tableName);
+                }
+            }
+
+            try (PreparedStatement insertPlayer = connection.prepareStatement(String.format(
+                    "INSERT INTO %s (player_id, player_name, player_type, nationality, base_price, bid_amount) " +
+                    "VALUES (?, ?, ?, ?, ?, ?)", tableName))) {
+                insertPlayer.setInt(1, player.id());
+                insertPlayer.setString(2, player.name());
+                insertPlayer.setString(3, player.type());
+                insertPlayer.setString(4, player.nationality());
+                insertPlayer.setDouble(5, player.basePrice());
+                insertPlayer.setDouble(6, price);
+                insertPlayer.executeUpdate();
+                emptyTeamTables.remove(tableName);
+            }
+        } catch (SQLException e) {
+            throw new StoreException("Unable to record sale of " + player.name() + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<RosterEntry> loadRoster(String teamName) throws StoreException {
+        String query = String.format(
+            "SELECT player_id, player_name, player_type, nationality, base_price, bid_amount " +
+            "FROM %s ORDER BY bid_amount DESC", tableName(teamName));
+        try (PreparedStatement ps = connection.prepareStatement(query);
+             ResultSet rs = ps.executeQuery()) {
+            List<RosterEntry> roster = new ArrayList<>();
+            while (rs.next()) {
+                roster.add(new RosterEntry(rs.getInt("player_id"), rs.getString("player_name"),
+                    rs.getString("player_type"), rs.getString("nationality"),
+                    rs.getDouble("base_price"), rs.getDouble("bid_amount")));
+            }
+            return roster;
+        } catch (SQLException e) {
+            throw new StoreException("Unable to load roster of " + teamName + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void forEachPlayer(PlayerVisitor visitor) throws StoreException, IOException {
+        // A connection of its own, so the cursor never blocks the engine's statements
+        try (Connection cursorConnection = IPLAuctionDB1.openCursorConnection();
+             PreparedStatement ps = cursorConnection.prepareStatement(
+                 "SELECT id, name, type, nationality, base_price_inr, status FROM players ORDER BY id",
+                 ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            ps.setFetchSize(EXPORT_FETCH_SIZE);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    visitor.visit(new Player(rs.getInt("id"), rs.getString("name"), rs.getString("type"),
+                        rs.getString("nationality"), rs.getDouble("base_price_inr")),
+                        "Sold".equals(rs.getString("status")));
+                }
+            }
+        } catch (SQLException e) {
+            throw new StoreException("Unable to read the catalog: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (!connection.isClosed()) {
+                connection.close();
+            }
+        } catch (SQLException e) {
+            logger.warning("Error closing database connection: " + e.getMessage());
+        }
+    }
+}
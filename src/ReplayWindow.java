@@ -0,0 +1,39 @@
+/**
+ * Per-session record of the most recent command sequence numbers and the reply each one got,
+ * so a command that is retried after a lost reply is answered again instead of run twice.
+ *
+ * The window covers the {@value #SIZE} sequence numbers ending at the highest one seen. Within
+ * it, numbers may arrive out of order or with gaps, which lets a client keep many commands in
+ * flight; anything older than the window is refused as stale. A 64-bit mask marks which
+ * numbers were used and a ring of the same size holds their replies.
+ */
+class ReplayWindow {
+    static final int SIZE = 64;
+
+    private long highest; // 0 until the first command; sequence numbers start at 1
+    private long seen;    // bit i is set when (highest - i) has been used
+    private final String[] replies = new String[SIZE];
+
+    /** True if {@code seq} is too old to tell whether it has already been run. */
+    boolean isStale(long seq) {
+        return seq <= 0 || (highest >= SIZE && seq <= highest - SIZE);
+    }
+
+    /** @return the reply already sent for {@code seq}, or {@code null} if it has not been run */
+    String replyFor(long seq) {
+        if (seq > highest || isStale(seq)) return null;
+        long bit = 1L << (highest - seq);
+        return (seen & bit) != 0 ? replies[(int) (seq % SIZE)] : null;
+    }
+
+    /** Marks {@code seq} as run, remembering its reply. */
+    void record(long seq, String reply) {
+        if (seq > highest) {
+            long shift = seq - highest;
+            seen = shift >= SIZE ? 0 : seen << shift;
+            highest = seq;
+        }
+        seen |= 1L << (highest - seq);
+        replies[(int) (seq % SIZE)] = reply;
+    }
+}
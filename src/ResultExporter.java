@@ -0,0 +1,303 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes the results of an auction to a directory as CSV or JSON Lines.
+ *
+ * Four files are produced: {@code results} (one row per lot offered), {@code bids} (every
+ * accepted bid and each lot's outcome, in order), {@code rosters} (every purchase with its
+ * buying team) and {@code players} (the whole catalog with its sale status). The first three
+ * are streamed out of the journal, the last from the store, and rows are written as they
+ * are read, so memory use does not grow with the size of the auction.
+ */
+class ResultExporter {
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private static final String[] RESULT_COLUMNS = {
+        "lot", "player_id", "player_name", "player_type", "nationality", "base_price",
+        "status", "team", "price", "bids"};
+    private static final String[] BID_COLUMNS = {
+        "seq", "lot", "player_id", "player_name", "team", "amount", "action"};
+    private static final String[] ROSTER_COLUMNS = {
+        "team", "player_id", "player_name", "player_type", "nationality", "base_price", "price"};
+    private static final String[] PLAYER_COLUMNS = {
+        "player_id", "player_name", "player_type", "nationality", "base_price", "status"};
+
+    private final Path directory;
+    private final boolean json;
+
+    private ResultExporter(Path directory, boolean json) {
+        this.directory = directory;
+        this.json = json;
+    }
+
+    /**
+     * @param format {@code csv} or {@code jsonl}
+     */
+    public static ResultExporter create(Path directory, String format) {
+        switch (format.toLowerCase(Locale.ROOT)) {
+            case "csv":
+                return new ResultExporter(directory, false);
+            case "jsonl":
+            case "json":
+                return new ResultExporter(directory, true);
+            default:
+                throw new IllegalArgumentException("Unknown export format '" + format + "' (use csv or jsonl)");
+        }
+    }
+
+    /**
+     * Exports the journal records that lie before {@code journalLimit} and, when a store is
+     * given, the catalog.
+     *
+     * @return a one-line summary of what was written
+     */
+    public String export(Path journalPath, int journalLimit, AuctionStore store)
+            throws IOException, AuctionStore.StoreException {
+        long start = System.nanoTime();
+        Files.createDirectories(directory);
+
+        JournalExport journalExport = new JournalExport();
+        long players = 0;
+        try {
+            try (RowWriter results = open("results", RESULT_COLUMNS);
+                 RowWriter bids = open("bids", BID_COLUMNS);
+                 RowWriter rosters = open("rosters", ROSTER_COLUMNS)) {
+                journalExport.results = results;
+                journalExport.bids = bids;
+                journalExport.rosters = rosters;
+                if (Files.exists(journalPath)) {
+                    AuctionJournal.replayFile(journalPath, journalLimit, journalExport);
+                }
+            }
+
+            if (store != null) {
+                try (RowWriter catalog = open("players", PLAYER_COLUMNS)) {
+                    store.forEachPlayer((player, sold) -> catalog.row(player.id(), player.name(),
+                        player.type(), player.nationality(), player.basePrice(), sold ? "SOLD" : "AVAILABLE"));
+                    players = catalog.rows;
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        return String.format("Exported %,d lots, %,d bid log rows, %,d purchases and %,d players to %s in %.1f ms",
+            journalExport.lots, journalExport.seq, journalExport.purchases, players,
+            directory.toAbsolutePath(), (System.nanoTime() - start) / 1e6);
+    }
+
+    private RowWriter open(String name, String[] columns) throws IOException {
+        return new RowWriter(directory.resolve(name + (json ? ".jsonl" : ".csv")), columns, json);
+    }
+
+    /**
+     * Turns journal events into result, bid and roster rows. Only the lots still open are
+     * remembered between events.
+     */
+    private static final class JournalExport implements AuctionListener {
+        private static final class Lot {
+            final int number;
+            final AuctionStore.Player player;
+            int bids;
+
+            Lot(int number, AuctionStore.Player player) {
+                this.number = number;
+                this.player = player;
+            }
+        }
+
+        private final Map<Integer, Lot> openLots = new HashMap<>();
+        RowWriter results;
+        RowWriter bids;
+        RowWriter rosters;
+        long seq;
+        long lots;
+        long purchases;
+
+        @Override
+        public void catalogLoaded(List<Integer> lotOrder) {
+            openLots.clear();
+        }
+
+        @Override
+        public void lotOpened(int lotIndex, int playerId, String playerName, double basePrice,
+                              String playerType, String nationality) {
+            openLots.put(playerId, new Lot(lotIndex + 1,
+                new AuctionStore.Player(playerId, playerName, playerType, nationality, basePrice)));
+        }
+
+        @Override
+        public void bidAccepted(int playerId, String teamName, double amount) {
+            Lot lot = openLots.get(playerId);
+            if (lot == null) return;
+            lot.bids++;
+            bids.row(++seq, lot.number, playerId, lot.player.name(), teamName, amount, "BID");
+        }
+
+        @Override
+        public void playerSold(int playerId, String teamName, double price, boolean overseas) {
+            Lot lot = openLots.remove(playerId);
+            if (lot == null) return;
+            AuctionStore.Player player = lot.player;
+            lots++;
+            purchases++;
+            results.row(lot.number, playerId, player.name(), player.type(), player.nationality(),
+                player.basePrice(), "SOLD", teamName, price, lot.bids);
+            bids.row(++seq, lot.number, playerId, player.name(), teamName, price, "SOLD");
+            rosters.row(teamName, playerId, player.name(), player.type(), player.nationality(),
+                player.basePrice(), price);
+        }
+
+        @Override
+        public void playerUnsold(int playerId) {
+            Lot lot = openLots.remove(playerId);
+            if (lot == null) return;
+            AuctionStore.Player player = lot.player;
+            lots++;
+            results.row(lot.number, playerId, player.name(), player.type(), player.nationality(),
+                player.basePrice(), "UNSOLD", null, null, lot.bids);
+            bids.row(++seq, lot.number, playerId, player.name(), null, null, "UNSOLD");
+        }
+    }
+
+    /**
+     * Formats rows into a fixed direct buffer and drains it to a file channel whenever it
+     * fills. I/O errors surface as {@link UncheckedIOException} so rows can be written from
+     * listener callbacks.
+     */
+    private static final class RowWriter implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+        private final String[] columns;
+        private final boolean json;
+        private final StringBuilder line = new StringBuilder(256);
+        long rows;
+
+        RowWriter(Path path, String[] columns, boolean json) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+            this.columns = columns;
+            this.json = json;
+            if (!json) {
+                line.setLength(0);
+                for (int i = 0; i < columns.length; i++) {
+                    if (i > 0) line.append(',');
+                    line.append(columns[i]);
+                }
+                write(line.append('\n'));
+            }
+        }
+
+        void row(Object... values) {
+            line.setLength(0);
+            if (json) {
+                line.append('{');
+                for (int i = 0; i < columns.length; i++) {
+                    if (i > 0) line.append(',');
+                    line.append('"').append(columns[i]).append("\":");
+                    appendJson(values[i]);
+                }
+                line.append('}');
+            } else {
+                for (int i = 0; i < columns.length; i++) {
+                    if (i > 0) line.append(',');
+                    appendCsv(values[i]);
+                }
+            }
+            line.append('\n');
+            try {
+                write(line);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            rows++;
+        }
+
+        private void appendCsv(Object value) {
+            if (value == null) return;
+            String text = format(value);
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0) {
+                line.append(text);
+            } else {
+                line.append('"').append(text.replace("\"", "\"\"")).append('"');
+            }
+        }
+
+        private void appendJson(Object value) {
+            if (value == null) {
+                line.append("null");
+            } else if (value instanceof Number) {
+                line.append(format(value));
+            } else {
+                line.append('"');
+                String text = value.toString();
+                for (int i = 0; i < text.length(); i++) {
+                    char c = text.charAt(i);
+                    if (c == '"' || c == '\\') {
+                        line.append('\\').append(c);
+                    } else if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+                }
+                line.append('"');
+            }
+        }
+
+        private static String format(Object value) {
+            if (value instanceof Double) {
+                // Prices are whole paise, so two fixed decimals without the cost of String.format
+                long cents = Math.round((Double) value * 100);
+                long abs = Math.abs(cents);
+                long fraction = abs % 100;
+                return (cents < 0 ? "-" : "") + (abs / 100) + (fraction < 10 ? ".0" : ".") + fraction;
+            }
+            return value.toString();
+        }
+
+        private void write(CharSequence text) throws IOException {
+            byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > buffer.remaining()) {
+                drain();
+            }
+            if (bytes.length > buffer.capacity()) {
+                ByteBuffer large = ByteBuffer.wrap(bytes);
+                while (large.hasRemaining()) {
+                    channel.write(large);
+                }
+            } else {
+                buffer.put(bytes);
+            }
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                drain();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An accelerated round that clears a batch of lots on sealed bids, the way real auctions
+ * finish off the long tail of base-price players.
+ *
+ * While the round is open each team may hold one sealed bid per lot, which it can change
+ * or withdraw until the round closes; nobody sees anyone else's. The round is then cleared
+ * in one pass: every bid on every lot is taken in order of amount, highest first and the
+ * earliest placed among equals, and wins its lot unless the lot is already gone or the
+ * seller refuses, e.g. because lots the team won earlier in the pass have used up its purse
+ * or squad. A refused bid leaves the lot to the next bid down; lots nobody wins go unsold.
+ * The server keeps a round under its engine lock.
+ */
+class SealedRound {
+
+    enum Pricing {
+        /** The winner pays its own bid. */
+        FIRST_PRICE,
+        /** The winner pays the next bid down on the same lot, or the base price if there is none. */
+        SECOND_PRICE
+    }
+
+    record Lot(int index, AuctionStore.Player player) {
+
+        /** The lot number teams see, counting from 1. */
+        int number() {
+            return index + 1;
+        }
+    }
+
+    /** Completes the sale of a lot at a price, or refuses it; see {@link #resolve}. */
+    interface Seller {
+        boolean sell(Lot lot, String team, double price);
+    }
+
+    private record Bid(Lot lot, String team, double amount, long order) {}
+
+    private static final Comparator<Bid> RANKING =
+        Comparator.comparingDouble((Bid bid) -> -bid.amount()).thenComparingLong(Bid::order);
+
+    private final int size;
+    private final Pricing pricing;
+    private final long timeout;
+    private final Map<Integer, Lot> lots = new LinkedHashMap<>(); // by lot number, in catalog order
+    private final Map<Integer, Map<String, Bid>> bids = new HashMap<>();
+    private final Set<String> done = new HashSet<>();
+    private long placed;
+    private boolean open;
+
+    /**
+     * A round of up to {@code size} lots, which takes them when it {@linkplain #open opens}
+     * and closes {@code timeout} ms later unless every team is done sooner.
+     */
+    SealedRound(int size, Pricing pricing, long timeout) {
+        this.size = size;
+        this.pricing = pricing;
+        this.timeout = timeout;
+    }
+
+    int size() {
+        return size;
+    }
+
+    Pricing pricing() {
+        return pricing;
+    }
+
+    long timeout() {
+        return timeout;
+    }
+
+    void open(List<Lot> batch) {
+        for (Lot lot : batch) {
+            lots.put(lot.number(), lot);
+        }
+        open = true;
+    }
+
+    /** True from opening until the round is resolved. */
+    boolean isOpen() {
+        return open;
+    }
+
+    Collection<Lot> lots() {
+        return lots.values();
+    }
+
+    /** @return the lot of that number, or {@code null} if it isn't in this round */
+    Lot lot(int number) {
+        return lots.get(number);
+    }
+
+    /** Places or replaces the team's bid on the lot; a changed bid counts as placed now. */
+    void bid(String team, Lot lot, double amount) {
+        bids.computeIfAbsent(lot.number(), number -> new HashMap<>()).put(team, new Bid(lot, team, amount, placed++));
+    }
+
+    void withdraw(String team, Lot lot) {
+        Map<String, Bid> onLot = bids.get(lot.number());
+        if (onLot != null) {
+            onLot.remove(team);
+        }
+    }
+
+    /** @return the team's bid on the lot, or 0 if it has none */
+    double bidOf(String team, Lot lot) {
+        Map<String, Bid> onLot = bids.get(lot.number());
+        Bid bid = onLot != null ? onLot.get(team) : null;
+        return bid != null ? bid.amount() : 0;
+    }
+
+    int bidCount() {
+        int count = 0;
+        for (Map<String, Bid> onLot : bids.values()) {
+            count += onLot.size();
+        }
+        return count;
+    }
+
+    /** Notes that the team has placed all the bids it means to. */
+    void done(String team) {
+        done.add(team);
+    }
+
+    boolean isDone(String team) {
+        return done.contains(team);
+    }
+
+    /**
+     * Clears the round in one pass, offering each winning bid to {@code seller} at the
+     * round's price. The round is closed afterwards.
+     *
+     * @return the lots that went unsold, in lot order
+     */
+    List<Lot> resolve(Seller seller) {
+        open = false;
+        List<Bid> all = new ArrayList<>();
+        Map<Integer, List<Bid>> ranked = new HashMap<>();
+        for (Map.Entry<Integer, Map<String, Bid>> onLot : bids.entrySet()) {
+            List<Bid> lotBids = new ArrayList<>(onLot.getValue().values());
+            lotBids.sort(RANKING);
+            ranked.put(onLot.getKey(), lotBids);
+            all.addAll(lotBids);
+        }
+        all.sort(RANKING);
+
+        Set<Integer> sold = new HashSet<>();
+        for (Bid bid : all) {
+            int number = bid.lot().number();
+            if (!sold.contains(number) && seller.sell(bid.lot(), bid.team(), price(bid, ranked.get(number)))) {
+                sold.add(number);
+            }
+        }
+
+        List<Lot> unsold = new ArrayList<>();
+        for (Lot lot : lots.values()) {
+            if (!sold.contains(lot.number())) {
+                unsold.add(lot);
+            }
+        }
+        return unsold;
+    }
+
+    private double price(Bid bid, List<Bid> lotBids) {
+        if (pricing == Pricing.FIRST_PRICE) {
+            return bid.amount();
+        }
+        int next = lotBids.indexOf(bid) + 1;
+        return next < lotBids.size() ? lotBids.get(next).amount() : bid.lot().player().basePrice();
+    }
+}
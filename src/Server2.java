@@ -2,73 +2,149 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.PrintWriter;
+import java.io.Writer;
 import java.net.ServerSocket;
 import java.net.Socket;
-import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
-import java.sql.Statement;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
 import java.text.DecimalFormat;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
 import java.util.logging.ConsoleHandler;
 import java.util.logging.Level;
 import java.util.logging.LogRecord;
 import java.util.logging.Logger;
 import java.util.logging.SimpleFormatter;
+import java.util.stream.Stream;
 
 public class Server2 {
     private static final int PORT = 1234;
     private static final int MAX_CLIENTS = 10;
     private static final int BIDDING_TIMEOUT = 30000; // 30 seconds
     private static final int FINALIZATION_TIMEOUT = 15000; // 15 seconds
+    private static final int LOT_GAP = 3000; // pause between one lot closing and the next opening
+    private static final int SEALED_ROUND_TIMEOUT = 120000; // 2 minutes to place sealed bids
+    private static final int SESSION_GRACE = 120000; // 2 minutes for a dropped team to resume before LOGIN can claim it
     private static final double INITIAL_PURSE = 12000.0;
     private static final int MAX_PLAYERS_PER_TEAM = 25;
     private static final int MAX_NON_INDIAN_PLAYERS = 8;
+    private static final int MAX_TEAM_NAME = 40; // characters; the name goes into the journal and every broadcast about the team
     private static final double BID_INCREMENT = 10.0; // Minimum bid increment
+    private static final long JOURNAL_GROUP_COMMIT_MS = 5;
+    private static final int SNAPSHOT_INTERVAL_SECONDS = 300;
+    private static final int LOT_PREFETCH = 32; // lots fetched per store query, one chunk ahead
+    private static final int MAX_BATCH = ReplayWindow.SIZE; // a batch never outruns the retry window
+    private static final int RECONNECT_GRACE_SECONDS = 30; // before an auction with no teams left shuts down
+    private static final int OUTBOX_CAPACITY = 10_000; // messages a client may fall behind before it is dropped
+    private static final int METRICS_PORT = 9464;
     
     
-    private static Connection connection;
+    private static AuctionStore store;
+    private static UnaryOperator<AuctionStore> storeWrapper = UnaryOperator.identity();
+    private static LotQueue lotQueue;
+    private static AuctionJournal journal;
+    private static Path snapshotPath;
+    private static final List<AuctionListener> listeners = new CopyOnWriteArrayList<>();
+    private static final Map<String, String> options = new ConcurrentHashMap<>();
+    
+    // The limits and timers above, as overridden by --port, --max-clients and --bid-timeout,
+    // --finalize-timeout, --lot-gap, --sealed-round-timeout and --session-grace (in ms), e.g. to
+    // compress an auction for a load test
+    private static int port = PORT;
+    private static int maxClients = MAX_CLIENTS;
+    private static int biddingTimeout = BIDDING_TIMEOUT;
+    private static int finalizationTimeout = FINALIZATION_TIMEOUT;
+    private static int lotGap = LOT_GAP;
+    private static int sealedRoundTimeout = SEALED_ROUND_TIMEOUT;
+    private static int sessionGrace = SESSION_GRACE;
+    // --timer-policy: how the bidding and finalization windows follow each lot within those timeouts
+    private static TimerPolicy timerPolicy = new TimerPolicy.Fixed(BIDDING_TIMEOUT, FINALIZATION_TIMEOUT);
     
     
     private static final Map<String, ClientHandler> clients = new ConcurrentHashMap<>();
+    private static final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    // Pending expiry of the sessions of teams whose connection has gone
+    private static final Map<String, Future<?>> sessionExpiries = new ConcurrentHashMap<>();
+    private static final SecureRandom sessionTokens = new SecureRandom();
     private static final Set<String> readyClients = Collections.synchronizedSet(new HashSet<>());
-    private static final Set<String> finalizationVotes = Collections.synchronizedSet(new HashSet<>());
     private static final Map<String, Double> teamPurses = new ConcurrentHashMap<>();
     private static final Map<String, Integer> teamPlayerCounts = new ConcurrentHashMap<>();
     private static final Map<String, Integer> teamNonIndianCounts = new ConcurrentHashMap<>();
+    private static final AuctionReadModel readModel = new AuctionReadModel();
+    
+    private static final AuctionMetrics metrics = new AuctionMetrics();
+    private static final AuctionMetrics.Counter bidsAccepted =
+        metrics.counter("auction_bids_total", "Bids handled, by outcome.", "result", "accepted");
+    private static final AuctionMetrics.Counter bidsRejected =
+        metrics.counter("auction_bids_total", "Bids handled, by outcome.", "result", "rejected");
+    private static final AuctionMetrics.Histogram bidToBroadcast = metrics.histogram("auction_bid_broadcast_seconds",
+        "From a bid being read to its NEW_BID being queued for every team, including the wait for the engine lock.");
+    private static final AuctionMetrics.Histogram outboundDelay = metrics.histogram("auction_outbound_delay_seconds",
+        "How long messages wait in a client's outbox before they are written to its socket.");
+    private static final AuctionMetrics.Counter slowClientsDropped = metrics.counter("auction_slow_clients_dropped_total",
+        "Connections closed because their outbox filled up.");
     
     
     private static final List<Integer> playerIds = new ArrayList<>();
-    private static volatile int currentPlayerIndex = -1;
-    private static volatile String currentHighestBidder = null;
-    private static volatile double currentHighestBid = 0;
-    private static volatile int currentPlayerId = -1;
-    private static volatile String currentPlayerName = "";
+    private static volatile int currentPlayerIndex = -1; // the lot opened last
+    // Lots whose bidding has opened but that have no result yet, by catalog index; at most
+    // --parallel-lots of them, which is one unless a faster auction was asked for
+    private static final Map<Integer, Lot> openLots = new TreeMap<>();
+    private static int parallelLots = 1;
+    // A sealed round asked for from the console; no lot opens from then until it has been cleared
+    private static SealedRound sealedRound;
+    private static Future<?> sealedRoundTimer;
     private static volatile boolean auctionStarted = false;
     private static volatile boolean auctionFinished = false;
+    // How long lots took from opening to their result, in ms, since the first lot this server opened
+    private static final LatencyHistogram soldLotDurations = new LatencyHistogram();
+    private static final LatencyHistogram unsoldLotDurations = new LatencyHistogram();
+    private static long lotsStartedNanos;
     
     
     private static final ExecutorService executor = Executors.newCachedThreadPool();
     private static final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
-    private static ScheduledFuture<?> biddingTimer;
-    private static ScheduledFuture<?> finalizationTimer;
+    
+    // --record writes the session here; a replay swaps in virtual timers and collects what the engine broadcasts
+    private static AuctionRecording recording;
+    private static VirtualTimers virtualTimers;
+    private static Queue<String> replayedBroadcasts;
+    private static Path scratchDirectory;
+    private static final AtomicInteger nextConnection = new AtomicInteger();
     
    
+    private static final int MAX_REPORTED_DIVERGENCES = 10;
+    private static final int RECORDING_CATALOG_CHUNK = 1000;
+    
     private static final Logger logger = Logger.getLogger(Server2.class.getName());
     private static final DecimalFormat currencyFormat = new DecimalFormat("#,##0.00");
     
@@ -77,17 +153,52 @@ public class Server2 {
     }
     
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equalsIgnoreCase("import")) {
+            runImport(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equalsIgnoreCase("export")) {
+            runExport(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equalsIgnoreCase("replay")) {
+            System.exit(runReplay(args) ? 0 : 1);
+        }
+        
         logger.info("Starting IPL Auction Server...");
         
         try {
-           
-            connectToDatabase();
+            long start = System.nanoTime();
+            parseOptions(args);
+            port = intOption("port", PORT);
+            maxClients = intOption("max-clients", MAX_CLIENTS);
+            biddingTimeout = intOption("bid-timeout", BIDDING_TIMEOUT);
+            finalizationTimeout = intOption("finalize-timeout", FINALIZATION_TIMEOUT);
+            lotGap = intOption("lot-gap", LOT_GAP);
+            sealedRoundTimeout = intOption("sealed-round-timeout", SEALED_ROUND_TIMEOUT);
+            sessionGrace = intOption("session-grace", SESSION_GRACE);
+            timerPolicy = TimerPolicy.named(option("timer-policy", "fixed"), biddingTimeout, finalizationTimeout);
+            parallelLots = Math.max(1, intOption("parallel-lots", 1));
+            startMetrics();
+            readModel.start();
+            openJournal();
+            long journalReady = System.nanoTime();
+            openStore();
+            long storeReady = System.nanoTime();
             loadPlayerIds();
+            lotQueue = new LotQueue(store, playerIds, LOT_PREFETCH, executor);
+            lotQueue.prefetchFrom(currentPlayerIndex + 1);
+            startRecording();
+            scheduleSnapshots();
+            startAdminConsole();
             
            
-            ServerSocket serverSocket = new ServerSocket(PORT);
-            logger.info("Auction Server started on port " + PORT);
-            logger.info("Waiting for clients to join... (Max: " + MAX_CLIENTS + ")");
+            ServerSocket serverSocket = new ServerSocket(port);
+            long ready = System.nanoTime();
+            logger.info(String.format("Auction Server started on port %d in %.0f ms " +
+                "(journal %.0f ms, store %.0f ms, catalog %.0f ms)", port, (ready - start) / 1e6,
+                (journalReady - start) / 1e6, (storeReady - journalReady) / 1e6, (ready - storeReady) / 1e6));
+            logger.info("Waiting for clients to join... (Max: " + maxClients + ")");
             
             
             Runtime.getRuntime().addShutdownHook(new Thread(() -> {
@@ -100,13 +211,16 @@ public class Server2 {
                 try {
                     Socket clientSocket = serverSocket.accept();
                     
-                    if (clients.size() >= MAX_CLIENTS) {
+                    if (clients.size() >= maxClients) {
                         logger.warning("Maximum clients reached. Rejecting connection from: " + 
                                      clientSocket.getInetAddress());
                         clientSocket.close();
                         continue;
                     }
                     
+                    // A reply often follows its broadcast as a second small write; with Nagle's
+                    // algorithm it would wait for the client's delayed ACK, some 40 ms on loopback
+                    clientSocket.setTcpNoDelay(true);
                     ClientHandler client = new ClientHandler(clientSocket);
                     executor.submit(client);
                     
@@ -140,424 +254,1252 @@ public class Server2 {
         logger.setUseParentHandlers(false);
     }
     
-    private static void connectToDatabase() throws SQLException {
-        connection = IPLAuctionDB1.setupDatabase(connection);
-        logger.info("Connected to database successfully");
+    private static void parseOptions(String[] args) {
+        for (String arg : args) {
+            if (!arg.startsWith("--")) continue;
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                options.put(arg.substring(2), "true");
+            } else {
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+    }
+    
+    private static String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+    
+    private static int intOption(String name, int defaultValue) {
+        return Integer.parseInt(option(name, String.valueOf(defaultValue)));
     }
     
-    private static void loadPlayerIds() throws SQLException {
-        PreparedStatement ps = connection.prepareStatement(
-            "SELECT id FROM players WHERE status = 'Available' ORDER BY base_price_inr DESC");
-        ResultSet rs = ps.executeQuery();
+    /** Registers the gauges and serves the metrics on {@code --metrics-port} (0 to turn them off). */
+    private static void startMetrics() {
+        metrics.gauge("auction_connected_clients", "Teams with a live connection.", clients::size);
+        metrics.gauge("auction_ready_teams", "Teams that have sent READY.", readyClients::size);
+        metrics.gauge("auction_lot_number", "The lot in play or last played, counting from 1.", () -> currentPlayerIndex + 1);
+        metrics.gauge("auction_open_lots", "Lots with bidding open.", Server2::openLotCount);
+        metrics.gauges("auction_client_outbox_depth", "Messages queued for each team and not yet written.", "team",
+            () -> {
+                Map<String, Integer> depths = new TreeMap<>();
+                clients.forEach((team, client) -> depths.put(team, client.outboxDepth()));
+                return depths;
+            });
         
-        while (rs.next()) {
-            playerIds.add(rs.getInt("id"));
+        int metricsPort = intOption("metrics-port", METRICS_PORT);
+        if (metricsPort <= 0) return;
+        try {
+            metrics.serve(metricsPort);
+            logger.info("Metrics at http://127.0.0.1:" + metricsPort + "/metrics");
+        } catch (IOException e) {
+            logger.warning("Metrics endpoint unavailable on port " + metricsPort + ": " + e.getMessage());
+        }
+    }
+    
+    private static void openJournal() throws IOException {
+        Path path = Paths.get(option("journal", "auction.journal"));
+        snapshotPath = AuctionSnapshot.pathFor(path);
+        if (options.containsKey("fresh")) {
+            Files.deleteIfExists(path);
+            Files.deleteIfExists(snapshotPath);
         }
         
-       
-        Collections.shuffle(playerIds);
-        logger.info("Loaded " + playerIds.size() + " players for auction");
+        journal = AuctionJournal.open(path, JOURNAL_GROUP_COMMIT_MS);
+        if (!journal.isEmpty()) {
+            if (journal.isFinished()) {
+                // The last auction ran to completion, so keep it for reference and start over
+                journal.close();
+                Path archived = Paths.get(path + "." + System.currentTimeMillis() + ".done");
+                Files.move(path, archived);
+                Files.deleteIfExists(snapshotPath);
+                logger.info("Archived completed auction journal to " + archived);
+                journal = AuctionJournal.open(path, JOURNAL_GROUP_COMMIT_MS);
+            } else {
+                long start = System.nanoTime();
+                AuctionSnapshot snapshot = loadSnapshot();
+                if (snapshot != null) {
+                    restoreSnapshot(snapshot);
+                }
+                int records = journal.replayFrom(snapshot != null ? snapshot.journalOffset() : 0,
+                    AuctionListener.all(new JournalRecovery(), readModel));
+                logger.info(String.format("Recovered %s%d journal records in %.1f ms (lot %d of %d, %d teams)",
+                    snapshot != null ? "snapshot + " : "", records, (System.nanoTime() - start) / 1e6,
+                    currentPlayerIndex + 1, playerIds.size(), teamPurses.size()));
+            }
+        } else {
+            Files.deleteIfExists(snapshotPath);
+        }
+        listeners.add(readModel);
+        listeners.add(journal);
     }
     
-    private static synchronized void attemptAuctionStart() {
-        if (clients.size() >= 2 && readyClients.size() == clients.size() && !auctionStarted) {
-            auctionStarted = true;
-            logger.info("Starting auction with " + clients.size() + " teams");
-            broadcast("AUCTION_STARTED");
-            
-           
-            scheduler.schedule(() -> startNextPlayer(), 2, TimeUnit.SECONDS);
+    private static AuctionSnapshot loadSnapshot() {
+        if (!Files.exists(snapshotPath)) return null;
+        try {
+            AuctionSnapshot snapshot = AuctionSnapshot.readFrom(snapshotPath);
+            if (snapshot.journalOffset() > journal.size()) {
+                logger.warning("Snapshot is ahead of the journal; ignoring it and replaying the full journal");
+                return null;
+            }
+            return snapshot;
+        } catch (IOException e) {
+            logger.warning("Unable to read snapshot " + snapshotPath + " (" + e.getMessage() + 
+                           "); replaying the full journal");
+            return null;
         }
     }
     
-    private static synchronized void startNextPlayer() {
-        if (auctionFinished) return;
+    private static void restoreSnapshot(AuctionSnapshot snapshot) {
+        playerIds.clear();
+        playerIds.addAll(snapshot.lotOrder());
+        currentPlayerIndex = snapshot.currentLotIndex();
         
+        openLots.clear();
+        for (AuctionSnapshot.OpenLot open : snapshot.openLots()) {
+            Lot lot = new Lot(open.lotIndex(), open.player());
+            lot.highestBidder = open.standingBidder();
+            lot.highestBid = open.standingBid();
+            openLots.put(lot.index, lot);
+        }
         
-        if (biddingTimer != null) biddingTimer.cancel(false);
-        if (finalizationTimer != null) finalizationTimer.cancel(false);
-        
-        if (++currentPlayerIndex < playerIds.size()) {
-            currentPlayerId = playerIds.get(currentPlayerIndex);
-            finalizationVotes.clear();
+        for (AuctionSnapshot.TeamLedger team : snapshot.teams()) {
+            teamPurses.put(team.name(), team.purse());
+            teamPlayerCounts.put(team.name(), team.playerCount());
+            teamNonIndianCounts.put(team.name(), team.overseasCount());
+        }
+        readModel.restore(snapshot);
+    }
+    
+    /**
+     * Copies the engine's position under its lock, then fills in rosters and sale status
+     * from the read model without holding it. The read model query is queued before the
+     * lock is released, so it sees exactly the events up to the snapshot's journal offset.
+     */
+    private static AuctionSnapshot captureSnapshot() {
+        CompletableFuture<AuctionSnapshot> snapshot;
+        synchronized (Server2.class) {
+            // Every event up to this offset has already been queued for the read model, and the
+            // engine cannot emit more while we hold its lock
+            int journalOffset = journal.size();
+            List<Integer> lotOrder = new ArrayList<>(playerIds);
+            int lotIndex = currentPlayerIndex;
+            List<AuctionSnapshot.OpenLot> open = new ArrayList<>();
+            for (Lot lot : openLots.values()) {
+                open.add(new AuctionSnapshot.OpenLot(lot.index, lot.player, lot.highestBidder, lot.highestBid));
+            }
+            Map<String, Double> purses = new HashMap<>(teamPurses);
+            Map<String, Integer> playerCounts = new HashMap<>(teamPlayerCounts);
+            Map<String, Integer> overseasCounts = new HashMap<>(teamNonIndianCounts);
             
-            try {
-                PreparedStatement ps = connection.prepareStatement(
-                    "SELECT name, base_price_inr, type, nationality FROM players WHERE id = ?");
-                ps.setInt(1, currentPlayerId);
-                ResultSet rs = ps.executeQuery();
+            // Rosters and sale status live in the read model, so fill them in on its thread
+            snapshot = readModel.queryLater(standings -> {
+                List<AuctionSnapshot.TeamLedger> teams = new ArrayList<>();
+                for (Map.Entry<String, Double> team : purses.entrySet()) {
+                    String name = team.getKey();
+                    teams.add(new AuctionSnapshot.TeamLedger(name, team.getValue(),
+                        playerCounts.getOrDefault(name, 0), overseasCounts.getOrDefault(name, 0),
+                        standings.roster(name)));
+                }
                 
-                if (rs.next()) {
-                    currentPlayerName = rs.getString("name");
-                    currentHighestBid = rs.getDouble("base_price_inr");
-                    currentHighestBidder = null;
-                    
-                    String playerType = rs.getString("type");
-                    String nationality = rs.getString("nationality");
-                    
-                    String playerInfo = String.format("NEW_PLAYER:%s:%.2f:Type:%s:Nationality:%s", 
-                        currentPlayerName, currentHighestBid, playerType, nationality);
-                    
-                    broadcast(playerInfo);
-                    logger.info("Started bidding for: " + currentPlayerName + 
-                              " (Base: ₹" + currencyFormat.format(currentHighestBid) + ")");
-                    
-                    
-                    startBiddingTimer();
+                byte[] lotStatus = new byte[lotOrder.size()];
+                for (int i = 0; i < lotStatus.length; i++) {
+                    if (i > lotIndex) {
+                        lotStatus[i] = AuctionSnapshot.PENDING;
+                    } else {
+                        lotStatus[i] = standings.isSold(lotOrder.get(i)) ? AuctionSnapshot.SOLD : AuctionSnapshot.UNSOLD;
+                    }
                 }
-            } catch (SQLException e) {
-                logger.severe("Error fetching player data: " + e.getMessage());
-                broadcast("ERROR:Unable to fetch player data");
-            }
-        } else {
-           
-            finishAuction();
+                for (AuctionSnapshot.OpenLot lot : open) {
+                    lotStatus[lot.lotIndex()] = AuctionSnapshot.OPEN;
+                }
+                
+                return new AuctionSnapshot(journalOffset, lotOrder, lotStatus, lotIndex, open, teams);
+            });
+        }
+        return snapshot.join();
+    }
+    
+    private static void writeSnapshot() {
+        try {
+            long start = System.nanoTime();
+            AuctionSnapshot snapshot = captureSnapshot();
+            int size = snapshot.writeTo(snapshotPath);
+            logger.info(String.format("Snapshot written to %s: %d lots, %d teams, %,d bytes in %.1f ms",
+                snapshotPath, snapshot.lotOrder().size(), snapshot.teams().size(), size,
+                (System.nanoTime() - start) / 1e6));
+        } catch (IOException e) {
+            logger.severe("Error writing snapshot: " + e.getMessage());
         }
     }
     
-    private static void startBiddingTimer() {
-        biddingTimer = scheduler.schedule(() -> {
-            logger.info("Bidding timeout reached for: " + currentPlayerName);
-            broadcast("BIDDING_TIMEOUT:Moving to finalization");
-            startFinalizationTimer();
-        }, BIDDING_TIMEOUT, TimeUnit.MILLISECONDS);
+    private static void scheduleSnapshots() {
+        int interval = Integer.parseInt(option("snapshot-interval", String.valueOf(SNAPSHOT_INTERVAL_SECONDS)));
+        if (interval > 0) {
+            scheduler.scheduleAtFixedRate(Server2::writeSnapshot, interval, interval, TimeUnit.SECONDS);
+        }
     }
     
-    private static void startFinalizationTimer() {
-        finalizationTimer = scheduler.schedule(() -> {
-            logger.info("Finalization timeout reached for: " + currentPlayerName);
-            broadcast("FINALIZATION_TIMEOUT:Auto-finalizing");
-            autoFinalize();
-        }, FINALIZATION_TIMEOUT, TimeUnit.MILLISECONDS);
+    private static void startAdminConsole() {
+        Thread console = new Thread(() -> {
+            try {
+                BufferedReader reader = new BufferedReader(new InputStreamReader(System.in));
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    handleAdminCommand(line.trim());
+                }
+            } catch (IOException e) {
+                logger.warning("Admin console closed: " + e.getMessage());
+            }
+        }, "admin-console");
+        console.setDaemon(true);
+        console.start();
     }
     
-    private static void autoFinalize() {
-        if (currentHighestBidder != null) {
-            handlePlayerSold(currentHighestBidder, currentHighestBid);
-        } else {
-            handlePlayerUnsold();
-        }
+    private static void handleAdminCommand(String line) {
+        if (line.isEmpty()) return;
+        String[] parts = line.split("\\s+");
         
-        
-        scheduler.schedule(() -> startNextPlayer(), 3, TimeUnit.SECONDS);
+        switch (parts[0].toUpperCase()) {
+            case "SNAPSHOT":
+                writeSnapshot();
+                break;
+            case "STATUS":
+                logger.info(String.format("Lot %d of %d (%s), %d teams connected, %d ready; " +
+                    "%d lots were prefetched, %d waited on the store",
+                    currentPlayerIndex + 1, playerIds.size(), openLotNames(),
+                    clients.size(), readyClients.size(), lotQueue.getReady(), lotQueue.getStalls()));
+                logger.info(lotDurationSummary());
+                break;
+            case "EXPORT":
+                String format = parts.length > 1 ? parts[1] : "csv";
+                Path directory = Paths.get(parts.length > 2 ? parts[2] : "export");
+                int journalLimit = journal.size();
+                // Runs off the console thread; the journal is read through its own mapping
+                executor.submit(() -> exportResults(directory, format, journal.getPath(), journalLimit));
+                break;
+            case "DROP":
+                // Cuts connections as a network failure would, to exercise client reconnects
+                for (ClientHandler client : clients.values()) {
+                    if (parts.length == 1 || client.getTeamName().equals(parts[1])) {
+                        logger.info("Dropping connection of " + client.getTeamName());
+                        client.close();
+                    }
+                }
+                break;
+            case "SEALED_ROUND":
+                // SEALED_ROUND [lots] [first|second] [seconds]: the rest of the catalog at second price by default
+                try {
+                    int size = parts.length > 1 ? Integer.parseInt(parts[1]) : Integer.MAX_VALUE;
+                    SealedRound.Pricing pricing = SealedRound.Pricing.valueOf(
+                        (parts.length > 2 ? parts[2] : "second").toUpperCase() + "_PRICE");
+                    long timeout = parts.length > 3 ? Math.round(Double.parseDouble(parts[3]) * 1000) : sealedRoundTimeout;
+                    if (size < 1 || timeout < 1) throw new IllegalArgumentException("size " + size);
+                    requestSealedRound(size, pricing, timeout);
+                } catch (IllegalArgumentException e) {
+                    logger.warning("Usage: SEALED_ROUND [lots] [first|second] [seconds]");
+                }
+                break;
+            case "HELP":
+                logger.info("Admin commands: SNAPSHOT, STATUS, EXPORT [csv|jsonl] [dir], DROP [team], " +
+                    "SEALED_ROUND [lots] [first|second] [seconds], HELP");
+                break;
+            default:
+                logger.warning("Unknown admin command: " + parts[0] + " (try HELP)");
+        }
     }
     
-    private static synchronized void handleBid(String teamName, double bid) {
-        if (auctionFinished || currentPlayerId == -1) {
-            sendToTeam(teamName, "BID_REJECTED:Auction not active");
-            return;
-        }
-        
-       
-        if (bid < currentHighestBid + BID_INCREMENT) {
-            sendToTeam(teamName, "BID_REJECTED:Bid must be at least ₹" + 
-                      currencyFormat.format(currentHighestBid + BID_INCREMENT));
+    /** Puts {@code wrapper} in front of the store the server opens, e.g. {@link SoakTest}'s stand-in. */
+    static void wrapStore(UnaryOperator<AuctionStore> wrapper) {
+        storeWrapper = wrapper;
+    }
+    
+    private static void openStore() throws AuctionStore.StoreException {
+        if (option("store", "mysql").equals("embedded")) {
+            store = metrics.metered(storeWrapper.apply(FileAuctionStore.open(Paths.get(option("data-dir", "auction-data")))),
+                "embedded");
             return;
         }
         
-        
-        Double teamPurse = teamPurses.get(teamName);
-        if (teamPurse == null || teamPurse < bid) {
-            sendToTeam(teamName, "BID_REJECTED:Insufficient funds (Available: ₹" + 
-                      currencyFormat.format(teamPurse != null ? teamPurse : 0) + ")");
+        store = metrics.metered(storeWrapper.apply(MySqlAuctionStore.connect()), "mysql");
+        logger.info("Connected to database successfully");
+    }
+    
+    /**
+     * {@code java Server2 import <catalog.csv> [--store=embedded] [--data-dir=dir]} replaces the
+     * catalog with the players in a CSV file.
+     */
+    private static void runImport(String[] args) {
+        if (args.length < 2 || args[1].startsWith("--")) {
+            logger.severe("Usage: java Server2 import <catalog.csv> [--store=embedded] [--data-dir=dir]");
             return;
         }
+        parseOptions(args);
         
-        
-        if (!validateTeamConstraints(teamName, currentPlayerId)) {
-            return;
+        try {
+            openStore();
+            try (CatalogImporter importer = CatalogImporter.open(Paths.get(args[1]))) {
+                store.replaceCatalog(importer);
+                logger.info(importer.summary());
+                logger.info("Start the next auction with --fresh so the journal matches the new catalog");
+            }
+        } catch (AuctionStore.StoreException | IOException e) {
+            logger.severe("Catalog import failed: " + e.getMessage());
+        } finally {
+            if (store != null) {
+                store.close();
+            }
         }
-        
-       
-        currentHighestBid = bid;
-        currentHighestBidder = teamName;
-        
-        String bidMessage = String.format("NEW_BID:%s:%.2f", teamName, bid);
-        broadcast(bidMessage);
-        
-        logger.info("New bid: ₹" + currencyFormat.format(bid) + " by " + teamName + 
-                   " for " + currentPlayerName);
-        
-        
-        if (biddingTimer != null) biddingTimer.cancel(false);
-        startBiddingTimer();
     }
     
-    private static boolean validateTeamConstraints(String teamName, int playerId) {
+    /**
+     * {@code java Server2 export [--format=csv|jsonl] [--out=dir] [--journal=file] [--store=embedded]}
+     * writes the results of the last auction without starting the server. A finished journal stays
+     * in place until the next server start archives it; pass {@code --journal=} to export an archived one.
+     */
+    private static void runExport(String[] args) {
+        parseOptions(args);
+        Path path = Paths.get(option("journal", "auction.journal"));
+        if (!Files.exists(path)) {
+            logger.warning("No journal at " + path + "; only the catalog will be exported");
+        }
+        
         try {
-            
-            Integer playerCount = teamPlayerCounts.get(teamName);
-            if (playerCount != null && playerCount >= MAX_PLAYERS_PER_TEAM) {
-                sendToTeam(teamName, "BID_REJECTED:Maximum player limit reached (" + 
-                          MAX_PLAYERS_PER_TEAM + ")");
-                return false;
+            openStore();
+        } catch (AuctionStore.StoreException e) {
+            logger.warning("Store unavailable, exporting journal data only: " + e.getMessage());
+        }
+        try {
+            exportResults(Paths.get(option("out", "export")), option("format", "csv"), path, Integer.MAX_VALUE);
+        } finally {
+            if (store != null) {
+                store.close();
             }
+        }
+    }
+    
+    /**
+     * {@code java Server2 replay <recording> [--log=level]} runs a session recorded with
+     * {@code --record} through the engine again, against a scratch copy of the recorded
+     * catalog. Timers fire when the recording says they did rather than after their delay,
+     * so a replay takes as long as the engine needs, not as long as the auction did. A
+     * session recorded with {@code --parallel-lots} replays with as many lots open. Every
+     * broadcast is checked against the recorded one; the exit status is 1 if any differ.
+     */
+    private static boolean runReplay(String[] args) {
+        if (args.length < 2 || args[1].startsWith("--")) {
+            logger.severe("Usage: java Server2 replay <recording> [--log=level]");
+            return false;
+        }
+        parseOptions(args);
+        // Per-lot progress would drown out the divergences
+        logger.setLevel(Level.parse(option("log", "WARNING")));
+        
+        try (AuctionRecording.Reader reader = new AuctionRecording.Reader(Paths.get(args[1]))) {
+            parallelLots = reader.parallelLots();
+            startScratchEngine(reader.catalog());
+            replayedBroadcasts = new ConcurrentLinkedQueue<>();
             
-            
-            PreparedStatement ps = connection.prepareStatement(
-                "SELECT nationality FROM players WHERE id = ?");
-            ps.setInt(1, playerId);
-            ResultSet rs = ps.executeQuery();
-            
-            if (rs.next()) {
-                String nationality = rs.getString("nationality");
-                if (!nationality.equalsIgnoreCase("India")) {
-                    Integer nonIndianCount = teamNonIndianCounts.get(teamName);
-                    if (nonIndianCount != null && nonIndianCount >= MAX_NON_INDIAN_PLAYERS) {
-                        sendToTeam(teamName, "BID_REJECTED:Maximum non-Indian player limit reached (" + 
-                                  MAX_NON_INDIAN_PLAYERS + ")");
-                        return false;
+            Map<Integer, ClientHandler> connections = new HashMap<>();
+            PrintWriter nowhere = new PrintWriter(Writer.nullWriter());
+            long events = 0;
+            long divergences = 0;
+            long recordedMicros = 0;
+            long start = System.nanoTime();
+            AuctionRecording.Event event;
+            while ((event = reader.next()) != null) {
+                events++;
+                recordedMicros = event.micros();
+                virtualTimers.advanceTo(event.micros() / 1_000);
+                String divergence = null;
+                switch (event.kind()) {
+                    case LINE, BATCHED -> connections.computeIfAbsent(event.connection(), connection ->
+                        new ClientHandler(nowhere)).runLine(event.text(), event.kind() == AuctionRecording.Kind.BATCHED);
+                    case CLOSE -> {
+                        ClientHandler client = connections.remove(event.connection());
+                        if (client != null) {
+                            client.cleanup();
+                        }
+                    }
+                    case ADMIN -> handleAdminCommand(event.text());
+                    case TIMER -> {
+                        if (!virtualTimers.fire(event.text())) {
+                            divergence = "the " + event.text() + " timer fired, but none is pending";
+                        }
+                    }
+                    case OUT -> {
+                        String replayed = replayedBroadcasts.poll();
+                        if (!event.text().equals(replayed)) {
+                            divergence = "expected broadcast " + event.text() + " but got " +
+                                (replayed != null ? replayed : "nothing");
+                        }
                     }
                 }
+                if (divergence != null && ++divergences <= MAX_REPORTED_DIVERGENCES) {
+                    logger.warning("Diverged at event " + event.seq() + ": " + divergence);
+                }
+            }
+            for (String extra : replayedBroadcasts) {
+                if (++divergences <= MAX_REPORTED_DIVERGENCES) {
+                    logger.warning("Diverged after the last event: extra broadcast " + extra);
+                }
             }
             
-            return true;
-            
-        } catch (SQLException e) {
-            logger.severe("Error validating team constraints: " + e.getMessage());
-            sendToTeam(teamName, "BID_REJECTED:Database error");
+            double replaySeconds = (System.nanoTime() - start) / 1e9;
+            double recordedSeconds = recordedMicros / 1e6;
+            logger.setLevel(Level.INFO);
+            logger.info(String.format("Replayed %d events: %.1f s recorded in %.2f s (%.0fx), reached lot %d of %d%s; %s",
+                events, recordedSeconds, replaySeconds, recordedSeconds / Math.max(replaySeconds, 1e-6),
+                currentPlayerIndex + 1, playerIds.size(), auctionFinished ? ", finished" : "",
+                divergences == 0 ? "no divergences" : divergences + " divergences"));
+            return divergences == 0;
+        } catch (IOException | AuctionStore.StoreException e) {
+            logger.severe("Replay failed: " + e.getMessage());
             return false;
+        } finally {
+            shutdown();
         }
     }
     
-    private static synchronized void handleFinalize(String teamName) {
-        if (auctionFinished || currentPlayerId == -1) {
-            sendToTeam(teamName, "FINALIZE_REJECTED:No active auction");
-            return;
+    /**
+     * Sets up an engine with no sockets for a replay or {@link AllocationBudget} to drive: a
+     * new auction of {@code catalog} in the given order, on an embedded store and journal in
+     * a temporary directory that {@link #shutdown()} removes. Timers are virtual and fire
+     * only through {@link #fireTimer}; teams join through {@link ClientHandler#ClientHandler(PrintWriter)}.
+     */
+    static void startScratchEngine(List<AuctionStore.Player> catalog) throws IOException, AuctionStore.StoreException {
+        scratchDirectory = Files.createTempDirectory("auction-scratch");
+        store = FileAuctionStore.open(scratchDirectory.resolve("data"));
+        store.replaceCatalog(catalog.iterator());
+        for (int id = 1; id <= catalog.size(); id++) {
+            playerIds.add(id);
         }
-        
-        finalizationVotes.add(teamName);
-        logger.info("Finalization vote from: " + teamName + " (" + finalizationVotes.size() + 
-                   "/" + clients.size() + ")");
-        
-        if (finalizationVotes.size() >= Math.ceil(clients.size() * 0.6)) { 
-            if (finalizationTimer != null) finalizationTimer.cancel(false);
-            
-            if (currentHighestBidder != null) {
-                handlePlayerSold(currentHighestBidder, currentHighestBid);
-            } else {
-                handlePlayerUnsold();
-            }
-            
-            
-            scheduler.schedule(() -> startNextPlayer(), 3, TimeUnit.SECONDS);
-        } else {
-            broadcast("FINALIZATION_PROGRESS:" + finalizationVotes.size() + "/" + clients.size());
+        readModel.start();
+        journal = AuctionJournal.open(scratchDirectory.resolve("auction.journal"), JOURNAL_GROUP_COMMIT_MS);
+        listeners.add(readModel);
+        listeners.add(journal);
+        for (AuctionListener listener : listeners) {
+            listener.catalogLoaded(playerIds);
         }
+        lotQueue = new LotQueue(store, playerIds, LOT_PREFETCH, executor);
+        lotQueue.prefetchFrom(0);
+        virtualTimers = new VirtualTimers();
     }
     
-    private static void handlePlayerSold(String buyerTeam, double price) {
-        try {
-            
-            PreparedStatement updatePlayer = connection.prepareStatement(
-                "UPDATE players SET status = 'Sold' WHERE id = ?");
-            updatePlayer.setInt(1, currentPlayerId);
-            updatePlayer.executeUpdate();
-            
-            
-            double newPurse = teamPurses.get(buyerTeam) - price;
-            teamPurses.put(buyerTeam, newPurse);
-            
-            
-            teamPlayerCounts.put(buyerTeam, teamPlayerCounts.getOrDefault(buyerTeam, 0) + 1);
-            
-           
-            PreparedStatement playerInfo = connection.prepareStatement(
-                "SELECT nationality FROM players WHERE id = ?");
-            playerInfo.setInt(1, currentPlayerId);
-            ResultSet rs = playerInfo.executeQuery();
-            
-            if (rs.next() && !rs.getString("nationality").equalsIgnoreCase("India")) {
-                teamNonIndianCounts.put(buyerTeam, teamNonIndianCounts.getOrDefault(buyerTeam, 0) + 1);
-            }
-            
-            
-            addPlayerToTeam(buyerTeam, currentPlayerId, currentPlayerName, price);
-            
-            String soldMessage = String.format("PLAYER_SOLD:%s:%.2f:Remaining purse: %.2f", 
-                buyerTeam, price, newPurse);
-            broadcast(soldMessage);
-            
-            logger.info(currentPlayerName + " sold to " + buyerTeam + 
-                       " for ₹" + currencyFormat.format(price));
-            
-        } catch (SQLException e) {
-            logger.severe("Error handling player sale: " + e.getMessage());
-            broadcast("ERROR:Database error during player sale");
+    /** Fires the next pending virtual timer of this name, e.g. "bidding"; false if there is none. */
+    static boolean fireTimer(String name) {
+        return virtualTimers.fire(name);
+    }
+    
+    /** Waits until the read model has applied every event so far and every outbox is written. */
+    static void awaitIdle() throws InterruptedException {
+        readModel.awaitCurrent();
+        while (clients.values().stream().anyMatch(client -> client.outboxDepth() > 0)) {
+            Thread.sleep(1);
         }
     }
     
-    private static void handlePlayerUnsold() {
-        broadcast("PLAYER_UNSOLD:" + currentPlayerName);
-        logger.info(currentPlayerName + " went unsold");
+    private static void deleteQuietly(Path directory) {
+        if (directory == null) return;
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            logger.warning("Could not remove " + directory + ": " + e.getMessage());
+        }
     }
     
-    private static void addPlayerToTeam(String teamName, int playerId, String playerName, double price) {
+    /**
+     * Records this session to {@code --record=<file>} for {@code java Server2 replay}. The
+     * recording starts with the catalog in lot order, so only a new auction can be recorded.
+     */
+    private static void startRecording() {
+        String file = option("record", "");
+        if (file.isEmpty()) return;
+        if (currentPlayerIndex >= 0 || !teamPurses.isEmpty()) {
+            logger.warning("Not recording: a resumed auction can't be replayed from the start (use --fresh)");
+            return;
+        }
         try {
-            String tableName = "team_" + teamName.replaceAll("\\s+", "_").toLowerCase();
-            
-            
-            String createTableSQL = String.format(
-                "CREATE TABLE IF NOT EXISTS %s (" +
-                "player_id INT PRIMARY KEY, " +
-                "player_name VARCHAR(100), " +
-                "player_type VARCHAR(50), " +
-                "nationality VARCHAR(100), " +
-                "base_price DECIMAL(10,2), " +
-                "bid_amount DECIMAL(10,2), " +
-                "purchase_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP)",
-                tableName);
-            connection.createStatement().execute(createTableSQL);
-            
-            
-            PreparedStatement getPlayerInfo = connection.prepareStatement(
-                "SELECT type, nationality, base_price_inr FROM players WHERE id = ?");
-            getPlayerInfo.setInt(1, playerId);
-            ResultSet rs = getPlayerInfo.executeQuery();
-            
-            if (rs.next()) {
-                String playerType = rs.getString("type");
-                String nationality = rs.getString("nationality");
-                double basePrice = rs.getDouble("base_price_inr");
-                
-                
-                PreparedStatement insertPlayer = connection.prepareStatement(
-                    String.format("INSERT INTO %s (player_id, player_name, player_type, nationality, base_price, bid_amount) VALUES (?, ?, ?, ?, ?, ?)", tableName));
-                insertPlayer.setInt(1, playerId);
-                insertPlayer.setString(2, playerName);
-                insertPlayer.setString(3, playerType);
-                insertPlayer.setString(4, nationality);
-                insertPlayer.setDouble(5, basePrice);
-                insertPlayer.setDouble(6, price);
-                insertPlayer.executeUpdate();
+            List<AuctionStore.Player> lots = new ArrayList<>(playerIds.size());
+            for (int from = 0; from < playerIds.size(); from += RECORDING_CATALOG_CHUNK) {
+                List<Integer> chunk = playerIds.subList(from, Math.min(from + RECORDING_CATALOG_CHUNK, playerIds.size()));
+                Map<Integer, AuctionStore.Player> players = store.loadPlayers(chunk);
+                for (Integer id : chunk) {
+                    AuctionStore.Player player = players.get(id);
+                    if (player == null) {
+                        throw new AuctionStore.StoreException("Player " + id + " is missing from the catalog");
+                    }
+                    lots.add(player);
+                }
             }
-            
-        } catch (SQLException e) {
-            logger.severe("Error adding player to team: " + e.getMessage());
+            recording = AuctionRecording.create(Paths.get(file), lots, parallelLots);
+            scheduler.scheduleAtFixedRate(recording::flush, 1, 1, TimeUnit.SECONDS);
+            logger.info("Recording this session to " + recording.getPath());
+        } catch (IOException | AuctionStore.StoreException e) {
+            logger.warning("Not recording: " + e.getMessage());
         }
     }
     
-    private static void finishAuction() {
-        auctionFinished = true;
-        broadcast("AUCTION_FINISHED");
-        logger.info("Auction completed successfully");
+    private static void exportResults(Path directory, String format, Path journalPath, int journalLimit) {
+        try {
+            logger.info(ResultExporter.create(directory, format).export(journalPath, journalLimit, store));
+        } catch (IOException | AuctionStore.StoreException | IllegalArgumentException e) {
+            logger.severe("Export failed: " + e.getMessage());
+        }
+    }
+    
+    private static void loadPlayerIds() throws AuctionStore.StoreException {
+        if (!playerIds.isEmpty()) {
+            logger.info("Resuming auction at lot " + (currentPlayerIndex + 1) + " of " + playerIds.size());
+            return;
+        }
         
-       
-        generateAuctionReport();
+        // A new auction offers the whole catalog again; a recovered one never gets here
+        store.resetSales();
+        playerIds.addAll(store.loadAvailablePlayerIds());
         
        
-        scheduler.schedule(() -> {
-            shutdown();
-            System.exit(0);
-        }, 30, TimeUnit.SECONDS);
+        Collections.shuffle(playerIds);
+        for (AuctionListener listener : listeners) {
+            listener.catalogLoaded(playerIds);
+        }
+        logger.info("Loaded " + playerIds.size() + " players for auction");
     }
     
-    private static void generateAuctionReport() {
-        try {
-            logger.info("=== AUCTION SUMMARY ===");
-            
-            for (String teamName : clients.keySet()) {
-                String tableName = "team_" + teamName.replaceAll("\\s+", "_").toLowerCase();
-                
-                PreparedStatement ps = connection.prepareStatement(
-                    String.format("SELECT COUNT(*) as player_count, SUM(bid_amount) as total_spent FROM %s", tableName));
-                ResultSet rs = ps.executeQuery();
-                
-                if (rs.next()) {
-                    int playerCount = rs.getInt("player_count");
-                    double totalSpent = rs.getDouble("total_spent");
-                    double remainingPurse = teamPurses.getOrDefault(teamName, 0.0);
-                    
-                    logger.info(String.format("%s: %d players, ₹%s spent, ₹%s remaining",
-                        teamName, playerCount, currencyFormat.format(totalSpent), 
-                        currencyFormat.format(remainingPurse)));
-                }
-            }
-            
-            // Count unsold players
-            PreparedStatement unsoldPs = connection.prepareStatement(
-                "SELECT COUNT(*) FROM players WHERE status = 'Available'");
-            ResultSet unsoldRs = unsoldPs.executeQuery();
-            if (unsoldRs.next()) {
-                logger.info("Unsold players: " + unsoldRs.getInt(1));
-            }
+    private static synchronized void attemptAuctionStart() {
+        if (clients.size() >= 2 && readyClients.size() == clients.size() && !auctionStarted) {
+            auctionStarted = true;
+            logger.info("Starting auction with " + clients.size() + " teams");
+            broadcast("AUCTION_STARTED");
             
-        } catch (SQLException e) {
-            logger.severe("Error generating auction report: " + e.getMessage());
+           
+            scheduleTimer(Timer.AUCTION_START, () -> {
+                lotsStartedNanos = auctionNanos();
+                resumeOpenLots();
+                fillLots();
+            }, 2000);
         }
     }
     
-    private static synchronized void broadcast(String message) {
-        for (ClientHandler client : clients.values()) {
-            client.sendMessage(message);
+    /** Opens lots until every slot has one. */
+    private static synchronized void fillLots() {
+        for (int free = parallelLots - openLots.size(); free > 0 && !auctionFinished; free--) {
+            startNextPlayer();
         }
     }
     
-    private static synchronized void sendToTeam(String teamName, String message) {
-        ClientHandler client = clients.get(teamName);
-        if (client != null) {
-            client.sendMessage(message);
+    private static synchronized void resumeOpenLots() {
+        for (Lot lot : openLots.values()) {
+            lot.finalizationVotes.clear();
+            // A standing bid from before the restart counts as a bid, though how brisk the bidding was is lost
+            if (lot.highestBidder != null && lot.bids == 0) {
+                lot.bids = 1;
+            }
+            lot.lastBidNanos = auctionNanos();
+            
+            broadcast(lot.announcement);
+            if (lot.highestBidder != null) {
+                broadcast(lot.tag(String.format("NEW_BID:%s:%.2f", lot.highestBidder, lot.highestBid)));
+            }
+            logger.info("Resumed bidding for: " + lot.player.name() + 
+                      " (Standing bid: ₹" + currencyFormat.format(lot.highestBid) + ")");
+            
+            startBiddingTimer(lot);
         }
     }
     
-    private static void displayTeamPlayers(String teamName) {
+    /** Opens the next lot of the catalog, if a slot is free, or finishes the auction once every lot is settled. */
+    private static synchronized void startNextPlayer() {
+        if (auctionFinished || openLots.size() >= parallelLots) return;
+        if (sealedRound != null) {
+            // The round takes the next lots once the last lot open before it has closed
+            if (openLots.isEmpty() && !sealedRound.isOpen()) {
+                openSealedRound();
+            }
+            return;
+        }
+        
+        if (currentPlayerIndex + 1 >= playerIds.size()) {
+            // Lots still open finish on their own; the last of them to close ends the auction
+            if (openLots.isEmpty()) {
+                finishAuction();
+            }
+            return;
+        }
+        
+        int index = ++currentPlayerIndex;
+        int playerId = playerIds.get(index);
         try {
-            String tableName = "team_" + teamName.replaceAll("\\s+", "_").toLowerCase();
-            String query = String.format(
-                "SELECT player_name, player_type, nationality, base_price, bid_amount FROM %s ORDER BY bid_amount DESC", 
-                tableName);
+            AuctionStore.Player player = lotQueue.get(index);
             
-            PreparedStatement ps = connection.prepareStatement(query);
-            ResultSet rs = ps.executeQuery();
-            
-            StringBuilder teamInfo = new StringBuilder();
-            teamInfo.append("=== TEAM ").append(teamName.toUpperCase()).append(" ===\n");
-            
-            double totalSpent = 0;
-            int playerCount = 0;
-            
-            while (rs.next()) {
-                String playerName = rs.getString("player_name");
-                String playerType = rs.getString("player_type");
-                String nationality = rs.getString("nationality");
-                double basePrice = rs.getDouble("base_price");
-                double bidAmount = rs.getDouble("bid_amount");
+            if (player != null) {
+                Lot lot = new Lot(index, player);
+                for (AuctionListener listener : listeners) {
+                    listener.lotOpened(index, playerId, player.name(), player.basePrice(),
+                        player.type(), player.nationality());
+                }
+                openLots.put(index, lot);
+                broadcast(lot.announcement);
+                logger.info("Started bidding for: " + player.name() + 
+                          " (Base: ₹" + currencyFormat.format(player.basePrice()) + ")");
                 
-                teamInfo.append(String.format("%s (%s, %s) - Base: ₹%s, Bought: ₹%s\n",
-                    playerName, playerType, nationality, 
-                    currencyFormat.format(basePrice), currencyFormat.format(bidAmount)));
                 
-                totalSpent += bidAmount;
-                playerCount++;
+                startBiddingTimer(lot);
+            } else {
+                // Gone from the store since the auction began; nothing to offer, so move on
+                logger.warning("Player " + playerId + " is no longer in the store; skipping lot " + (index + 1));
+                scheduleTimer(Timer.LOT_GAP, Server2::startNextPlayer, lotGap);
             }
-            
-            teamInfo.append(String.format("\nTotal Players: %d\n", playerCount));
-            teamInfo.append(String.format("Total Spent: ₹%s\n", currencyFormat.format(totalSpent)));
-            teamInfo.append(String.format("Remaining Purse: ₹%s\n", 
-                currencyFormat.format(teamPurses.getOrDefault(teamName, 0.0))));
-            
-            sendToTeam(teamName, teamInfo.toString());
-            
-        } catch (SQLException e) {
-            logger.severe("Error displaying team players: " + e.getMessage());
-            sendToTeam(teamName, "ERROR:Unable to display team players");
+        } catch (AuctionStore.StoreException e) {
+            logger.severe("Error fetching player data: " + e.getMessage());
+            broadcast("ERROR:Unable to fetch player data");
+            // Offer the same lot again, rather than leave the slot with no lot and no timer
+            currentPlayerIndex--;
+            scheduleTimer(Timer.LOT_GAP, Server2::startNextPlayer, lotGap);
         }
     }
     
-    private static void shutdown() {
-        logger.info("Shutting down server...");
+    private static void startBiddingTimer(Lot lot) {
+        lot.biddingTimer = scheduleTimer(Timer.BIDDING, lot, () -> {
+            logger.info("Bidding timeout reached for: " + lot.player.name());
+            broadcast(lot.tag("BIDDING_TIMEOUT:Moving to finalization"));
+            startFinalizationTimer(lot);
+        }, timerPolicy.biddingWindow(lot.bids, lot.bidGapMillis));
+    }
+    
+    private static void startFinalizationTimer(Lot lot) {
+        lot.finalizationTimer = scheduleTimer(Timer.FINALIZATION, lot, () -> {
+            logger.info("Finalization timeout reached for: " + lot.player.name());
+            broadcast(lot.tag("FINALIZATION_TIMEOUT:Auto-finalizing"));
+            autoFinalize(lot);
+        }, timerPolicy.finalizationWindow(lot.bids));
+    }
+    
+    private static Future<?> scheduleTimer(Timer timer, Runnable task, long delayMillis) {
+        return scheduleTimer(timer, null, task, delayMillis);
+    }
+    
+    /**
+     * Schedules an auction timer, recording how much later than asked for it actually fires.
+     * The task runs under the engine lock, and not at all if it was cancelled while waiting
+     * for the lock, so a bid that lands as the bidding timeout fires wins cleanly. In a
+     * replay the timer waits in virtual time for the recording to fire it. With several lots
+     * open, a lot's timers are recorded under its number, e.g. {@code bidding:12}, so a
+     * replay fires the same lot's timer even when two fell due together.
+     */
+    private static synchronized Future<?> scheduleTimer(Timer timer, Lot lot, Runnable task, long delayMillis) {
+        AuctionMetrics.Histogram drift = timer.drift;
+        String name = lot != null && parallelLots > 1 ? timer.label + ":" + lot.number() : timer.label;
+        long due = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis);
+        // Set before this method releases the lock, and so before the task can take it
+        Future<?>[] self = new Future<?>[1];
+        Runnable fire = () -> {
+            synchronized (Server2.class) {
+                if (self[0].isCancelled()) return;
+                drift.observeNanos(System.nanoTime() - due);
+                if (recording != null) {
+                    recording.timer(name);
+                }
+                task.run();
+            }
+        };
+        self[0] = replaying() ? virtualTimers.schedule(name, fire, delayMillis)
+                              : scheduler.schedule(fire, delayMillis, TimeUnit.MILLISECONDS);
+        return self[0];
+    }
+    
+    private static boolean replaying() {
+        return virtualTimers != null;
+    }
+    
+    /** The clock lots are timed by: System.nanoTime(), or the recording's virtual time in a replay. */
+    private static long auctionNanos() {
+        return replaying() ? TimeUnit.MILLISECONDS.toNanos(virtualTimers.now()) : System.nanoTime();
+    }
+    
+    private static synchronized void autoFinalize(Lot lot) {
+        if (openLots.get(lot.index) != lot) return;
+        settle(lot);
+    }
+    
+    /** Closes the lot with its result, and opens the next one in its slot after the lot gap. */
+    private static void settle(Lot lot) {
+        lot.cancelTimers();
+        openLots.remove(lot.index);
+        long duration = (auctionNanos() - lot.openedNanos) / 1_000_000;
+        if (lot.highestBidder != null) {
+            soldLotDurations.record(duration);
+            handlePlayerSold(lot);
+        } else {
+            unsoldLotDurations.record(duration);
+            handlePlayerUnsold(lot);
+        }
+        logger.fine(String.format("Lot %d closed after %.1f s and %d bids", lot.number(), duration / 1e3, lot.bids));
         
+        scheduleTimer(Timer.LOT_GAP, Server2::startNextPlayer, lotGap);
+    }
+    
+    static Reply handleBid(String teamName, double bid) {
+        return handleBid(teamName, 0, bid);
+    }
+    
+    /** @param lotNumber the lot bid on, or 0 for the only lot open */
+    static synchronized Reply handleBid(String teamName, int lotNumber, double bid) {
+        CommandTrace.Validate validation = new CommandTrace.Validate();
+        validation.begin();
+        Lot lot = lotFor(lotNumber);
+        Reply rejection = validateBid(teamName, lotNumber, lot, bid);
+        validation.amount = bid;
+        validation.rejection = rejection != null ? rejection.reason() : null;
+        CommandTrace.commit(validation, lot != null ? lot.number() : currentPlayerIndex + 1);
+        if (rejection != null) {
+            return rejection;
+        }
         
-        if (biddingTimer != null) biddingTimer.cancel(false);
-        if (finalizationTimer != null) finalizationTimer.cancel(false);
+       
+        lot.highestBid = bid;
+        lot.highestBidder = teamName;
+        lot.bidAccepted();
+        for (AuctionListener listener : listeners) {
+            listener.bidAccepted(lot.player.id(), teamName, bid);
+        }
         
+        String bidMessage = lot.tag(String.format("NEW_BID:%s:%.2f", teamName, bid));
+        broadcast(bidMessage);
         
-        for (ClientHandler client : clients.values()) {
-            client.close();
-        }
+        logger.info("New bid: ₹" + currencyFormat.format(bid) + " by " + teamName + 
+                   " for " + lot.player.name());
         
         
-        executor.shutdown();
+        restartBiddingTimer(lot);
+        return Reply.OK;
+    }
+    
+    /**
+     * The open lot a command names by number, or the only open lot if it names none.
+     *
+     * @return {@code null} if that lot isn't open, or no lot was named while several are
+     */
+    private static Lot lotFor(int lotNumber) {
+        if (lotNumber > 0) {
+            return openLots.get(lotNumber - 1);
+        }
+        return openLots.size() == 1 ? openLots.values().iterator().next() : null;
+    }
+    
+    /** @return the rejection, or {@code null} if the bid stands */
+    private static Reply validateBid(String teamName, int lotNumber, Lot lot, double bid) {
+        // Between a sale and the next lot the slot is empty, so a late bid finds no lot
+        if (!auctionStarted || auctionFinished || lot == null) {
+            if (auctionStarted && lotNumber == 0 && openLots.size() > 1) {
+                return Reply.rejected("BID_REJECTED:Several lots are open; bid as BID:<amount>:<lot>");
+            }
+            return Reply.rejected(lotNumber > 0 && auctionStarted ? "BID_REJECTED:Lot " + lotNumber + " is not open"
+                                                                  : "BID_REJECTED:Auction not active");
+        }
+        
+       
+        if (bid < lot.highestBid + BID_INCREMENT) {
+            return Reply.rejected("BID_REJECTED:Bid must be at least ₹" + 
+                                  currencyFormat.format(lot.highestBid + BID_INCREMENT));
+        }
+        
+        // The team's leading bids on other lots are as good as spent: it must be able to pay
+        // for every lot it leads at once, and have room in its squad for all of them
+        double held = 0;
+        int leading = 0;
+        int leadingOverseas = 0;
+        if (openLots.size() > 1) {
+            for (Lot other : openLots.values()) {
+                if (other != lot && teamName.equals(other.highestBidder)) {
+                    held += other.highestBid;
+                    leading++;
+                    if (other.player.isOverseas()) leadingOverseas++;
+                }
+            }
+        }
+        
+        Double teamPurse = teamPurses.get(teamName);
+        if (teamPurse == null || teamPurse - held < bid) {
+            return Reply.rejected("BID_REJECTED:Insufficient funds (Available: ₹" + 
+                                  currencyFormat.format(teamPurse != null ? teamPurse - held : 0) +
+                                  (held > 0 ? " after ₹" + currencyFormat.format(held) + " held for leading bids" : "") + ")");
+        }
+        
+        
+        return validateTeamConstraints(teamName, lot.player, leading, leadingOverseas);
+    }
+    
+    /** Gives the only open lot a fresh bidding timeout, as every accepted bid does. */
+    static synchronized void restartBiddingTimer() {
+        Lot lot = lotFor(0);
+        if (lot != null) restartBiddingTimer(lot);
+    }
+    
+    private static void restartBiddingTimer(Lot lot) {
+        if (lot.biddingTimer != null) lot.biddingTimer.cancel(false);
+        startBiddingTimer(lot);
+    }
+    
+    /** @return the rejection, or {@code null} if the team may buy the player */
+    static Reply validateTeamConstraints(String teamName, AuctionStore.Player player) {
+        return validateTeamConstraints(teamName, player, 0, 0);
+    }
+    
+    /**
+     * The same, counting {@code leading} other open lots the team would also win as the bids
+     * stand, {@code leadingOverseas} of them overseas players.
+     */
+    private static Reply validateTeamConstraints(String teamName, AuctionStore.Player player, int leading,
+                                                 int leadingOverseas) {
+        
+        Integer playerCount = teamPlayerCounts.get(teamName);
+        if ((playerCount != null ? playerCount : 0) + leading >= MAX_PLAYERS_PER_TEAM) {
+            return Reply.rejected("BID_REJECTED:Maximum player limit reached (" + 
+                                  MAX_PLAYERS_PER_TEAM + ")");
+        }
+        
+        
+        if (player.isOverseas()) {
+            Integer nonIndianCount = teamNonIndianCounts.get(teamName);
+            if ((nonIndianCount != null ? nonIndianCount : 0) + leadingOverseas >= MAX_NON_INDIAN_PLAYERS) {
+                return Reply.rejected("BID_REJECTED:Maximum non-Indian player limit reached (" + 
+                                      MAX_NON_INDIAN_PLAYERS + ")");
+            }
+        }
+        
+        return null;
+    }
+    
+    /** @param lotNumber the lot voted on, or 0 for the only lot open */
+    private static synchronized Reply handleFinalize(String teamName, int lotNumber) {
+        // Late votes for a lot that was just settled must not settle it again
+        Lot lot = lotFor(lotNumber);
+        if (!auctionStarted || auctionFinished || lot == null) {
+            if (auctionStarted && lotNumber == 0 && openLots.size() > 1) {
+                return Reply.rejected("FINALIZE_REJECTED:Several lots are open; vote as FINALIZE_PLAYER:<lot>");
+            }
+            return Reply.rejected("FINALIZE_REJECTED:No active auction");
+        }
+        
+        lot.finalizationVotes.add(teamName);
+        logger.info("Finalization vote from: " + teamName + " (" + lot.finalizationVotes.size() + 
+                   "/" + clients.size() + ")");
+        
+        if (lot.finalizationVotes.size() >= Math.ceil(clients.size() * 0.6)) { 
+            settle(lot);
+        } else {
+            broadcast(lot.tag("FINALIZATION_PROGRESS:" + lot.finalizationVotes.size() + "/" + clients.size()));
+        }
+        return Reply.OK;
+    }
+    
+    private static void handlePlayerSold(Lot lot) {
+        AuctionStore.Player player = lot.player;
+        String buyerTeam = lot.highestBidder;
+        double price = lot.highestBid;
+        try {
+            double newPurse = recordSale(player, buyerTeam, price, lot.number());
+            
+            String soldMessage = lot.tag(String.format("PLAYER_SOLD:%s:%.2f:Remaining purse: %.2f", 
+                buyerTeam, price, newPurse));
+            broadcast(soldMessage);
+            
+            logger.info(player.name() + " sold to " + buyerTeam + 
+                       " for ₹" + currencyFormat.format(price));
+            
+        } catch (AuctionStore.StoreException e) {
+            logger.severe("Error handling player sale: " + e.getMessage());
+            broadcast("ERROR:Database error during player sale");
+        }
+    }
+    
+    /**
+     * Writes a sale to the store, the buyer's ledger and every listener.
+     *
+     * @return the buyer's purse after the sale
+     */
+    private static double recordSale(AuctionStore.Player player, String buyerTeam, double price, int lotNumber)
+            throws AuctionStore.StoreException {
+        CommandTrace.Persist persist = new CommandTrace.Persist();
+        persist.begin();
+        
+        store.recordSale(player, buyerTeam, price);
+        
+        
+        double newPurse = teamPurses.get(buyerTeam) - price;
+        teamPurses.put(buyerTeam, newPurse);
+        
+        
+        teamPlayerCounts.put(buyerTeam, teamPlayerCounts.getOrDefault(buyerTeam, 0) + 1);
+        
+       
+        boolean overseas = player.isOverseas();
+        if (overseas) {
+            teamNonIndianCounts.put(buyerTeam, teamNonIndianCounts.getOrDefault(buyerTeam, 0) + 1);
+        }
+        for (AuctionListener listener : listeners) {
+            listener.playerSold(player.id(), buyerTeam, price, overseas);
+        }
+        persist.playerId = player.id();
+        persist.price = price;
+        CommandTrace.commit(persist, lotNumber);
+        return newPurse;
+    }
+    
+    private static void handlePlayerUnsold(Lot lot) {
+        for (AuctionListener listener : listeners) {
+            listener.playerUnsold(lot.player.id());
+        }
+        broadcast(lot.tag("PLAYER_UNSOLD:" + lot.player.name()));
+        logger.info(lot.player.name() + " went unsold");
+    }
+    
+    private static synchronized int openLotCount() {
+        return openLots.size();
+    }
+    
+    /** The players of the open lots, for the console. */
+    private static synchronized String openLotNames() {
+        if (openLots.isEmpty()) return "between lots";
+        StringBuilder names = new StringBuilder();
+        for (Lot lot : openLots.values()) {
+            if (names.length() > 0) names.append(", ");
+            names.append(lot.player.name());
+            if (parallelLots > 1) names.append(" (lot ").append(lot.number()).append(')');
+        }
+        return names.toString();
+    }
+    
+    /** A team that leaves no longer counts towards finalizing any lot. */
+    private static synchronized void withdrawVotes(String teamName) {
+        for (Lot lot : openLots.values()) {
+            lot.finalizationVotes.remove(teamName);
+        }
+    }
+    
+    /**
+     * Queues a sealed round of the next {@code size} lots of the catalog. It opens as soon
+     * as no lot is open, and no lot opens until it has been cleared.
+     */
+    private static synchronized void requestSealedRound(int size, SealedRound.Pricing pricing, long timeout) {
+        if (!auctionStarted || auctionFinished || sealedRound != null) {
+            logger.warning("A sealed round needs a running auction with no other round under way");
+            return;
+        }
+        if (recording != null) {
+            // Spelled out in full, so a replay opens the same round whatever its own options
+            recording.admin(String.format("SEALED_ROUND %d %s %s", size,
+                pricing == SealedRound.Pricing.FIRST_PRICE ? "first" : "second", timeout / 1000.0));
+        }
+        sealedRound = new SealedRound(size, pricing, timeout);
+        if (openLots.isEmpty()) {
+            openSealedRound();
+        } else {
+            logger.info("Sealed round will open once the " + openLots.size() + " open lots close");
+        }
+    }
+    
+    private static void openSealedRound() {
+        SealedRound round = sealedRound;
+        int first = currentPlayerIndex + 1;
+        int end = (int) Math.min((long) first + round.size(), playerIds.size());
+        List<SealedRound.Lot> lots = new ArrayList<>();
+        try {
+            for (int index = first; index < end; index++) {
+                AuctionStore.Player player = lotQueue.get(index);
+                // A player gone from the store since the auction began is skipped, as between lots
+                if (player != null) {
+                    lots.add(new SealedRound.Lot(index, player));
+                }
+            }
+        } catch (AuctionStore.StoreException e) {
+            logger.severe("Sealed round called off, unable to fetch player data: " + e.getMessage());
+            broadcast("ERROR:Unable to fetch player data");
+            lots.clear();
+        }
+        if (lots.isEmpty()) {
+            sealedRound = null;
+            scheduleTimer(Timer.LOT_GAP, Server2::fillLots, lotGap);
+            return;
+        }
+        
+        round.open(lots);
+        sealedRoundTimer = scheduleTimer(Timer.SEALED_ROUND, Server2::closeSealedRound, round.timeout());
+        broadcast(String.format("SEALED_ROUND_OPEN:%d-%d:%s:%d", first + 1, end, round.pricing(),
+            round.timeout() / 1000));
+        logger.info(String.format("Sealed round open on lots %d-%d (%d players, %s) for %d s",
+            first + 1, end, lots.size(), round.pricing(), round.timeout() / 1000));
+    }
+    
+    /**
+     * Clears the sealed round in one pass, selling each lot through the same purse and squad
+     * checks as an open bid, then goes back to lot-by-lot bidding after the lot gap.
+     */
+    private static synchronized void closeSealedRound() {
+        SealedRound round = sealedRound;
+        if (round == null || !round.isOpen()) return;
+        if (sealedRoundTimer != null) sealedRoundTimer.cancel(false);
+        long start = System.nanoTime();
+        int bids = round.bidCount();
+        
+        // Every lot opens before any sells, so the journal ends with the round's last lot as the current one
+        for (SealedRound.Lot lot : round.lots()) {
+            AuctionStore.Player player = lot.player();
+            for (AuctionListener listener : listeners) {
+                listener.lotOpened(lot.index(), player.id(), player.name(), player.basePrice(),
+                    player.type(), player.nationality());
+            }
+            currentPlayerIndex = lot.index();
+        }
+        
+        List<SealedRound.Lot> unsold = round.resolve((lot, team, price) -> {
+            Double purse = teamPurses.get(team);
+            if (purse == null || purse < price || validateTeamConstraints(team, lot.player()) != null) {
+                return false;
+            }
+            try {
+                double newPurse = recordSale(lot.player(), team, price, lot.number());
+                broadcast(String.format("SEALED_SOLD:%d:%s:%s:%.2f:Remaining purse: %.2f",
+                    lot.number(), lot.player().name(), team, price, newPurse));
+                return true;
+            } catch (AuctionStore.StoreException e) {
+                logger.severe("Error handling player sale: " + e.getMessage());
+                broadcast("ERROR:Database error during player sale");
+                return false;
+            }
+        });
+        for (SealedRound.Lot lot : unsold) {
+            for (AuctionListener listener : listeners) {
+                listener.playerUnsold(lot.player().id());
+            }
+            broadcast("SEALED_UNSOLD:" + lot.number() + ":" + lot.player().name());
+        }
+        
+        int sold = round.lots().size() - unsold.size();
+        broadcast("SEALED_ROUND_CLOSED:" + sold + ":" + unsold.size());
+        logger.info(String.format("Sealed round cleared %d lots on %d bids in %.1f ms: %d sold, %d unsold",
+            round.lots().size(), bids, (System.nanoTime() - start) / 1e6, sold, unsold.size()));
+        sealedRound = null;
+        sealedRoundTimer = null;
+        scheduleTimer(Timer.LOT_GAP, Server2::fillLots, lotGap);
+    }
+    
+    /** {@code SEALED_BID:<lot>:<amount>} places, changes or, with an amount of 0, withdraws a sealed bid. */
+    private static synchronized Reply handleSealedBid(String teamName, int lotNumber, double amount) {
+        SealedRound round = sealedRound;
+        if (round == null || !round.isOpen()) {
+            return Reply.rejected("SEALED_BID_REJECTED:No sealed round open");
+        }
+        SealedRound.Lot lot = round.lot(lotNumber);
+        if (lot == null) {
+            return Reply.rejected("SEALED_BID_REJECTED:Lot " + lotNumber + " is not in this round");
+        }
+        if (amount == 0) {
+            round.withdraw(teamName, lot);
+            return Reply.OK;
+        }
+        
+        // Checked again when the round is cleared, against what the team has won by then
+        if (amount < lot.player().basePrice()) {
+            return Reply.rejected("SEALED_BID_REJECTED:Bid must be at least ₹" + 
+                                  currencyFormat.format(lot.player().basePrice()));
+        }
+        Double teamPurse = teamPurses.get(teamName);
+        if (teamPurse == null || teamPurse < amount) {
+            return Reply.rejected("SEALED_BID_REJECTED:Insufficient funds (Available: ₹" + 
+                                  currencyFormat.format(teamPurse != null ? teamPurse : 0) + ")");
+        }
+        Reply rejection = validateTeamConstraints(teamName, lot.player());
+        if (rejection != null) {
+            return Reply.rejected("SEALED_" + rejection.message());
+        }
+        
+        round.bid(teamName, lot, amount);
+        return Reply.OK;
+    }
+    
+    /** A team has placed all its sealed bids; once every connected team has, the round closes early. */
+    private static synchronized Reply handleSealedDone(String teamName) {
+        SealedRound round = sealedRound;
+        if (round == null || !round.isOpen()) {
+            return Reply.rejected("SEALED_DONE_REJECTED:No sealed round open");
+        }
+        round.done(teamName);
+        long done = clients.keySet().stream().filter(round::isDone).count();
+        logger.info("Sealed bids complete from: " + teamName + " (" + done + "/" + clients.size() + ")");
+        
+        if (done >= clients.size()) {
+            closeSealedRound();
+        } else {
+            broadcast("SEALED_ROUND_PROGRESS:" + done + "/" + clients.size());
+        }
+        return Reply.OK;
+    }
+    
+    /**
+     * The open sealed round, as {@code SEALED_ROUND:<lots>:<pricing>} followed by
+     * {@code LOT:<number>:<player>:<base>:<type>:<nationality>:<your bid>} for each lot; the
+     * bid is 0 where the team has none.
+     */
+    private static synchronized Reply sealedRoundView(String teamName) {
+        SealedRound round = sealedRound;
+        if (round == null || !round.isOpen()) {
+            return Reply.rejected("ROUND_REJECTED:No sealed round open");
+        }
+        StringBuilder view = new StringBuilder("SEALED_ROUND:").append(round.lots().size())
+            .append(':').append(round.pricing());
+        for (SealedRound.Lot lot : round.lots()) {
+            AuctionStore.Player player = lot.player();
+            view.append(String.format("%nLOT:%d:%s:%.2f:%s:%s:%.2f", lot.number(), player.name(), player.basePrice(),
+                player.type(), player.nationality(), round.bidOf(teamName, lot)));
+        }
+        return Reply.ok(view.toString());
+    }
+    
+    private static void finishAuction() {
+        auctionFinished = true;
+        for (AuctionListener listener : listeners) {
+            listener.auctionFinished();
+        }
+        broadcast("AUCTION_FINISHED");
+        logger.info("Auction completed successfully");
+        logger.info(lotDurationSummary());
+        
+       
+        generateAuctionReport();
+        
+       
+        if (!replaying()) {
+            scheduler.schedule(() -> {
+                shutdown();
+                System.exit(0);
+            }, 30, TimeUnit.SECONDS);
+        }
+    }
+    
+    /** How long sold and unsold lots took, and the lots per hour since the first lot opened, for tuning the timers. */
+    private static synchronized String lotDurationSummary() {
+        long lots = soldLotDurations.count() + unsoldLotDurations.count();
+        double hours = lotsStartedNanos == 0 ? 0 : (auctionNanos() - lotsStartedNanos) / 3.6e12;
+        return String.format("Lot durations (%s timers): %s sold, %s unsold; %,.0f lots/hour",
+            timerPolicy instanceof TimerPolicy.Adaptive ? "adaptive" : "fixed", durations(soldLotDurations),
+            durations(unsoldLotDurations), hours > 0 ? lots / hours : 0);
+    }
+    
+    private static String durations(LatencyHistogram lots) {
+        if (lots.count() == 0) return "0";
+        return String.format("%d (mean %.1f s, p50 %.1f s, p90 %.1f s)", lots.count(), lots.mean() / 1e3,
+            lots.percentile(50) / 1e3, lots.percentile(90) / 1e3);
+    }
+    
+    private static void generateAuctionReport() {
+        logger.info("=== AUCTION SUMMARY ===");
+        
+        StandingsView standings = readModel.awaitCurrent();
+        for (String teamName : clients.keySet()) {
+            logger.info(standings.summaryLine(teamName));
+        }
+        
+        logger.info("Unsold players: " + standings.unsold() + " (" + standings.passed() + " passed in)");
+    }
+    
+    /**
+     * Puts the engine straight into a live lot for {@code player}, with {@code teams} logged in
+     * through {@code out} and purses too deep to run dry, and no store, journal or sockets
+     * behind it, so {@link EngineBenchmark} can time the bid path in isolation.
+     */
+    static synchronized void openLotForBenchmark(AuctionStore.Player player, List<String> teams, PrintWriter out) {
+        clients.values().forEach(ClientHandler::close);
+        clients.clear();
+        for (String team : teams) {
+            clients.put(team, new ClientHandler(team, out));
+            teamPurses.put(team, Double.MAX_VALUE);
+            teamPlayerCounts.put(team, 0);
+            teamNonIndianCounts.put(team, 0);
+        }
+        openLots.values().forEach(Lot::cancelTimers);
+        openLots.clear();
+        openLots.put(0, new Lot(0, player));
+        auctionStarted = true;
+    }
+    
+    static synchronized void broadcast(String message) {
+        CommandTrace.Fanout fanout = new CommandTrace.Fanout();
+        fanout.begin();
+        if (recording != null) {
+            recording.broadcast(message);
+        }
+        if (replayedBroadcasts != null) {
+            replayedBroadcasts.add(message);
+        }
+        int recipients = 0;
+        for (ClientHandler client : clients.values()) {
+            client.sendMessage(message);
+            recipients++;
+        }
+        if (fanout.isEnabled()) {
+            int colon = message.indexOf(':');
+            fanout.messageType = colon < 0 ? message : message.substring(0, colon);
+            fanout.recipients = recipients;
+        }
+        CommandTrace.commit(fanout, currentPlayerIndex + 1);
+    }
+    
+    private static Reply displayTeamPlayers(String teamName) {
+        return Reply.ok(readModel.current().teamView(teamName));
+    }
+    
+    /**
+     * Everything a reconnecting client needs to redraw its screen, as
+     * {@code STATE:<WAITING|LIVE|FINISHED>:Player:<name>:Bid:<amount>:Bidder:<team>:Purse:<amount>};
+     * the player and bidder are empty when there are none. With several lots open this is
+     * the oldest of them, tagged with its number like the broadcasts; {@code LOTS} lists them all.
+     */
+    private static synchronized Reply auctionState(String teamName) {
+        String phase = auctionFinished ? "FINISHED" : auctionStarted ? "LIVE" : "WAITING";
+        Lot lot = openLots.isEmpty() ? null : openLots.values().iterator().next();
+        String state = String.format("STATE:%s:Player:%s:Bid:%.2f:Bidder:%s:Purse:%.2f", phase,
+            lot != null ? lot.player.name() : "", lot != null ? lot.highestBid : 0,
+            lot != null && lot.highestBidder != null ? lot.highestBidder : "",
+            teamPurses.getOrDefault(teamName, 0.0));
+        return Reply.ok(lot != null ? lot.tag(state) : state);
+    }
+    
+    /**
+     * The open lots, oldest first, as {@code OPEN_LOTS:<count>} followed by a
+     * {@code LOT:<number>:<player>:<bid>:<bidder>} line for each; the bidder is empty if
+     * nobody has bid yet.
+     */
+    private static synchronized Reply openLotsView() {
+        StringBuilder view = new StringBuilder("OPEN_LOTS:").append(openLots.size());
+        for (Lot lot : openLots.values()) {
+            view.append(String.format("%nLOT:%d:%s:%.2f:%s", lot.number(), lot.player.name(), lot.highestBid,
+                lot.highestBidder != null ? lot.highestBidder : ""));
+        }
+        return Reply.ok(view.toString());
+    }
+    
+    private static Reply displayStandings() {
+        return Reply.ok(readModel.current().leagueTable());
+    }
+    
+    static void shutdown() {
+        logger.info("Shutting down server...");
+        
+        
+        synchronized (Server2.class) {
+            openLots.values().forEach(Lot::cancelTimers);
+            if (sealedRoundTimer != null) sealedRoundTimer.cancel(false);
+        }
+        
+        
+        for (ClientHandler client : clients.values()) {
+            client.close();
+        }
+        
+        
+        executor.shutdown();
         scheduler.shutdown();
         
         try {
@@ -572,35 +1514,154 @@ public class Server2 {
             scheduler.shutdownNow();
         }
         
+        if (journal != null) {
+            journal.close();
+        }
         
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-                logger.info("Database connection closed");
-            }
-        } catch (SQLException e) {
-            logger.severe("Error closing database connection: " + e.getMessage());
+        if (store != null) {
+            store.close();
+            logger.info("Auction store closed");
+        }
+        metrics.stop();
+        if (recording != null) {
+            recording.close();
         }
+        deleteQuietly(scratchDirectory);
         
         logger.info("Server shutdown complete");
     }
     
-    private static class ClientHandler implements Runnable {
+    /**
+     * The direct answer to one client command. Broadcasts the command causes are sent
+     * separately; {@code message} is {@code null} when there is nothing else to say.
+     */
+    record Reply(boolean accepted, String message) {
+        static final Reply OK = new Reply(true, null);
+        
+        static Reply ok(String message) {
+            return new Reply(true, message);
+        }
+        
+        static Reply rejected(String message) {
+            return new Reply(false, message);
+        }
+        
+        /** The text after the message type, e.g. the reason in {@code BID_REJECTED:<reason>}. */
+        String reason() {
+            int colon = message.indexOf(':');
+            return colon < 0 ? message : message.substring(colon + 1);
+        }
+    }
+    
+    /**
+     * One lot under the hammer: its player, standing bid, finalization votes and timers.
+     * Guarded by the engine lock.
+     */
+    private static final class Lot {
+        final int index; // in the catalog order
+        final AuctionStore.Player player;
+        final String announcement;
+        final Set<String> finalizationVotes = new HashSet<>();
+        final long openedNanos = auctionNanos();
+        String highestBidder;
+        double highestBid;
+        int bids;               // accepted while this server has had the lot open
+        long lastBidNanos = openedNanos;
+        long bidGapMillis;      // recent gap between bids, for the timer policy
+        Future<?> biddingTimer;
+        Future<?> finalizationTimer;
+        
+        Lot(int index, AuctionStore.Player player) {
+            this.index = index;
+            this.player = player;
+            this.highestBid = player.basePrice();
+            this.announcement = tag(String.format("NEW_PLAYER:%s:%.2f:Type:%s:Nationality:%s",
+                player.name(), player.basePrice(), player.type(), player.nationality()));
+        }
+        
+        /** The lot number teams see, counting from 1. */
+        int number() {
+            return index + 1;
+        }
+        
+        /** With several lots open, a message about this one ends with {@code :Lot:<number>}. */
+        String tag(String message) {
+            return parallelLots > 1 ? message + ":Lot:" + number() : message;
+        }
+        
+        /** Counts an accepted bid and folds its gap since the last into the recent gap, halving the weight of older gaps. */
+        void bidAccepted() {
+            long now = auctionNanos();
+            long gap = Math.max(1, (now - lastBidNanos) / 1_000_000); // 0 would read as unknown
+            bidGapMillis = bids == 0 ? gap : (bidGapMillis + gap) / 2;
+            bids++;
+            lastBidNanos = now;
+        }
+        
+        void cancelTimers() {
+            if (biddingTimer != null) biddingTimer.cancel(false);
+            if (finalizationTimer != null) finalizationTimer.cancel(false);
+        }
+    }
+    
+    /** The auction's timers, by the name recordings give them, each with its drift histogram resolved once. */
+    private enum Timer {
+        AUCTION_START, LOT_GAP, BIDDING, FINALIZATION, SEALED_ROUND, SESSION_EXPIRY;
+        
+        final String label = name().toLowerCase(Locale.ROOT);
+        final AuctionMetrics.Histogram drift = metrics.histogram("auction_timer_drift_seconds",
+            "How late auction timers fire after their due time.", "timer", label);
+    }
+    
+    /**
+     * What a team keeps across connections: the token that lets it resume, and the answers to
+     * its recent sequenced commands, so a command retried on the new connection is not run twice.
+     */
+    private record Session(String token, ReplayWindow replies) {}
+    
+    /**
+     * One connection. Everything sent to it goes through its outbox and is written by its
+     * own writer task, so a broadcast only queues the message and a slow client holds up
+     * nobody but itself. The writer holds each run of messages until the journal records
+     * appended before them are on disk, so no team hears of a bid or sale a crash could lose.
+     */
+    static class ClientHandler implements Runnable {
+        // journaled: how far the journal had been written when the message was queued
+        private record Outgoing(String text, long queuedAt, int journaled) {}
+        
         private final Socket socket;
+        private final int connection = nextConnection.incrementAndGet();
+        private final BlockingQueue<Outgoing> outbox = new LinkedBlockingQueue<>(OUTBOX_CAPACITY);
         private PrintWriter out;
+        private volatile Future<?> writer;
         private BufferedReader in;
         private String teamName;
-        private boolean connected = true;
+        private volatile boolean connected = true;
+        private volatile ReplayWindow replayWindow = new ReplayWindow();
         
         public ClientHandler(Socket socket) {
             this.socket = socket;
         }
         
+        /** A connection with no socket behind it, whose output goes to {@code out}. */
+        ClientHandler(PrintWriter out) {
+            this.socket = null;
+            this.out = out;
+            this.writer = executor.submit(this::writeOutbox);
+        }
+        
+        /** The same, already logged in as {@code teamName}. */
+        ClientHandler(String teamName, PrintWriter out) {
+            this(out);
+            this.teamName = teamName;
+        }
+        
         @Override
         public void run() {
             try {
                 in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-                out = new PrintWriter(socket.getOutputStream(), true);
+                out = new PrintWriter(socket.getOutputStream());
+                writer = executor.submit(this::writeOutbox);
                 
                 logger.info("Client connected from: " + socket.getInetAddress());
                 
@@ -618,95 +1679,362 @@ public class Server2 {
             }
         }
         
-        private void processMessage(String message) {
+        void processMessage(String message) throws IOException {
+            if (message.startsWith("BATCH:")) {
+                processBatch(message.substring(6));
+                return;
+            }
+            
+            String answer = runLine(message, false);
+            if (answer != null) {
+                sendMessage(answer);
+            }
+        }
+        
+        /**
+         * Decodes and runs one command line, traced as a {@link CommandTrace.Command}.
+         * While recording, commands run one at a time, so the recording has them in the
+         * order they took effect.
+         *
+         * @return what to send back, or {@code null} if nothing
+         */
+        private String runLine(String line, boolean batched) {
+            AuctionRecording session = recording;
+            if (session == null) {
+                return traceLine(line, batched);
+            }
+            synchronized (Server2.class) {
+                session.command(connection, line, batched);
+                return traceLine(line, batched);
+            }
+        }
+        
+        private String traceLine(String line, boolean batched) {
+            CommandTrace.Command trace = CommandTrace.start(teamName);
+            String command = line;
+            boolean accepted = false;
+            try {
+                CommandTrace.Decode decode = new CommandTrace.Decode();
+                decode.begin();
+                long seq = sequenceNumber(line);
+                if (seq >= 0) {
+                    command = line.substring(line.indexOf('#') + 1);
+                }
+                CommandTrace.decoded(decode, seq, currentPlayerIndex + 1);
+                
+                if (seq >= 0) {
+                    String answer = answer(seq, command);
+                    accepted = answer.startsWith("ACK:");
+                    return answer;
+                }
+                if (batched) {
+                    return "ERROR:Batched commands need a sequence number";
+                }
+                Reply reply = execute(command);
+                accepted = reply.accepted();
+                return reply.message();
+            } finally {
+                int colon = command.indexOf(':');
+                CommandTrace.finish(trace, teamName, colon < 0 ? command : command.substring(0, colon),
+                    accepted, currentPlayerIndex + 1);
+            }
+        }
+        
+        /**
+         * Runs the {@code <seq>#<command>} lines that follow {@code BATCH:<count>} in order and
+         * writes all of their answers back in one go.
+         */
+        private void processBatch(String count) throws IOException {
+            int size;
+            try {
+                size = Integer.parseInt(count.trim());
+            } catch (NumberFormatException e) {
+                size = -1;
+            }
+            if (size < 1 || size > MAX_BATCH) {
+                sendMessage("ERROR:Batch size must be 1-" + MAX_BATCH);
+                return;
+            }
+            
+            StringBuilder answers = new StringBuilder();
+            for (int i = 0; i < size; i++) {
+                String line = in.readLine();
+                if (line == null) {
+                    connected = false;
+                    break;
+                }
+                if (answers.length() > 0) answers.append('\n');
+                answers.append(runLine(line, true));
+            }
+            if (answers.length() > 0) {
+                sendMessage(answers.toString());
+            }
+        }
+        
+        /** @return the {@code <seq>} of a {@code <seq>#<command>} line, or -1 if it has none */
+        private static long sequenceNumber(String line) {
+            int hash = line.indexOf('#');
+            if (hash <= 0 || hash > 18) return -1;
+            for (int i = 0; i < hash; i++) {
+                if (!Character.isDigit(line.charAt(i))) return -1;
+            }
+            return Long.parseLong(line.substring(0, hash));
+        }
+        
+        /**
+         * Runs a sequenced command at most once per session. The answer is
+         * {@code ACK:<seq>}, {@code ACK:<seq>:<n>} followed by n lines of reply text, or
+         * {@code NACK:<seq>:<reason>}; a retry of a sequence number already run gets the
+         * same answer again.
+         */
+        private String answer(long seq, String command) {
+            // A RESUME swaps in the session's window; its own answer goes in the old one
+            ReplayWindow window = replayWindow;
+            synchronized (window) {
+                return answer(window, seq, command);
+            }
+        }
+        
+        private String answer(ReplayWindow window, long seq, String command) {
+            if (window.isStale(seq)) {
+                return "NACK:" + seq + ":Sequence number outside the retry window";
+            }
+            String previous = window.replyFor(seq);
+            if (previous != null) {
+                logger.info("Replaying answer to duplicate command " + seq + " from " + teamName);
+                return previous;
+            }
+            
+            Reply reply = execute(command);
+            String answer;
+            if (!reply.accepted()) {
+                answer = "NACK:" + seq + ":" + reply.reason();
+            } else if (reply.message() == null) {
+                answer = "ACK:" + seq;
+            } else {
+                String text = reply.message().endsWith("\n")
+                    ? reply.message().substring(0, reply.message().length() - 1) : reply.message();
+                answer = "ACK:" + seq + ":" + text.split("\n", -1).length + "\n" + text;
+            }
+            window.record(seq, answer);
+            return answer;
+        }
+        
+        private Reply execute(String message) {
             try {
                 if (message.startsWith("LOGIN:")) {
-                    handleLogin(message.substring(6));
-                    
-                } else if (message.startsWith("BID:")) {
-                    if (teamName != null) {
-                        double bid = Double.parseDouble(message.substring(4));
-                        handleBid(teamName, bid);
+                    return handleLogin(message.substring(6));
+                }
+                if (message.startsWith("RESUME:")) {
+                    return handleResume(message.substring(7));
+                }
+                if (message.equals("EXIT")) {
+                    connected = false;
+                    return Reply.OK;
+                }
+                if (teamName == null) {
+                    return Reply.rejected("ERROR:Log in first");
+                }
+                
+                if (message.startsWith("BID:")) {
+                    // BID:<amount>, or BID:<amount>:<lot> to name one of several open lots
+                    long received = System.nanoTime();
+                    int colon = message.indexOf(':', 4);
+                    double bid = Double.parseDouble(colon < 0 ? message.substring(4) : message.substring(4, colon));
+                    Reply reply = handleBid(teamName, colon < 0 ? 0 : Integer.parseInt(message.substring(colon + 1)), bid);
+                    if (reply.accepted()) {
+                        bidsAccepted.increment();
+                        bidToBroadcast.observeNanos(System.nanoTime() - received);
+                    } else {
+                        bidsRejected.increment();
                     }
+                    return reply;
                     
                 } else if (message.equals("READY")) {
-                    if (teamName != null) {
-                        readyClients.add(teamName);
-                        logger.info("Team ready: " + teamName);
-                        broadcast("TEAM_READY:" + teamName);
-                        attemptAuctionStart();
-                    }
+                    readyClients.add(teamName);
+                    logger.info("Team ready: " + teamName);
+                    broadcast("TEAM_READY:" + teamName);
+                    attemptAuctionStart();
+                    return Reply.OK;
                     
                 } else if (message.equals("FINALIZE_PLAYER")) {
-                    if (teamName != null) {
-                        handleFinalize(teamName);
-                    }
+                    return handleFinalize(teamName, 0);
+                    
+                } else if (message.startsWith("FINALIZE_PLAYER:")) {
+                    return handleFinalize(teamName, Integer.parseInt(message.substring(16)));
                     
                 } else if (message.equals("DISPLAY_TEAMS")) {
-                    if (teamName != null) {
-                        displayTeamPlayers(teamName);
+                    return displayTeamPlayers(teamName);
+                    
+                } else if (message.equals("STANDINGS")) {
+                    return displayStandings();
+                    
+                } else if (message.equals("STATE")) {
+                    return auctionState(teamName);
+                    
+                } else if (message.equals("LOTS")) {
+                    return openLotsView();
+                    
+                } else if (message.startsWith("SEALED_BID:")) {
+                    int colon = message.indexOf(':', 11);
+                    if (colon < 0) {
+                        return Reply.rejected("SEALED_BID_REJECTED:Use SEALED_BID:<lot>:<amount>");
                     }
+                    return handleSealedBid(teamName, Integer.parseInt(message.substring(11, colon)),
+                        Double.parseDouble(message.substring(colon + 1)));
                     
-                } else if (message.equals("EXIT")) {
-                    connected = false;
+                } else if (message.equals("SEALED_DONE")) {
+                    return handleSealedDone(teamName);
+                    
+                } else if (message.equals("ROUND")) {
+                    return sealedRoundView(teamName);
                     
                 } else {
                     logger.warning("Unknown message from " + teamName + ": " + message);
+                    return Reply.rejected("ERROR:Unknown command");
                 }
                 
             } catch (Exception e) {
                 logger.severe("Error processing message: " + e.getMessage());
-                sendMessage("ERROR:Message processing failed");
+                return Reply.rejected("ERROR:Message processing failed");
             }
         }
         
-        private void handleLogin(String name) {
-            if (clients.containsKey(name)) {
-                sendMessage("LOGIN_REJECTED:Team name already exists");
-                return;
+        private Reply handleLogin(String name) {
+            if (teamName != null) {
+                return Reply.rejected("LOGIN_REJECTED:Already logged in as " + teamName);
+            }
+            if (name.length() > MAX_TEAM_NAME) {
+                return Reply.rejected("LOGIN_REJECTED:Team name is longer than " + MAX_TEAM_NAME + " characters");
             }
             
-            teamName = name;
-            clients.put(teamName, this);
-            teamPurses.put(teamName, INITIAL_PURSE);
-            teamPlayerCounts.put(teamName, 0);
-            teamNonIndianCounts.put(teamName, 0);
-            
-            
-            try {
-                String tableName = "team_" + teamName.replaceAll("\\s+", "_").toLowerCase();
-                String createTableSQL = String.format(
-                    "CREATE TABLE IF NOT EXISTS %s (" +
-                    "player_id INT PRIMARY KEY, " +
-                    "player_name VARCHAR(100), " +
-                    "player_type VARCHAR(50), " +
-                    "nationality VARCHAR(100), " +
-                    "base_price DECIMAL(10,2), " +
-                    "bid_amount DECIMAL(10,2), " +
-                    "purchase_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP)",
-                    tableName);
-                connection.createStatement().execute(createTableSQL);
-                
+            // A team recovered from the journal keeps its ledger and roster. While this run holds
+            // a session for the team, only its token takes the team back: a LOGIN could be anyone
+            boolean returning;
+            Session session;
+            synchronized (Server2.class) {
+                if (clients.containsKey(name)) {
+                    return Reply.rejected("LOGIN_REJECTED:Team name already exists");
+                }
+                if (sessions.containsKey(name)) {
+                    return Reply.rejected("LOGIN_REJECTED:Team has a session, use RESUME");
+                }
+                returning = teamPurses.containsKey(name);
                 
-                connection.createStatement().execute("DELETE FROM " + tableName);
+                teamName = name;
+                clients.put(teamName, this);
+                if (!returning) {
+                    teamPurses.put(teamName, INITIAL_PURSE);
+                    teamPlayerCounts.put(teamName, 0);
+                    teamNonIndianCounts.put(teamName, 0);
+                    for (AuctionListener listener : listeners) {
+                        listener.teamJoined(teamName, INITIAL_PURSE);
+                    }
+                }
                 
-            } catch (SQLException e) {
+                byte[] token = new byte[16];
+                sessionTokens.nextBytes(token);
+                session = new Session(Base64.getUrlEncoder().withoutPadding().encodeToString(token), replayWindow);
+                sessions.put(teamName, session);
+            }
+            
+            try {
+                store.registerTeam(teamName, !returning);
+            } catch (AuctionStore.StoreException e) {
                 logger.severe("Error creating team table: " + e.getMessage());
             }
             
-            sendMessage("LOGIN_SUCCESS:Welcome " + teamName + "!");
             broadcast("TEAM_JOINED:" + teamName);
             logger.info("Team joined: " + teamName + " (Total teams: " + clients.size() + ")");
+            return Reply.ok("LOGIN_SUCCESS:Welcome " + teamName + "!\nSESSION:" + session.token());
+        }
+        
+        /**
+         * {@code RESUME:<team>:<token>} takes a team back on a new connection with the token it
+         * got at login, replacing its old connection if the server has not noticed that one drop.
+         */
+        private Reply handleResume(String credentials) {
+            int colon = credentials.lastIndexOf(':');
+            if (teamName != null || colon < 0) {
+                return Reply.rejected("RESUME_REJECTED:Malformed or repeated resume");
+            }
+            String name = credentials.substring(0, colon);
+            ClientHandler previous;
+            synchronized (Server2.class) {
+                Session session = sessions.get(name);
+                // A replay issues new tokens, so the recorded one can't match; it was checked when recorded
+                if (session == null || (!replaying() && !MessageDigest.isEqual(session.token().getBytes(StandardCharsets.UTF_8),
+                        credentials.substring(colon + 1).getBytes(StandardCharsets.UTF_8)))) {
+                    return Reply.rejected("RESUME_REJECTED:Unknown session");
+                }
+                
+                teamName = name;
+                replayWindow = session.replies();
+                previous = clients.put(teamName, this);
+                Future<?> expiry = sessionExpiries.remove(teamName);
+                if (expiry != null) {
+                    expiry.cancel(false);
+                }
+            }
+            if (previous != null) {
+                previous.close();
+            } else {
+                broadcast("TEAM_JOINED:" + teamName);
+            }
+            logger.info("Team resumed: " + teamName + (previous != null ? " (replaced a stale connection)" : ""));
+            return Reply.ok("RESUMED:" + teamName);
         }
         
         public void sendMessage(String message) {
-            if (out != null && connected) {
-                out.println(message);
+            if (!connected) return;
+            AuctionJournal log = journal;
+            if (!outbox.offer(new Outgoing(message, System.nanoTime(), log != null ? log.size() : 0))) {
+                logger.warning("Dropping " + teamName + ": more than " + OUTBOX_CAPACITY + " messages behind");
+                slowClientsDropped.increment();
+                close();
+            }
+        }
+        
+        int outboxDepth() {
+            return outbox.size();
+        }
+        
+        /** Writes queued messages until the connection closes, flushing once per run of messages. */
+        private void writeOutbox() {
+            List<Outgoing> batch = new ArrayList<>();
+            try {
+                while (true) {
+                    batch.add(outbox.take());
+                    outbox.drainTo(batch);
+                    AuctionJournal log = journal;
+                    if (log != null) {
+                        // One wait covers the run: the flusher commits everything appended so far together
+                        log.awaitDurable(batch.get(batch.size() - 1).journaled());
+                    }
+                    for (Outgoing message : batch) {
+                        out.println(message.text());
+                    }
+                    out.flush();
+                    long written = System.nanoTime();
+                    for (Outgoing message : batch) {
+                        outboundDelay.observeNanos(written - message.queuedAt());
+                    }
+                    batch.clear();
+                    if (out.checkError()) {
+                        close();
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                // Closed
             }
         }
         
         public void close() {
             connected = false;
+            if (writer != null) {
+                writer.cancel(true);
+            }
             try {
                 if (socket != null && !socket.isClosed()) {
                     socket.close();
@@ -717,24 +2045,37 @@ public class Server2 {
         }
         
         private void cleanup() {
-            if (teamName != null) {
-                clients.remove(teamName);
+            AuctionRecording session = recording;
+            if (session == null) {
+                leave();
+                return;
+            }
+            synchronized (Server2.class) {
+                session.closed(connection);
+                leave();
+            }
+        }
+        
+        private void leave() {
+            // Skipped when a resumed connection has already taken this team over
+            if (teamName != null && clients.remove(teamName, this)) {
                 readyClients.remove(teamName);
-                finalizationVotes.remove(teamName);
-                teamPurses.remove(teamName);
-                teamPlayerCounts.remove(teamName);
-                teamNonIndianCounts.remove(teamName);
+                withdrawVotes(teamName);
+                // The ledger stays, so the team can resume where it left off with its session token
+                expireSessionLater(teamName);
                 
                 broadcast("TEAM_LEFT:" + teamName);
                 logger.info("Team disconnected: " + teamName + " (Remaining: " + clients.size() + ")");
                 
-                
-                if (clients.isEmpty() && auctionStarted) {
-                    logger.info("All clients disconnected. Shutting down...");
+                if (clients.isEmpty() && auctionStarted && !replaying()) {
+                    logger.info("All clients disconnected. Shutting down in " + RECONNECT_GRACE_SECONDS +
+                                "s unless a team reconnects...");
                     scheduler.schedule(() -> {
-                        shutdown();
-                        System.exit(0);
-                    }, 5, TimeUnit.SECONDS);
+                        if (clients.isEmpty()) {
+                            shutdown();
+                            System.exit(0);
+                        }
+                    }, RECONNECT_GRACE_SECONDS, TimeUnit.SECONDS);
                 }
             }
             
@@ -745,677 +2086,80 @@ public class Server2 {
             return teamName;
         }
     }
-}
-
-class IPLAuctionDB1 {
-    private static final String URL = "jdbc:mysql://localhost:3306/";
-    private static final String USER = "root";
-    private static final String PASSWORD = "your_password";
-    private static final String DB_NAME = "ipl_auction_2025";
     
-    public static Connection setupDatabase(Connection connection) {
-        try {
-            
-            connection = DriverManager.getConnection(URL, USER, PASSWORD);
-            Statement statement = connection.createStatement();
-            
-            
-            statement.executeUpdate("CREATE DATABASE IF NOT EXISTS " + DB_NAME);
-            statement.executeUpdate("USE " + DB_NAME);
-            
-            
-            String createPlayersTable = """
-                CREATE TABLE IF NOT EXISTS players (
-                    id INT AUTO_INCREMENT PRIMARY KEY,
-                    name VARCHAR(100) NOT NULL,
-                    type ENUM('BATTER', 'BOWLER', 'ALL-ROUNDER', 'WICKETKEEPER') NOT NULL,
-                    nationality VARCHAR(50) NOT NULL,
-                    base_price_inr DECIMAL(10, 2) NOT NULL,
-                    status ENUM('Available', 'Sold', 'Unsold') DEFAULT 'Available',
-                    age INT,
-                    matches_played INT DEFAULT 0,
-                    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-                    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
-                )
-            """;
-            statement.executeUpdate(createPlayersTable);
-            
-            
-            String createAuctionLogTable = """
-                CREATE TABLE IF NOT EXISTS auction_log (
-                    id INT AUTO_INCREMENT PRIMARY KEY,
-                    player_id INT,
-                    team_name VARCHAR(100),
-                    bid_amount DECIMAL(10, 2),
-                    action ENUM('BID', 'SOLD', 'UNSOLD') NOT NULL,
-                    timestamp TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-                    FOREIGN KEY (player_id) REFERENCES players(id)
-                )
-            """;
-            statement.executeUpdate(createAuctionLogTable);
-            
-            
-            statement.executeUpdate("DELETE FROM players");
-            statement.executeUpdate("DELETE FROM auction_log");
-            
-            
-            String insertData = """
-           INSERT INTO players (name, type, nationality, base_price_inr, status) VALUES
-                ('Ruturaj Gaikwad', 'Right-hand Batsman', 'India', 200, 'Available'),
-                ('Mohsin Khan', 'Left-arm Pace Bowler', 'India', 200, 'Available'),
-                ('Shivam Dube', 'Left-hand All-rounder', 'India', 200, 'Available'),
-                ('Rashid Khan', 'Right-hand Leg Spin Bowler', 'Afghanistan', 200, 'Available'),
-                ('Sandeep Sharma', 'Right-arm Medium Pace Bowler', 'India', 200, 'Available'),
-                ('Hardik Pandya', 'Right-hand All-rounder', 'India', 200, 'Available'),
-                ('Pat Cummins', 'Right-arm Fast Bowler', 'Australia', 200, 'Available'),
-                ('Rinku Singh', 'Left-hand Batsman', 'India', 200, 'Available'),
-                ('Mayank Yadav', 'Right-arm Pace Bowler', 'India', 200, 'Available'),
-                ('Jasprit Bumrah', 'Right-arm Fast Bowler', 'India', 200, 'Available'),
-                ('Kuldeep Yadav', 'Left-arm Chinaman Bowler', 'India', 200, 'Available'),
-                ('Abhishek Porel', 'Left-hand Wicket-keeper', 'India', 200, 'Available'),
-                ('Sunil Narine', 'Left-hand Mystery Spinner', 'West Indies', 200, 'Available'),
-                ('Ravi Bishnoi', 'Right-hand Leg Spin Bowler', 'India', 200, 'Available'),
-                ('Travis Head', 'Left-hand Batsman', 'Australia', 200, 'Available'),
-                ('Shahrukh Khan', 'Right-hand Batsman', 'India', 200, 'Available'),
-                ('Yashaswi Jaiswal', 'Left-hand Batsman', 'India', 200, 'Available'),
-                ('Ravindra Jadeja', 'Left-hand All-rounder', 'India', 200, 'Available'),
-                ('Andre Russell', 'Right-hand All-rounder', 'West Indies', 200, 'Available'),
-                ('Suryakumar Yadav', 'Right-hand Batsman', 'India', 200, 'Available'),
-                ('Riyan Parag', 'Right-hand All-rounder', 'India', 200, 'Available'),
-                ('Harshit Rana', 'Right-arm Pace Bowler', 'India', 200, 'Available'),
-                ('Virat Kohli', 'Right-hand Batsman', 'India', 200, 'Available'),
-                ('Ramandeep Singh', 'Right-hand All-rounder', 'India', 200, 'Available'),
-                ('Tristan Stubbs', 'Right-hand Batsman', 'South Africa', 200, 'Available'),
-                ('Yash Dayal', 'Left-arm Pace Bowler', 'India', 200, 'Available'),
-                ('Abhishek Sharma', 'Left-hand All-rounder', 'India', 200, 'Available'),
-                ('Nicholas Pooran', 'Left-hand Wicket-keeper', 'West Indies', 200, 'Available'),
-                ('Matheesha Pathirana', 'Right-arm Pace Bowler', 'Sri Lanka', 200, 'Available'),
-                ('Rohit Sharma', 'Right-hand Batsman', 'India', 200, 'Available'),
-                ('Prabhsimran Singh', 'Right-hand Wicket-keeper', 'India', 200, 'Available'),
-                ('Jos Buttler', 'WICKETKEEPER', 'England', 200, 'Available'),
-                ('Shreyas Iyer', 'BATTER', 'India', 200, 'Available'),
-                ('Rishabh Pant', 'BATTER', 'India', 200, 'Available'),
-                ('Kagiso Rabada', 'BOWLER', 'South Africa', 200, 'Available'),
-                ('Arshdeep Singh', 'BOWLER', 'India', 200, 'Available'),
-                ('Mitchell Starc', 'BOWLER', 'Australia', 200, 'Available'),
-                ('Yuzvendra Chahal', 'BOWLER', 'India', 200, 'Available'),
-                ('Liam Livingstone', 'ALL-ROUNDER', 'England', 200, 'Available'),
-                ('David Miller', 'BATTER', 'South Africa', 150, 'Available'),
-                ('KL Rahul', 'WICKETKEEPER', 'India', 200, 'Available'),
-                ('Mohammad Shami', 'BOWLER', 'India', 200, 'Available'),
-                ('Mohammad Siraj', 'BOWLER', 'India', 200, 'Available'),
-                ('Harry Brook', 'BATTER', 'England', 200, 'Available'),
-                ('Devon Conway', 'BATTER', 'New Zealand', 200, 'Available'),
-                ('Jake Fraser-Mcgurk', 'BATTER', 'Australia', 200, 'Available'),
-                ('Aiden Markram', 'BATTER', 'South Africa', 200, 'Available'),
-                ('Devdutt Padikkal', 'BATTER', 'India', 200, 'Available'),
-                ('Rahul Tripathi', 'BATTER', 'India', 75, 'Available'),
-                ('David Warner', 'BATTER', 'Australia', 200, 'Available'),
-                ('Ravichandaran Ashwin', 'ALL-ROUNDER', 'India', 200, 'Available'),
-                ('Venkatesh Iyer', 'ALL-ROUNDER', 'India', 200, 'Available'),
-                ('Mitchell Marsh', 'ALL-ROUNDER', 'Australia', 200, 'Available'),
-                ('Glenn Maxwell', 'ALL-ROUNDER', 'Australia', 200, 'Available'),
-                ('Harshal Patel', 'ALL-ROUNDER', 'India', 200, 'Available'),
-                ('Rachin Ravindra', 'ALL-ROUNDER', 'New Zealand', 150, 'Available'),
-                ('Marcus Stoinis', 'ALL-ROUNDER', 'Australia', 200, 'Available'),
-                ('Jonny Bairstow', 'WICKETKEEPER', 'England', 200, 'Available'),
-                ('Quinton De Kock', 'WICKETKEEPER', 'South Africa', 200, 'Available'),
-                ('Rahmanullah Gurbaz', 'WICKETKEEPER', 'Afghanistan', 200, 'Available'),
-                ('Ishan Kishan', 'WICKETKEEPER', 'India', 200, 'Available'),
-                ('Phil Salt', 'WICKETKEEPER', 'England', 200, 'Available'),
-                ('Jitesh Sharma', 'WICKETKEEPER', 'India', 100, 'Available'),
-                ('Syed Khaleel Ahmed', 'BOWLER', 'India', 200, 'Available'),
-                ('Trent Boult', 'BOWLER', 'New Zealand', 200, 'Available'),
-                ('Josh Hazlewood', 'BOWLER', 'Australia', 200, 'Available'),
-                ('Avesh Khan', 'BOWLER', 'India', 200, 'Available'),
-                ('Prasidh Krishna', 'BOWLER', 'India', 200, 'Available'),
-                ('T. Natarajan', 'BOWLER', 'India', 200, 'Available'),
-                ('Anrich Nortje', 'BOWLER', 'South Africa', 200, 'Available'),
-                ('Noor Ahmad', 'BOWLER', 'Afghanistan', 200, 'Available'),
-                ('Rahul Chahar', 'BOWLER', 'India', 100, 'Available'),
-                ('Wanindu Hasaranga', 'BOWLER', 'Sri Lanka', 200, 'Available'),
-                ('Waqar Salamkheil', 'BOWLER', 'Afghanistan', 75, 'Available'),
-                ('Maheesh Theekshana', 'BOWLER', 'Sri Lanka', 200, 'Available'),
-                ('Adam Zampa', 'BOWLER', 'Australia', 200, 'Available'),
-                ('Yash Dhull', 'BATTER', 'India', 30, 'Available'),
-                ('Abhinav Manohar', 'BATTER', 'India', 30, 'Available'),
-                ('Karun Nair', 'BATTER', 'India', 30, 'Available'),
-                ('Angkrish Raghuvanshi', 'BATTER', 'India', 30, 'Available'),
-                ('Anmolpreet Singh', 'BATTER', 'India', 30, 'Available'),
-                ('Atharva Taide', 'BATTER', 'India', 30, 'Available'),
-                ('Nehal Wadhera', 'BATTER', 'India', 30, 'Available'),
-                ('Harpreet Brar', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Naman Dhir', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Mahipal Lomror', 'ALL-ROUNDER', 'India', 50, 'Available'),
-                ('Sameer Rizvi', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Abdul Samad', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Vijay Shankar', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Ashutosh Sharma', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Nishant Sindhu', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Utkarsh Singh', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Aryan Juyal', 'WICKETKEEPER', 'India', 30, 'Available'),
-                ('Kumar Kushagra', 'WICKETKEEPER', 'India', 30, 'Available'),
-                ('Robin Minz', 'WICKETKEEPER', 'India', 30, 'Available'),
-                ('Anuj Rawat', 'WICKETKEEPER', 'India', 30, 'Available'),
-                ('Luvnith Sisodia', 'WICKETKEEPER', 'India', 30, 'Available'),
-                ('Vishnu Vinod', 'WICKETKEEPER', 'India', 30, 'Available'),
-                ('Upendra Singh Yadav', 'WICKETKEEPER', 'India', 30, 'Available'),
-                ('Vaibhav Arora', 'BOWLER', 'India', 30, 'Available'),
-                ('Rasikh Dar', 'BOWLER', 'India', 30, 'Available'),
-                ('Akash Madhwal', 'BOWLER', 'India', 30, 'Available'),
-                ('Mohit Sharma', 'BOWLER', 'India', 50, 'Available'),
-                ('Simarjeet Singh', 'BOWLER', 'India', 30, 'Available'),
-                ('Yash Thakur', 'BOWLER', 'India', 30, 'Available'),
-                ('Kartik Tyagi', 'BOWLER', 'India', 40, 'Available'),
-                ('Vyshak Vijaykumar', 'BOWLER', 'India', 30, 'Available'),
-                ('Piyush Chawla', 'BOWLER', 'India', 50, 'Available'),
-                ('Shreyas Gopal', 'BOWLER', 'India', 30, 'Available'),
-                ('Mayank Markande', 'BOWLER', 'India', 30, 'Available'),
-                ('Suyash Sharma', 'BOWLER', 'India', 30, 'Available'),
-                ('Karn Sharma', 'BOWLER', 'India', 50, 'Available'),
-                ('Kumar Kartikeya Singh', 'BOWLER', 'India', 30, 'Available'),
-                ('Manav Suthar', 'BOWLER', 'India', 30, 'Available'),
-                ('Mayank Agarawal', 'BATTER', 'India', 100, 'Available'),
-                ('Faf Du Plessis', 'BATTER', 'South Africa', 200, 'Available'),
-                ('Glenn Phillips', 'BATTER', 'New Zealand', 200, 'Available'),
-                ('Rovman Powell', 'BATTER', 'West Indies', 150, 'Available'),
-                ('Ajinkya Rahane', 'BATTER', 'India', 150, 'Available'),
-                ('Prithvi Shaw', 'BATTER', 'India', 75, 'Available'),
-                ('Kane Williamson', 'BATTER', 'New Zealand', 200, 'Available'),
-                ('Sam Curran', 'ALL-ROUNDER', 'England', 200, 'Available'),
-                ('Marco Jansen', 'ALL-ROUNDER', 'South Africa', 125, 'Available'),
-                ('Daryl Mitchell', 'ALL-ROUNDER', 'New Zealand', 200, 'Available'),
-                ('Krunal Pandya', 'ALL-ROUNDER', 'India', 200, 'Available'),
-                ('Nitish Rana', 'ALL-ROUNDER', 'India', 150, 'Available'),
-                ('Washington Sundar', 'ALL-ROUNDER', 'India', 200, 'Available'),
-                ('Shardul Thakur', 'ALL-ROUNDER', 'India', 200, 'Available'),
-                ('K.S Bharat', 'WICKETKEEPER', 'India', 75, 'Available'),
-                ('Alex Carey', 'WICKETKEEPER', 'Australia', 100, 'Available'),
-                ('Donovan Ferreira', 'WICKETKEEPER', 'South Africa', 75, 'Available'),
-                ('Shai Hope', 'WICKETKEEPER', 'West Indies', 125, 'Available'),
-                ('Josh Inglis', 'WICKETKEEPER', 'Australia', 200, 'Available'),
-                ('Ryan Rickelton', 'WICKETKEEPER', 'South Africa', 100, 'Available'),
-                ('Deepak Chahar', 'BOWLER', 'India', 200, 'Available'),
-                ('Gerald Coetzee', 'BOWLER', 'South Africa', 125, 'Available'),
-                ('Akash Deep', 'BOWLER', 'India', 100, 'Available'),
-                ('Tushar Deshpande', 'BOWLER', 'India', 100, 'Available'),
-                ('Lockie Ferguson', 'BOWLER', 'New Zealand', 200, 'Available'),
-                ('Bhuvneshwar Kumar', 'BOWLER', 'India', 200, 'Available'),
-                ('Mukesh Kumar', 'BOWLER', 'India', 200, 'Available'),
-                ('Allah Ghazanfar', 'BOWLER', 'Afghanistan', 75, 'Available'),
-                ('Akeal Hosein', 'BOWLER', 'West Indies', 150, 'Available'),
-                ('Keshav Maharaj', 'BOWLER', 'South Africa', 75, 'Available'),
-                ('Mujeeb Ur Rahman', 'BOWLER', 'Afghanistan', 200, 'Available'),
-                ('Adil Rashid', 'BOWLER', 'England', 200, 'Available'),
-                ('Vijayakanth Viyaskanth', 'BOWLER', 'Sri Lanka', 75, 'Available'),
-                ('Ricky Bhui', 'BATTER', 'India', 30, 'Available'),
-                ('Swastik Chhikara', 'BATTER', 'India', 30, 'Available'),
-                ('Aarya Desai', 'BATTER', 'India', 30, 'Available'),
-                ('Shubham Dubey', 'BATTER', 'India', 30, 'Available'),
-                ('Madhav Kaushik', 'BATTER', 'India', 30, 'Available'),
-                ('Pukhraj Mann', 'BATTER', 'India', 30, 'Available'),
-                ('Shaik Rasheed', 'BATTER', 'India', 30, 'Available'),
-                ('Himmat Singh', 'BATTER', 'India', 30, 'Available'),
-                ('Mayank Dagar', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Anshul Kamboj', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Mohd. Arshad Khan', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Darshan Nalkande', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Suyash Prabhudessai', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Anukul Roy', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Swapnil Singh', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Sanvir Singh', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Avanish Aravelly', 'WICKETKEEPER', 'India', 30, 'Available'),
-                ('Vansh Bedi', 'WICKETKEEPER', 'India', 30, 'Available'),
-                ('Saurav Chauhan', 'WICKETKEEPER', 'India', 30, 'Available'),
-                ('Harvik Desai', 'WICKETKEEPER', 'India', 30, 'Available'),
-                ('Tom Kohler-Cadmore', 'WICKETKEEPER', 'England', 50, 'Available'),
-                ('Kunal Rathore', 'WICKETKEEPER', 'India', 30, 'Available'),
-                ('B.R Sharath', 'WICKETKEEPER', 'India', 30, 'Available'),
-                ('Gurnoor Singh Brar', 'BOWLER', 'India', 30, 'Available'),
-                ('Mukesh Choudhary', 'BOWLER', 'India', 30, 'Available'),
-                ('Sakib Hussain', 'BOWLER', 'India', 30, 'Available'),
-                ('Vidwath Kaverappa', 'BOWLER', 'India', 30, 'Available'),
-                ('Rajan Kumar', 'BOWLER', 'India', 30, 'Available'),
-                ('Sushant Mishra', 'BOWLER', 'India', 30, 'Available'),
-                ('Arjun Tendulkar', 'BOWLER', 'India', 30, 'Available'),
-                ('Zeeshan Ansari', 'BOWLER', 'India', 30, 'Available'),
-                ('Prince Choudhary', 'BOWLER', 'India', 30, 'Available'),
-                ('Himanshu Sharma', 'BOWLER', 'India', 30, 'Available'),
-                ('M. Siddharth', 'BOWLER', 'India', 30, 'Available'),
-                ('Digvesh Singh', 'BOWLER', 'India', 30, 'Available'),
-                ('Prashant Solanki', 'BOWLER', 'India', 30, 'Available'),
-                ('Jhathavedh Subramanyan', 'BOWLER', 'India', 30, 'Available'),
-                ('Finn Allen', 'BATTER', 'New Zealand', 200, 'Available'),
-                ('Dewald Brevis', 'BATTER', 'South Africa', 75, 'Available'),
-                ('Ben Duckett', 'BATTER', 'England', 200, 'Available'),
-                ('Manish Pandey', 'BATTER', 'India', 75, 'Available'),
-                ('Rilee Rossouw', 'BATTER', 'South Africa', 200, 'Available'),
-                ('Sherfane Rutherford', 'BATTER', 'West Indies', 150, 'Available'),
-                ('Ashton Turner', 'BATTER', 'Australia', 100, 'Available'),
-                ('James Vince', 'BATTER', 'England', 200, 'Available'),
-                ('Shahbaz Ahamad', 'ALL-ROUNDER', 'India', 100, 'Available'),
-                ('Moeen Ali', 'ALL-ROUNDER', 'England', 200, 'Available'),
-                ('Tim David', 'ALL-ROUNDER', 'Australia', 200, 'Available'),
-                ('Deepak Hooda', 'ALL-ROUNDER', 'India', 75, 'Available'),
-                ('Will Jacks', 'ALL-ROUNDER', 'England', 200, 'Available'),
-                ('Azmatullah Omarzai', 'ALL-ROUNDER', 'Afghanistan', 150, 'Available'),
-                ('R. Sai Kishore', 'ALL-ROUNDER', 'India', 75, 'Available'),
-                ('Romario Shepherd', 'ALL-ROUNDER', 'West Indies', 150, 'Available'),
-                ('Tom Banton', 'WICKETKEEPER', 'England', 200, 'Available'),
-                ('Sam Billings', 'WICKETKEEPER', 'England', 150, 'Available'),
-                ('Jordan Cox', 'WICKETKEEPER', 'England', 125, 'Available'),
-                ('Ben McDermott', 'WICKETKEEPER', 'Australia', 75, 'Available'),
-                ('Kusal Mendis', 'WICKETKEEPER', 'Sri Lanka', 75, 'Available'),
-                ('Kusal Perera', 'WICKETKEEPER', 'Sri Lanka', 75, 'Available'),
-                ('Josh Philippe', 'WICKETKEEPER', 'Australia', 75, 'Available'),
-                ('Tim Seifert', 'WICKETKEEPER', 'New Zealand', 125, 'Available'),
-                ('Nandre Burger', 'BOWLER', 'South Africa', 125, 'Available'),
-                ('Spencer Johnson', 'BOWLER', 'Australia', 200, 'Available'),
-                ('Umran Malik', 'BOWLER', 'India', 75, 'Available'),
-                ('Mustafizur Rahman', 'BOWLER', 'Bangladesh', 200, 'Available'),
-                ('Ishant Sharma', 'BOWLER', 'India', 75, 'Available'),
-                ('Nuwan Thushara', 'BOWLER', 'Sri Lanka', 75, 'Available'),
-                ('Naveen Ul Haq', 'BOWLER', 'Afghanistan', 200, 'Available'),
-                ('Jaydev Unadkat', 'BOWLER', 'India', 100, 'Available'),
-                ('Umesh Yadav', 'BOWLER', 'India', 200, 'Available'),
-                ('Rishad Hossain', 'BOWLER', 'Bangladesh', 75, 'Available'),
-                ('Zahir Khan Pakten', 'BOWLER', 'Afghanistan', 75, 'Available'),
-                ('Nqabayomzi Peter', 'BOWLER', 'South Africa', 75, 'Available'),
-                ('Tanveer Sangha', 'BOWLER', 'Australia', 75, 'Available'),
-                ('Tabraiz Shamsi', 'BOWLER', 'South Africa', 200, 'Available'),
-                ('Jeffery Vandersay', 'BOWLER', 'Sri Lanka', 75, 'Available'),
-                ('Sachin Baby', 'BATTER', 'India', 30, 'Available'),
-                ('Priyam Garg', 'BATTER', 'India', 30, 'Available'),
-                ('Harnoor Pannu', 'BATTER', 'India', 30, 'Available'),
-                ('Smaran Ravichandran', 'BATTER', 'India', 30, 'Available'),
-                ('Shashwat Rawat', 'BATTER', 'India', 30, 'Available'),
-                ('Andre Siddarth', 'BATTER', 'India', 30, 'Available'),
-                ('Avneesh Sudha', 'BATTER', 'India', 30, 'Available'),
-                ('Apoorv Wankhade', 'BATTER', 'India', 30, 'Available'),
-                ('Yudhvir Charak', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Rishi Dhawan', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Rajvardhan Hangargekar', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Tanush Kotian', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Arshin Kulkarni', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Shams Mulani', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Shivam Singh', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Lalit Yadav', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Mohammed Azharuddeen', 'WICKETKEEPER', 'India', 30, 'Available'),
-                ('L.R Chethan', 'WICKETKEEPER', 'India', 30, 'Available'),
-                ('Aryaman Singh Dhaliwal', 'WICKETKEEPER', 'India', 30, 'Available'),
-                ('Urvil Patel', 'WICKETKEEPER', 'India', 30, 'Available'),
-                ('Sanskar Rawat', 'WICKETKEEPER', 'India', 30, 'Available'),
-                ('Bipin Saurabh', 'WICKETKEEPER', 'India', 30, 'Available'),
-                ('Tanay Thyagarajann', 'WICKETKEEPER', 'India', 30, 'Available'),
-                ('Money Grewal', 'BOWLER', 'India', 30, 'Available'),
-                ('Ashwani Kumar', 'BOWLER', 'India', 30, 'Available'),
-                ('Ishan Porel', 'BOWLER', 'India', 30, 'Available'),
-                ('Abhilash Shetty', 'BOWLER', 'India', 30, 'Available'),
-                ('Akash Singh', 'BOWLER', 'India', 30, 'Available'),
-                ('Gurjapneet Singh', 'BOWLER', 'India', 30, 'Available'),
-                ('Basil Thampi', 'BOWLER', 'India', 30, 'Available'),
-                ('Murugan Ashwin', 'BOWLER', 'India', 30, 'Available'),
-                ('Shreyas Chavan', 'BOWLER', 'India', 30, 'Available'),
-                ('Chintal Gandhi', 'BOWLER', 'India', 30, 'Available'),
-                ('Raghav Goyal', 'BOWLER', 'India', 30, 'Available'),
-                ('Jagadeesha Suchith', 'BOWLER', 'India', 30, 'Available'),
-                ('Roshan Waghsare', 'BOWLER', 'India', 30, 'Available'),
-                ('Bailapudi Yeswanth', 'BOWLER', 'India', 30, 'Available'),
-                ('Sediqullah Atal', 'BATTER', 'Afghanistan', 75, 'Available'),
-                ('Matthew Breetzke', 'BATTER', 'South Africa', 75, 'Available'),
-                ('Mark Chapman', 'BATTER', 'New Zealand', 150, 'Available'),
-                ('Brandon King', 'BATTER', 'West Indies', 75, 'Available'),
-                ('Evin Lewis', 'BATTER', 'West Indies', 200, 'Available'),
-                ('Pathum Nissanka', 'BATTER', 'Sri Lanka', 75, 'Available'),
-                ('Bhanuka Rajapaksa', 'BATTER', 'Sri Lanka', 75, 'Available'),
-                ('Steve Smith', 'BATTER', 'Australia', 200, 'Available'),
-                ('Gus Atkinson', 'ALL-ROUNDER', 'England', 200, 'Available'),
-                ('Tom Curran', 'ALL-ROUNDER', 'England', 200, 'Available'),
-                ('Krishnappa Gowtham', 'ALL-ROUNDER', 'India', 100, 'Available'),
-                ('Mohammad Nabi', 'ALL-ROUNDER', 'Afghanistan', 150, 'Available'),
-                ('Gulbadin Naib', 'ALL-ROUNDER', 'Afghanistan', 100, 'Available'),
-                ('Sikandar Raza', 'ALL-ROUNDER', 'Zimbabwe', 125, 'Available'),
-                ('Mitchell Santner', 'ALL-ROUNDER', 'New Zealand', 200, 'Available'),
-                ('Jayant Yadav', 'ALL-ROUNDER', 'India', 75, 'Available'),
-                ('Johnson Charles', 'WICKETKEEPER', 'West Indies', 75, 'Available'),
-                ('Litton Das', 'WICKETKEEPER', 'Bangladesh', 75, 'Available'),
-                ('Andre Fletcher', 'WICKETKEEPER', 'West Indies', 75, 'Available'),
-                ('Tom Latham', 'WICKETKEEPER', 'New Zealand', 150, 'Available'),
-                ('Ollie Pope', 'WICKETKEEPER', 'England', 75, 'Available'),
-                ('Kyle Verreynne', 'WICKETKEEPER', 'South Africa', 75, 'Available'),
-                ('Fazalhaq Farooqi', 'BOWLER', 'Afghanistan', 200, 'Available'),
-                ('Richard Gleeson', 'BOWLER', 'England', 75, 'Available'),
-                ('Matt Henry', 'BOWLER', 'New Zealand', 200, 'Available'),
-                ('Alzarri Joseph', 'BOWLER', 'West Indies', 200, 'Available'),
-                ('Kwena Maphaka', 'BOWLER', 'South Africa', 75, 'Available'),
-                ('Kuldeep Sen', 'BOWLER', 'India', 75, 'Available'),
-                ('Reece Topley', 'BOWLER', 'England', 75, 'Available'),
-                ('Lizaad Williams', 'BOWLER', 'South Africa', 75, 'Available'),
-                ('Luke Wood', 'BOWLER', 'England', 75, 'Available'),
-                ('Sachin Dhas', 'BATTER', 'India', 30, 'Available'),
-                ('Leus Du Plooy', 'BATTER', 'England', 50, 'Available'),
-                ('Ashwin Hebbar', 'BATTER', 'India', 30, 'Available'),
-                ('Rohan Kunnummal', 'BATTER', 'India', 30, 'Available'),
-                ('Ayush Pandey', 'BATTER', 'India', 30, 'Available'),
-                ('Akshat Raghuwanshi', 'BATTER', 'India', 30, 'Available'),
-                ('Shoun Roger', 'BATTER', 'India', 40, 'Available'),
-                ('Virat Singh', 'BATTER', 'India', 30, 'Available'),
-                ('Priyansh Arya', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Manoj Bhandage', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Pravin Dubey', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Ajay Mandal', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Prerak Mankad', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Vipraj Nigam', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Vicky Ostwal', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Shivalik Sharma', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Salil Arora', 'WICKETKEEPER', 'India', 30, 'Available'),
-                ('Dinesh Bana', 'WICKETKEEPER', 'India', 30, 'Available'),
-                ('Ajitesh Guruswamy', 'WICKETKEEPER', 'India', 30, 'Available'),
-                ('Narayan Jagadeesan', 'WICKETKEEPER', 'India', 30, 'Available'),
-                ('Shrijith Krishnan', 'WICKETKEEPER', 'India', 30, 'Available'),
-                ('Michael Pepper', 'WICKETKEEPER', 'England', 50, 'Available'),
-                ('Vishnu Solanki', 'WICKETKEEPER', 'India', 30, 'Available'),
-                ('K.M Asif', 'BOWLER', 'India', 30, 'Available'),
-                ('Akhil Chaudhary', 'BOWLER', 'India', 30, 'Available'),
-                ('Himanshu Chauhan', 'BOWLER', 'India', 30, 'Available'),
-                ('Arpit Guleria', 'BOWLER', 'India', 30, 'Available'),
-                ('Nishanth Saranu', 'BOWLER', 'India', 30, 'Available'),
-                ('Kuldip Yadav', 'BOWLER', 'India', 30, 'Available'),
-                ('Prithviraj Yarra', 'BOWLER', 'India', 30, 'Available'),
-                ('Shubham Agrawal', 'BOWLER', 'India', 30, 'Available'),
-                ('Jass Inder Baidwan', 'BOWLER', 'India', 30, 'Available'),
-                ('Jasmer Dhankhar', 'BOWLER', 'India', 30, 'Available'),
-                ('Pulkit Narang', 'BOWLER', 'India', 30, 'Available'),
-                ('Saumy Pandey', 'BOWLER', 'India', 30, 'Available'),
-                ('Mohit Rathee', 'BOWLER', 'India', 30, 'Available'),
-                ('Himanshu Singh', 'BOWLER', 'India', 30, 'Available'),
-                ('Towhid Hridoy', 'BATTER', 'Bangladesh', 75, 'Available'),
-                ('Mikyle Louis', 'BATTER', 'West Indies', 75, 'Available'),
-                ('Harry Tector', 'BATTER', 'Ireland', 75, 'Available'),
-                ('Rassie Van Der Dussen', 'BATTER', 'South Africa', 200, 'Available'),
-                ('Will Young', 'BATTER', 'New Zealand', 125, 'Available'),
-                ('Najibullah Zadran', 'BATTER', 'Afghanistan', 75, 'Available'),
-                ('Ibrahim Zadran', 'BATTER', 'Afghanistan', 75, 'Available'),
-                ('Sean Abbott', 'ALL-ROUNDER', 'Australia', 200, 'Available'),
-                ('Jacob Bethell', 'ALL-ROUNDER', 'England', 125, 'Available'),
-                ('Brydon Carse', 'ALL-ROUNDER', 'England', 100, 'Available'),
-                ('Aaron Hardie', 'ALL-ROUNDER', 'Australia', 125, 'Available'),
-                ('Sarfaraz Khan', 'ALL-ROUNDER', 'India', 75, 'Available'),
-                ('Kyle Mayers', 'ALL-ROUNDER', 'West Indies', 150, 'Available'),
-                ('Kamindu Mendis', 'ALL-ROUNDER', 'Sri Lanka', 75, 'Available'),
-                ('Matthew Short', 'ALL-ROUNDER', 'Australia', 75, 'Available'),
-                ('Jason Behrendorff', 'BOWLER', 'Australia', 150, 'Available'),
-                ('Dushmantha Chameera', 'BOWLER', 'Sri Lanka', 75, 'Available'),
-                ('Nathan Ellis', 'BOWLER', 'Australia', 125, 'Available'),
-                ('Shamar Joseph', 'BOWLER', 'West Indies', 75, 'Available'),
-                ('Josh Little', 'BOWLER', 'Ireland', 75, 'Available'),
-                ('Shivam Mavi', 'BOWLER', 'India', 75, 'Available'),
-                ('Jhye Richardson', 'BOWLER', 'Australia', 150, 'Available'),
-                ('Navdeep Saini', 'BOWLER', 'India', 75, 'Available'),
-                ('Tanmay Agarwal', 'BATTER', 'India', 30, 'Available'),
-                ('Amandeep Khare', 'BATTER', 'India', 30, 'Available'),
-                ('Ayush Mhatre', 'BATTER', 'India', 30, 'Available'),
-                ('Salman Nizar', 'BATTER', 'India', 30, 'Available'),
-                ('Aniket Verma', 'BATTER', 'India', 30, 'Available'),
-                ('Sumeet Verma', 'BATTER', 'India', 30, 'Available'),
-                ('Manan Vohra', 'BATTER', 'India', 30, 'Available'),
-                ('Samarth Vyas', 'BATTER', 'India', 30, 'Available'),
-                ('Raj Angad Bawa', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Emanjot Chahal', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Musheer Khan', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Manvanth Kumar L', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Mayank Rawat', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Suryansh Shedge', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Hritik Shokeen', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Sonu Yadav', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('S. Rithik Easwaran', 'WICKETKEEPER', 'India', 30, 'Available'),
-                ('Anmol Malhotra', 'WICKETKEEPER', 'India', 30, 'Available'),
-                ('Pradosh Paul', 'WICKETKEEPER', 'India', 30, 'Available'),
-                ('Karteek Sharma', 'WICKETKEEPER', 'India', 30, 'Available'),
-                ('Akash Singh', 'WICKETKEEPER', 'India', 30, 'Available'),
-                ('Tejasvi Singh', 'WICKETKEEPER', 'India', 30, 'Available'),
-                ('Siddharth Yadav', 'WICKETKEEPER', 'India', 30, 'Available'),
-                ('Saurabh Dubey', 'BOWLER', 'India', 30, 'Available'),
-                ('Aaqib Khan', 'BOWLER', 'India', 30, 'Available'),
-                ('Kulwant Khejroliya', 'BOWLER', 'India', 30, 'Available'),
-                ('Ankit Singh Rajpoot', 'BOWLER', 'India', 30, 'Available'),
-                ('Divesh Sharma', 'BOWLER', 'India', 30, 'Available'),
-                ('Naman Tiwari', 'BOWLER', 'India', 30, 'Available'),
-                ('Prince Yadav', 'BOWLER', 'India', 30, 'Available'),
-                ('Kunal Singh Chibb', 'BOWLER', 'India', 30, 'Available'),
-                ('Yuvraj Chudasama', 'BOWLER', 'India', 30, 'Available'),
-                ('Deepak Devadiga', 'BOWLER', 'India', 30, 'Available'),
-                ('Ramesh Prasad', 'BOWLER', 'India', 30, 'Available'),
-                ('Shivam Shukla', 'BOWLER', 'India', 30, 'Available'),
-                ('Himanshu Singh', 'BOWLER', 'India', 30, 'Available'),
-                ('Tejpreet Singh', 'BOWLER', 'India', 30, 'Available'),
-                ('Qais Ahmad', 'ALL-ROUNDER', 'Afghanistan', 75, 'Available'),
-                ('Charith Asalanka', 'ALL-ROUNDER', 'Sri Lanka', 75, 'Available'),
-                ('Michael Bracewell', 'ALL-ROUNDER', 'New Zealand', 150, 'Available'),
-                ('Gudakesh Motie', 'ALL-ROUNDER', 'West Indies', 75, 'Available'),
-                ('Daniel Mousley', 'ALL-ROUNDER', 'England', 75, 'Available'),
-                ('Jamie Overton', 'ALL-ROUNDER', 'England', 150, 'Available'),
-                ('Dunith Wellalage', 'ALL-ROUNDER', 'Sri Lanka', 75, 'Available'),
-                ('Ottneil Baartman', 'BOWLER', 'South Africa', 75, 'Available'),
-                ('Xavier Bartlett', 'BOWLER', 'Australia', 75, 'Available'),
-                ('Dilshan Madushanka', 'BOWLER', 'Sri Lanka', 75, 'Available'),
-                ('Adam Milne', 'BOWLER', 'New Zealand', 200, 'Available'),
-                ('Lungisani Ngidi', 'BOWLER', 'South Africa', 100, 'Available'),
-                ('William Rourke', 'BOWLER', 'New Zealand', 150, 'Available'),
-                ('Chetan Sakariya', 'BOWLER', 'India', 75, 'Available'),
-                ('Sandeep Warrier', 'BOWLER', 'India', 75, 'Available'),
-                ('Musaif Ajaz', 'BATTER', 'India', 30, 'Available'),
-                ('Agni Chopra', 'BATTER', 'India', 30, 'Available'),
-                ('Abhimanyu Easwaran', 'BATTER', 'India', 30, 'Available'),
-                ('Sudip Gharami', 'BATTER', 'India', 30, 'Available'),
-                ('Shubham Khajuria', 'BATTER', 'India', 30, 'Available'),
-                ('Akhil Rawat', 'BATTER', 'India', 30, 'Available'),
-                ('Prateek Yadav', 'BATTER', 'India', 30, 'Available'),
-                ('Abdul Bazith', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('K.C Cariappa', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Yuvraj Chaudhary', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Aman Khan', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Sumit Kumar', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Kamlesh Nagarkoti', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Hardik Raj', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Harsh Tyagi', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('M. Ajnas', 'WICKETKEEPER', 'India', 30, 'Available'),
-                ('Unmukt Chand', 'WICKETKEEPER', 'USA', 30, 'Available'),
-                ('Tejasvi Dahiya', 'WICKETKEEPER', 'India', 30, 'Available'),
-                ('Sumit Ghadigaonkar', 'WICKETKEEPER', 'India', 30, 'Available'),
-                ('Baba Indrajith', 'WICKETKEEPER', 'India', 30, 'Available'),
-                ('Muhammed Khan', 'WICKETKEEPER', 'India', 30, 'Available'),
-                ('Bhagmender Lather', 'WICKETKEEPER', 'India', 30, 'Available'),
-                ('Baltej Dhanda', 'BOWLER', 'India', 30, 'Available'),
-                ('Ali Khan', 'BOWLER', 'USA', 30, 'Available'),
-                ('Ravi Kumar', 'BOWLER', 'India', 30, 'Available'),
-                ('Vineet Panwar', 'BOWLER', 'India', 30, 'Available'),
-                ('Vidyadhar Patil', 'BOWLER', 'India', 30, 'Available'),
-                ('Aradhya Shukla', 'BOWLER', 'India', 30, 'Available'),
-                ('Abhinandan Singh', 'BOWLER', 'India', 30, 'Available'),
-                ('Cooper Connolly', 'ALL-ROUNDER', 'Australia', 75, 'Available'),
-                ('Dushan Hemantha', 'ALL-ROUNDER', 'Sri Lanka', 75, 'Available'),
-                ('Jason Holder', 'ALL-ROUNDER', 'West Indies', 200, 'Available'),
-                ('Karim Janat', 'ALL-ROUNDER', 'Afghanistan', 75, 'Available'),
-                ('Jimmy Neesham', 'ALL-ROUNDER', 'New Zealand', 150, 'Available'),
-                ('Daniel Sams', 'ALL-ROUNDER', 'Australia', 150, 'Available'),
-                ('William Sutherland', 'ALL-ROUNDER', 'Australia', 75, 'Available'),
-                ('Taskin Ahmed', 'BOWLER', 'Bangladesh', 100, 'Available'),
-                ('Ben Dwarshuis', 'BOWLER', 'Australia', 75, 'Available'),
-                ('Obed McCoy', 'BOWLER', 'West Indies', 125, 'Available'),
-                ('Riley Meredith', 'BOWLER', 'Australia', 150, 'Available'),
-                ('Lance Morris', 'BOWLER', 'Australia', 125, 'Available'),
-                ('Olly Stone', 'BOWLER', 'England', 75, 'Available'),
-                ('Daniel Worrall', 'BOWLER', 'England', 150, 'Available'),
-                ('Pyla Avinash', 'BATTER', 'India', 30, 'Available'),
-                ('Kiran Chormale', 'BATTER', 'India', 30, 'Available'),
-                ('Ashish Dahariya', 'BATTER', 'India', 30, 'Available'),
-                ('Tushar Raheja', 'BATTER', 'India', 30, 'Available'),
-                ('Sarthak Ranjan', 'BATTER', 'India', 30, 'Available'),
-                ('Abhijeet Tomar', 'BATTER', 'India', 30, 'Available'),
-                ('Krish Bhagat', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Sohraab Dhaliwal', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Harsh Dubey', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Ramakrishna Ghosh', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Raj Limbani', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Ninad Rathva', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Vivrant Sharma', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Shiva Singh', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Sayed Irfan Aftab', 'BOWLER', 'India', 30, 'Available'),
-                ('Anirudh Chowdhary', 'BOWLER', 'India', 30, 'Available'),
-                ('Anshuman Hooda', 'BOWLER', 'India', 30, 'Available'),
-                ('Siddharth Kaul', 'BOWLER', 'India', 40, 'Available'),
-                ('Prashant Sai Painkra', 'BOWLER', 'India', 30, 'Available'),
-                ('Venkata Satyanarayana Penmetsa', 'BOWLER', 'India', 30, 'Available'),
-                ('Yeddala Reddy', 'BOWLER', 'India', 30, 'Available'),
-                ('Zak Foulkes', 'ALL-ROUNDER', 'New Zealand', 75, 'Available'),
-                ('Chris Green', 'ALL-ROUNDER', 'Australia', 100, 'Available'),
-                ('Shakib Al Hasan', 'ALL-ROUNDER', 'Bangladesh', 100, 'Available'),
-                ('Mehidy Hasan Miraz', 'ALL-ROUNDER', 'Bangladesh', 100, 'Available'),
-                ('Wiaan Mulder', 'ALL-ROUNDER', 'South Africa', 75, 'Available'),
-                ('Dwaine Pretorius', 'ALL-ROUNDER', 'South Africa', 75, 'Available'),
-                ('Dasun Shanaka', 'ALL-ROUNDER', 'Sri Lanka', 75, 'Available'),
-                ('Shoriful Islam', 'BOWLER', 'Bangladesh', 75, 'Available'),
-                ('Blessing Muzarabani', 'BOWLER', 'Zimbabwe', 75, 'Available'),
-                ('Matthew Potts', 'BOWLER', 'England', 150, 'Available'),
-                ('Tanzim Hasan Sakib', 'BOWLER', 'Bangladesh', 75, 'Available'),
-                ('Benjamin Sears', 'BOWLER', 'New Zealand', 100, 'Available'),
-                ('Tim Southee', 'BOWLER', 'New Zealand', 150, 'Available'),
-                ('John Turner', 'BOWLER', 'England', 150, 'Available'),
-                ('Joshua Brown', 'BATTER', 'Australia', 30, 'Available'),
-                ('Oliver Davies', 'BATTER', 'Australia', 30, 'Available'),
-                ('Bevan John Jacobs', 'BATTER', 'New Zealand', 30, 'Available'),
-                ('Atharva Kale', 'BATTER', 'India', 30, 'Available'),
-                ('Abhishek Nair', 'BATTER', 'India', 30, 'Available'),
-                ('Vishwanath Pratap Singh', 'BATTER', 'India', 30, 'Available'),
-                ('Nasir Lone', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Brandon McMullen', 'ALL-ROUNDER', 'Scotland', 30, 'Available'),
-                ('S. Midhun', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Abid Mushtaq', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Mahesh Pithiya', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Maramreddy Reddy', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Atit Sheth', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Jonty Sidhu', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Mohit Avasthi', 'BOWLER', 'India', 30, 'Available'),
-                ('Faridoon Dawoodzai', 'BOWLER', 'Afghanistan', 30, 'Available'),
-                ('Praful Hinge', 'BOWLER', 'India', 30, 'Available'),
-                ('Pankaj Jaswal', 'BOWLER', 'India', 30, 'Available'),
-                ('Vijay Kumar', 'BOWLER', 'India', 30, 'Available'),
-                ('Ashok Sharma', 'BOWLER', 'India', 30, 'Available'),
-                ('Mujtaba Yousuf', 'BOWLER', 'India', 30, 'Available'),
-                ('Ashton Agar', 'ALL-ROUNDER', 'Australia', 125, 'Available'),
-                ('Roston Chase', 'ALL-ROUNDER', 'West Indies', 75, 'Available'),
-                ('Junior Dala', 'ALL-ROUNDER', 'South Africa', 75, 'Available'),
-                ('Mahedi Hasan', 'ALL-ROUNDER', 'Bangladesh', 75, 'Available'),
-                ('Nangeyalia Kharote', 'ALL-ROUNDER', 'Afghanistan', 75, 'Available'),
-                ('Dan Lawrence', 'ALL-ROUNDER', 'England', 100, 'Available'),
-                ('Nathan Smith', 'ALL-ROUNDER', 'New Zealand', 100, 'Available'),
-                ('James Anderson', 'BOWLER', 'England', 125, 'Available'),
-                ('Kyle Jamieson', 'BOWLER', 'New Zealand', 150, 'Available'),
-                ('Chris Jordan', 'BOWLER', 'England', 200, 'Available'),
-                ('Hasan Mahmud', 'BOWLER', 'Bangladesh', 75, 'Available'),
-                ('Tymal Mills', 'BOWLER', 'England', 200, 'Available'),
-                ('David Payne', 'BOWLER', 'England', 100, 'Available'),
-                ('Nahid Rana', 'BOWLER', 'Bangladesh', 75, 'Available'),
-                ('Prayas Ray Barman', 'BATTER', 'India', 30, 'Available'),
-                ('Jafar Jamal', 'BATTER', 'India', 30, 'Available'),
-                ('Ayaz Khan', 'BATTER', 'India', 30, 'Available'),
-                ('Kaushik Maity', 'BATTER', 'India', 30, 'Available'),
-                ('Rituraj Sharma', 'BATTER', 'India', 30, 'Available'),
-                ('Vaibhav Suryavanshi', 'BATTER', 'India', 30, 'Available'),
-                ('Kartik Chadha', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Writtick Chatterjee', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Prerit Dutta', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Rajneesh Gurbani', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Shubhang Hegde', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Saransh Jain', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Ripal Patel', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Akash Vashisht', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Anirudh Kanwar', 'BOWLER', 'India', 30, 'Available'),
-                ('Shubham Kapse', 'BOWLER', 'India', 30, 'Available'),
-                ('Atif Mushtaq', 'BOWLER', 'India', 30, 'Available'),
-                ('Dipesh Parwani', 'BOWLER', 'India', 30, 'Available'),
-                ('Manish Reddy', 'BOWLER', 'India', 30, 'Available'),
-                ('Chetan Sharma', 'BOWLER', 'India', 30, 'Available'),
-                ('Avinash Singh', 'BOWLER', 'India', 30, 'Available'),
-                ('Alick Athanaze', 'ALL-ROUNDER', 'West Indies', 75, 'Available'),
-                ('Hilton Cartwright', 'ALL-ROUNDER', 'Australia', 75, 'Available'),
-                ('Dominic Drakes', 'ALL-ROUNDER', 'West Indies', 125, 'Available'),
-                ('Daryn Dupavillon', 'BOWLER', 'South Africa', 75, 'Available'),
-                ('Matthew Forde', 'ALL-ROUNDER', 'West Indies', 125, 'Available'),
-                ('Patrick Kruger', 'ALL-ROUNDER', 'South Africa', 75, 'Available'),
-                ('Lahiru Kumara', 'BOWLER', 'Sri Lanka', 75, 'Available'),
-                ('Michael Neser', 'ALL-ROUNDER', 'Australia', 75, 'Available'),
-                ('Richard Ngarava', 'BOWLER', 'Zimbabwe', 75, 'Available'),
-                ('Wayne Parnell', 'BOWLER', 'South Africa', 100, 'Available'),
-                ('Keemo Paul', 'ALL-ROUNDER', 'West Indies', 125, 'Available'),
-                ('Odean Smith', 'ALL-ROUNDER', 'West Indies', 75, 'Available'),
-                ('Andrew Tye', 'BOWLER', 'Australia', 75, 'Available'),
-                ('Ajay Ahlawat', 'ALL-ROUNDER', 'India', 40, 'Available'),
-                ('Corbin Bosch', 'ALL-ROUNDER', 'South Africa', 30, 'Available'),
-                ('Mayank Gusain', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Mukhtar Hussain', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Girinath Reddy', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Jalaj Saxena', 'ALL-ROUNDER', 'India', 40, 'Available'),
-                ('Yajas Sharma', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Sanjay Yadav', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Vishal Godara', 'BOWLER', 'India', 30, 'Available'),
-                ('Eshan Malinga', 'BOWLER', 'Sri Lanka', 30, 'Available'),
-                ('Samarth Nagraj', 'BOWLER', 'India', 30, 'Available'),
-                ('Abhishek Saini', 'BOWLER', 'India', 30, 'Available'),
-                ('Dumindu Sewmina', 'BOWLER', 'Sri Lanka', 30, 'Available'),
-                ('Pradyuman Kumar Singh', 'BOWLER', 'India', 30, 'Available'),
-                ('Vasu Vats', 'BOWLER', 'India', 30, 'Available'),
-                ('Umang Kumar', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Mohamed Ali', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Atharva Ankolekar', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Vaisakh Chandran', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Auqib Dar', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Rohit Rayudu', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Uday Saharan', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Ayush Vartak', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Baba Aparajith', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Sumit Kumar Beniwal', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Nishunk Birla', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Digvijay Deshmukh', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Lakshay Jain', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Duan Jansen', 'ALL-ROUNDER', 'South Africa', 30, 'Available'),
-                ('Kritagya Singh', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('P. Vignesh', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Sabhay Chadha', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Ben Howell', 'ALL-ROUNDER', 'England', 50, 'Available'),
-                ('Hemanth Kumar', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Rohan Rana', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Bharat Sharma', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Pratham Singh', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Tripurana Vijay', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Ravi Yadav', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Arjun Azad', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Abhay Choudhary', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Gaurav Gambhir', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Shubham Garhwal', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Tejasvi Jaiswal', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Sairaj Patil', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Madhav Tiwari', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Kamal Tripathi', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Prashant Chauhan', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Yash Dabas', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Dhruv Kaushik', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Khrievitso Kense', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Akash Parkar', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Vignesh Puthur', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Tripuresh Singh', 'ALL-ROUNDER', 'India', 30, 'Available'),
-                ('Vijay Yadav', 'ALL-ROUNDER', 'India', 30, 'Available')
-            """;
-            statement.executeUpdate(insertData);
-            
-            System.out.println("Database setup completed successfully!");
-            return connection;
-            
-        } catch (SQLException e) {
-            System.err.println("Database setup failed: " + e.getMessage());
-            e.printStackTrace();
-            return null;
+    /**
+     * Forgets the session of a team whose connection has gone once it has stayed away for
+     * {@code --session-grace}, so a client that lost its token can log the team in again
+     * rather than being locked out for the rest of the auction. A RESUME in the meantime
+     * keeps the session.
+     */
+    private static synchronized void expireSessionLater(String team) {
+        Session session = sessions.get(team);
+        // Connections closed by a shutdown leave no time for a resume
+        if (session == null || scheduler.isShutdown()) return;
+        Future<?> expiry = scheduleTimer(Timer.SESSION_EXPIRY, () -> {
+            if (!clients.containsKey(team) && sessions.remove(team, session)) {
+                sessionExpiries.remove(team);
+                logger.info("Session of " + team + " expired; the team can log in again");
+            }
+        }, sessionGrace);
+        Future<?> previous = sessionExpiries.put(team, expiry);
+        if (previous != null) {
+            previous.cancel(false);
+        }
+    }
+    
+    /**
+     * Rebuilds the in-memory auction position from journal records.
+     */
+    private static class JournalRecovery implements AuctionListener {
+        
+        @Override
+        public void catalogLoaded(List<Integer> lotOrder) {
+            playerIds.clear();
+            playerIds.addAll(lotOrder);
+            currentPlayerIndex = -1;
+            openLots.clear();
+        }
+        
+        @Override
+        public void teamJoined(String teamName, double purse) {
+            teamPurses.put(teamName, purse);
+            teamPlayerCounts.put(teamName, 0);
+            teamNonIndianCounts.put(teamName, 0);
+        }
+        
+        @Override
+        public void lotOpened(int lotIndex, int playerId, String playerName, double basePrice,
+                              String playerType, String nationality) {
+            currentPlayerIndex = lotIndex;
+            openLots.put(lotIndex, new Lot(lotIndex,
+                new AuctionStore.Player(playerId, playerName, playerType, nationality, basePrice)));
+        }
+        
+        @Override
+        public void bidAccepted(int playerId, String teamName, double amount) {
+            for (Lot lot : openLots.values()) {
+                if (lot.player.id() == playerId) {
+                    lot.highestBid = amount;
+                    lot.highestBidder = teamName;
+                }
+            }
+        }
+        
+        @Override
+        public void playerSold(int playerId, String teamName, double price, boolean overseas) {
+            teamPurses.put(teamName, teamPurses.getOrDefault(teamName, INITIAL_PURSE) - price);
+            teamPlayerCounts.merge(teamName, 1, Integer::sum);
+            if (overseas) {
+                teamNonIndianCounts.merge(teamName, 1, Integer::sum);
+            }
+            openLots.values().removeIf(lot -> lot.player.id() == playerId);
+        }
+        
+        @Override
+        public void playerUnsold(int playerId) {
+            openLots.values().removeIf(lot -> lot.player.id() == playerId);
         }
     }
 }
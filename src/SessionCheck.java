@@ -0,0 +1,156 @@
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Checks that a team's session can't be taken over: once a team has logged in, a
+ * {@code LOGIN} as that team from anyone else is refused, even after its connection has
+ * dropped, and only {@code RESUME} with the token its login was issued takes it back. Once
+ * the team has stayed away past the session grace period, a {@code LOGIN} works again.
+ *
+ * Usage: {@code java SessionCheck [--port=1237]}
+ *
+ * A server is started in this JVM on loopback with the embedded store in a temporary
+ * directory. Two teams log in, one drops its connection, and a third client tries to log
+ * in as it, then to resume it with a wrong token and with the right one. The resumed team
+ * then drops too, and a login after the grace period must be accepted with a new token. The
+ * run exits with status 1 if any step is answered differently.
+ */
+public class SessionCheck {
+    private static final long REPLY_TIMEOUT_SECONDS = 5;
+    private static final long SESSION_GRACE_MILLIS = 1000;
+
+    private final List<String> failures = new ArrayList<>();
+
+    public static void main(String[] args) throws Exception {
+        int port = 1237;
+        for (String arg : args) {
+            if (arg.startsWith("--port=")) port = Integer.parseInt(arg.substring(7));
+        }
+        Path directory = Files.createTempDirectory("auction-session");
+        boolean passed;
+        try {
+            startServer(directory, port);
+            passed = new SessionCheck().run(port);
+        } finally {
+            deleteRecursively(directory);
+        }
+        // The in-process server never returns from its accept loop
+        System.exit(passed ? 0 : 1);
+    }
+
+    private boolean run(int port) throws Exception {
+        AuctionClient owner = new AuctionClient("localhost", port).withoutReconnect();
+        AuctionClient other = new AuctionClient("localhost", port).withoutReconnect();
+        Semaphore ownerLeft = new Semaphore(0);
+        other.subscribe(event -> {
+            if (event instanceof AuctionEvent.TeamLeft left && left.team().equals("Owner")) {
+                ownerLeft.release();
+            }
+        });
+        owner.connect();
+        other.connect();
+        expect("LOGIN as a new team", owner.login("Owner").get(REPLY_TIMEOUT_SECONDS, TimeUnit.SECONDS), true, null);
+        expect("LOGIN as a second team", other.login("Other").get(REPLY_TIMEOUT_SECONDS, TimeUnit.SECONDS), true, null);
+        String token = owner.getSessionToken();
+        if (token == null) {
+            failures.add("login issued no session token");
+        }
+
+        owner.dropConnection();
+        if (!ownerLeft.tryAcquire(REPLY_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            failures.add("the server never noticed the dropped connection");
+        }
+
+        AuctionClient intruder = new AuctionClient("localhost", port).withoutReconnect();
+        intruder.connect();
+        expect("LOGIN as the dropped team", intruder.login("Owner").get(REPLY_TIMEOUT_SECONDS, TimeUnit.SECONDS),
+            false, "Team has a session, use RESUME");
+        expect("RESUME with a wrong token", intruder.resumeSession("Owner", "not-" + token)
+            .get(REPLY_TIMEOUT_SECONDS, TimeUnit.SECONDS), false, "Unknown session");
+
+        AuctionClient returning = new AuctionClient("localhost", port).withoutReconnect();
+        returning.connect();
+        expect("RESUME with the login's token", returning.resumeSession("Owner", token)
+            .get(REPLY_TIMEOUT_SECONDS, TimeUnit.SECONDS), true, "RESUMED:Owner");
+        AuctionClient.State state = returning.state().get(REPLY_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        if (state == null) {
+            failures.add("the resumed team could not read its state");
+        }
+
+        returning.dropConnection();
+        if (!ownerLeft.tryAcquire(REPLY_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            failures.add("the server never noticed the resumed connection drop");
+        }
+        Thread.sleep(SESSION_GRACE_MILLIS * 2);
+        AuctionClient relogin = new AuctionClient("localhost", port).withoutReconnect();
+        relogin.connect();
+        expect("LOGIN after the session lapsed", relogin.login("Owner").get(REPLY_TIMEOUT_SECONDS, TimeUnit.SECONDS),
+            true, null);
+        if (relogin.getSessionToken() == null || relogin.getSessionToken().equals(token)) {
+            failures.add("the login after the session lapsed was not issued a new token");
+        }
+
+        for (AuctionClient client : List.of(other, intruder, relogin)) {
+            client.close();
+        }
+        if (failures.isEmpty()) {
+            System.out.println("Session checks passed");
+            return true;
+        }
+        failures.forEach(failure -> System.out.println("FAILED: " + failure));
+        return false;
+    }
+
+    private void expect(String step, AuctionClient.Reply reply, boolean accepted, String text) {
+        boolean matches = reply.accepted() == accepted && (text == null || text.equals(reply.text()));
+        System.out.printf("%-32s %s%n", step, (reply.accepted() ? "accepted" : "refused") +
+            (reply.text() != null ? " (" + reply.text().lines().findFirst().orElse("") + ")" : ""));
+        if (!matches) {
+            failures.add(step + ": expected " + (accepted ? "accepted" : "refused") +
+                (text != null ? " with " + text : "") + ", got " + reply);
+        }
+    }
+
+    /** Starts {@link Server2} in this JVM and waits for it to listen. */
+    private static void startServer(Path directory, int port) throws Exception {
+        String[] args = {
+            "--store=embedded", "--data-dir=" + directory.resolve("store"),
+            "--journal=" + directory.resolve("auction.journal"), "--fresh", "--snapshot-interval=0",
+            "--port=" + port, "--metrics-port=0", "--session-grace=" + SESSION_GRACE_MILLIS,
+        };
+        Class.forName("Server2");
+        Logger.getLogger(Server2.class.getName()).setLevel(Level.WARNING);
+
+        Thread server = new Thread(() -> Server2.main(args), "server");
+        server.setDaemon(true);
+        server.start();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (true) {
+            try {
+                new Socket("localhost", port).close();
+                return;
+            } catch (IOException e) {
+                if (System.nanoTime() > deadline) throw new IOException("Server did not start on port " + port, e);
+                Thread.sleep(50);
+            }
+        }
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (var paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,481 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.sun.management.UnixOperatingSystemMXBean;
+
+/**
+ * Soak test for {@link Server2}: runs one long synthetic auction under faults and watches
+ * the server's resources for leaks.
+ *
+ * Usage: {@code java SoakTest [--minutes=120] [--teams=12] [--slow-readers=2]
+ * [--disconnects-per-min=4] [--store-failure-rate=0.02] [--store-slow-rate=0.02]
+ * [--store-slow-ms=250] [--sample-s=30] [--port=1236] [--seed=1]}
+ *
+ * A server is started in this JVM on loopback with the embedded store behind a
+ * {@link FaultInjectingStore}, which fails or holds up a share of store calls, and with a
+ * catalog big enough to outlast the run. Bot teams bid and vote to finalize through
+ * {@link AuctionClient}; every so often one has its connection cut and resumes, or quits
+ * and comes back on a new client with its session token. Slow readers log in over raw
+ * sockets, read their broadcasts slowly and sometimes stop reading altogether, until the
+ * server drops them and they resume.
+ *
+ * Every {@code --sample-s} the heap in use after a full collection, the live threads, the
+ * open file descriptors and the store calls in flight are sampled. After the first fifth of
+ * the run, which is left for warmup, a resource counts as leaking when both its least-squares
+ * trend and the rise from the first third of the samples to the last exceed its tolerance.
+ * The run then exits with status 1.
+ */
+public class SoakTest {
+    private static final double BID_INCREMENT = 10.0; // the server's minimum raise
+    private static final double BASE_PRICE = 20.0;
+    private static final double INTEREST = 0.3;
+    private static final long QUIET_MS = 300;
+
+    /** A sampled resource and how much it may grow over the measured part of the run. */
+    private record Resource(String name, String unit, double scale, double tolerance, LongSupplier sample) {}
+
+    private final Map<String, String> options;
+    private final long seed;
+    private final int port;
+    private final ScheduledExecutorService timers = Executors.newScheduledThreadPool(2);
+    private final List<Bot> bots = new ArrayList<>();
+    private final List<SlowReader> slowReaders = new ArrayList<>();
+    private final AtomicReference<String> currentLot = new AtomicReference<>("");
+    private final AtomicInteger lotsOpened = new AtomicInteger();
+    private final AtomicLong disconnects = new AtomicLong();
+    private final AtomicLong slowReaderDrops = new AtomicLong();
+    private volatile boolean stopping;
+    private FaultInjectingStore faults;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) continue;
+            int eq = arg.indexOf('=');
+            options.put(eq < 0 ? arg.substring(2) : arg.substring(2, eq), eq < 0 ? "true" : arg.substring(eq + 1));
+        }
+        boolean passed = new SoakTest(options).run();
+        // The in-process server never returns from its accept loop
+        System.exit(passed ? 0 : 1);
+    }
+
+    SoakTest(Map<String, String> options) {
+        this.options = options;
+        this.seed = Long.parseLong(options.getOrDefault("seed", "1"));
+        this.port = Integer.parseInt(options.getOrDefault("port", "1236"));
+    }
+
+    private double option(String name, double defaultValue) {
+        return Double.parseDouble(options.getOrDefault(name, String.valueOf(defaultValue)));
+    }
+
+    boolean run() throws Exception {
+        double minutes = option("minutes", 120);
+        int teams = (int) option("teams", 12);
+        int slowReaderCount = (int) option("slow-readers", 2);
+        long sampleMillis = (long) (option("sample-s", 30) * 1000);
+        double disconnectsPerMinute = option("disconnects-per-min", 4);
+
+        Path directory = Files.createTempDirectory("auction-soak");
+        try {
+            // A lot everyone votes to finalize takes about half a second; the auction must not run out
+            seedCatalog(directory, (int) (minutes * 60 * 3) + 100);
+            startServer(directory);
+
+            Random random = new Random(seed);
+            for (int i = 0; i < teams; i++) {
+                bots.add(new Bot(String.format("Team %02d", i + 1), new Random(random.nextLong())));
+            }
+            for (Bot bot : bots) {
+                bot.client.connect();
+            }
+            CompletableFuture.allOf(bots.stream().map(bot -> bot.client.login(bot.team)).toArray(CompletableFuture[]::new)).join();
+            CompletableFuture.allOf(bots.stream().map(bot -> bot.client.ready()).toArray(CompletableFuture[]::new)).join();
+            // Slow readers join a running auction, so the start never waits for their READY
+            for (int i = 0; i < slowReaderCount; i++) {
+                SlowReader reader = new SlowReader("Slow " + (i + 1), new Random(random.nextLong()));
+                slowReaders.add(reader);
+                reader.start();
+            }
+            faults.arm();
+            if (disconnectsPerMinute > 0) {
+                long every = (long) (60_000 / disconnectsPerMinute);
+                timers.scheduleAtFixedRate(() -> disconnectSomeone(random), every, every, TimeUnit.MILLISECONDS);
+            }
+
+            return soak((long) (minutes * 60_000), sampleMillis);
+        } finally {
+            stopping = true;
+            timers.shutdownNow();
+            for (Bot bot : bots) {
+                bot.client.close();
+            }
+            for (SlowReader reader : slowReaders) {
+                reader.close();
+            }
+            deleteRecursively(directory);
+        }
+    }
+
+    private void seedCatalog(Path directory, int lots) throws AuctionStore.StoreException {
+        try (FileAuctionStore store = FileAuctionStore.open(directory.resolve("store"))) {
+            store.replaceCatalog(new Iterator<>() {
+                private int next = 1;
+
+                @Override
+                public boolean hasNext() {
+                    return next <= lots;
+                }
+
+                @Override
+                public AuctionStore.Player next() {
+                    int id = next++;
+                    return new AuctionStore.Player(id, "Soak Player " + id, id % 4 == 0 ? "BOWLER" : "BATTER",
+                        id % 5 == 0 ? "England" : "India", BASE_PRICE);
+                }
+            });
+        }
+    }
+
+    /** Starts {@link Server2} in this JVM behind the fault-injecting store and waits for it to listen. */
+    private void startServer(Path directory) throws Exception {
+        String[] args = {
+            "--store=embedded", "--data-dir=" + directory.resolve("store"),
+            "--journal=" + directory.resolve("auction.journal"), "--fresh", "--snapshot-interval=60",
+            "--port=" + port, "--max-clients=1000", "--metrics-port=0",
+            "--bid-timeout=" + options.getOrDefault("bid-timeout", "1500"),
+            "--finalize-timeout=" + options.getOrDefault("finalize-timeout", "500"),
+            "--lot-gap=" + options.getOrDefault("lot-gap", "100"),
+        };
+        // Injected store failures are logged as SEVERE by design; the soak reports them itself
+        Class.forName("Server2");
+        Logger.getLogger(Server2.class.getName()).setLevel(Level.parse(options.getOrDefault("server-log", "OFF")));
+        Logger.getLogger(LotQueue.class.getName()).setLevel(Level.OFF);
+        Server2.wrapStore(store -> faults = new FaultInjectingStore(store, option("store-failure-rate", 0.02),
+            option("store-slow-rate", 0.02), (long) option("store-slow-ms", 250), seed));
+
+        Thread server = new Thread(() -> Server2.main(args), "server");
+        server.setDaemon(true);
+        server.start();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (true) {
+            try {
+                new Socket("localhost", port).close();
+                return;
+            } catch (IOException e) {
+                if (System.nanoTime() > deadline) throw new IOException("Server did not start on port " + port, e);
+                Thread.sleep(50);
+            }
+        }
+    }
+
+    /** Samples the resources until the time is up, then judges their trends. */
+    private boolean soak(long durationMillis, long sampleMillis) throws InterruptedException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        List<Resource> resources = new ArrayList<>();
+        resources.add(new Resource("heap after GC", "MB", 1 << 20, 16 << 20, () -> {
+            memory.gc();
+            return memory.getHeapMemoryUsage().getUsed();
+        }));
+        resources.add(new Resource("live threads", "", 1, 8, threads::getThreadCount));
+        if (os instanceof UnixOperatingSystemMXBean unix) {
+            resources.add(new Resource("open files", "", 1, 16, unix::getOpenFileDescriptorCount));
+        }
+        resources.add(new Resource("store calls in flight", "", 1, 2, () -> faults.inFlight()));
+
+        System.out.printf("Soaking for %.0f min with %d teams and %d slow readers on port %d%n",
+            durationMillis / 60_000.0, bots.size(), slowReaders.size(), port);
+        StringBuilder header = new StringBuilder(String.format("%8s %7s", "minute", "lots"));
+        for (Resource resource : resources) {
+            header.append(String.format(" %22s", resource.name() + (resource.unit().isEmpty() ? "" : " (" + resource.unit() + ")")));
+        }
+        header.append(String.format(" %9s %9s %12s %10s", "failures", "delays", "disconnects", "drops"));
+        System.out.println(header);
+
+        List<Double> times = new ArrayList<>();
+        List<double[]> samples = new ArrayList<>();
+        long start = System.nanoTime();
+        while (true) {
+            double minute = (System.nanoTime() - start) / 60e9;
+            double[] values = new double[resources.size()];
+            StringBuilder row = new StringBuilder(String.format("%8.1f %7d", minute, lotsOpened.get()));
+            for (int i = 0; i < values.length; i++) {
+                Resource resource = resources.get(i);
+                values[i] = resource.sample().getAsLong();
+                row.append(String.format(" %22s", format(values[i], resource)));
+            }
+            row.append(String.format(" %9d %9d %12d %10d", faults.failures(), faults.delays(), disconnects.get(),
+                slowReaderDrops.get()));
+            System.out.println(row);
+            times.add(minute);
+            samples.add(values);
+
+            long elapsed = (System.nanoTime() - start) / 1_000_000;
+            if (elapsed >= durationMillis) break;
+            Thread.sleep(Math.min(sampleMillis, durationMillis - elapsed));
+        }
+
+        // The first fifth is warmup: caches fill, the JIT settles and thread pools reach their working size
+        int from = samples.size() / 5;
+        if (samples.size() - from < 6) {
+            System.out.println("Too few samples to judge trends; run longer or sample more often");
+            return true;
+        }
+        boolean passed = true;
+        System.out.printf("%nTrends over the last %.0f min:%n", times.get(times.size() - 1) - times.get(from));
+        for (int i = 0; i < resources.size(); i++) {
+            Resource resource = resources.get(i);
+            double[] values = new double[samples.size() - from];
+            double[] minutes = new double[values.length];
+            for (int j = 0; j < values.length; j++) {
+                values[j] = samples.get(from + j)[i];
+                minutes[j] = times.get(from + j);
+            }
+            double span = minutes[minutes.length - 1] - minutes[0];
+            double trend = slope(minutes, values) * span;
+            int third = values.length / 3;
+            double rise = median(values, values.length - third, values.length) - median(values, 0, third);
+            boolean leaking = trend > resource.tolerance() && rise > resource.tolerance();
+            System.out.printf("  %-22s trend %10s, first to last third %10s, tolerance %8s  %s%n", resource.name(),
+                format(trend, resource), format(rise, resource), format(resource.tolerance(), resource),
+                leaking ? "LEAKING" : "ok");
+            passed &= !leaking;
+        }
+        System.out.println(passed ? "No resource trends upward" : "FAILED: resources trend upward");
+        return passed;
+    }
+
+    private static String format(double value, Resource resource) {
+        return String.format(resource.scale() == 1 ? "%.0f" : "%.1f", value / resource.scale());
+    }
+
+    /** Least-squares slope of {@code y} over {@code x}. */
+    private static double slope(double[] x, double[] y) {
+        double meanX = Arrays.stream(x).average().orElse(0);
+        double meanY = Arrays.stream(y).average().orElse(0);
+        double covariance = 0, variance = 0;
+        for (int i = 0; i < x.length; i++) {
+            covariance += (x[i] - meanX) * (y[i] - meanY);
+            variance += (x[i] - meanX) * (x[i] - meanX);
+        }
+        return variance == 0 ? 0 : covariance / variance;
+    }
+
+    private static double median(double[] values, int from, int to) {
+        double[] sorted = Arrays.copyOfRange(values, from, to);
+        Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    /** Cuts a random team's connection, which then resumes; or has it quit and come back on a new client. */
+    private void disconnectSomeone(Random random) {
+        Bot bot;
+        boolean quit;
+        synchronized (random) {
+            bot = bots.get(random.nextInt(bots.size()));
+            quit = random.nextBoolean();
+        }
+        disconnects.incrementAndGet();
+        if (!quit) {
+            bot.client.dropConnection();
+            return;
+        }
+        try {
+            bot.rejoin();
+        } catch (IOException e) {
+            System.out.println(bot.team + " could not log back in: " + e.getMessage());
+        }
+    }
+
+    /** One simulated team. Its callbacks all run on its client's reader thread or a timer thread. */
+    private final class Bot {
+        final String team;
+        final Random random;
+        volatile AuctionClient client;
+
+        // The lot in play, as seen by this team
+        private int lot;
+        private double ceiling;
+        private double standingBid;
+        private String standingBidder;
+        private long bidsSeen;
+        private boolean bidPending;
+        private boolean voted;
+
+        Bot(String team, Random random) {
+            this.team = team;
+            this.random = random;
+            this.client = newClient();
+        }
+
+        private AuctionClient newClient() {
+            AuctionClient fresh = new AuctionClient("localhost", port);
+            fresh.subscribe(this::onEvent);
+            return fresh;
+        }
+
+        /** Quits and resumes on a new client with the saved session token, as a user restarting the client would. */
+        void rejoin() throws IOException {
+            String token = client.getSessionToken();
+            client.close();
+            AuctionClient fresh = newClient();
+            fresh.connect();
+            client = fresh;
+            fresh.resumeSession(team, token);
+        }
+
+        private synchronized void onEvent(AuctionEvent event) {
+            if (event instanceof AuctionEvent.NewPlayer player) {
+                if (!player.name().equals(currentLot.getAndSet(player.name()))) {
+                    lotsOpened.incrementAndGet();
+                }
+                lot++;
+                ceiling = random.nextDouble() < INTEREST ? player.basePrice() * (1.5 + random.nextDouble() * 2) : 0;
+                // The opening bid must beat the base price, as any later one must beat the standing bid
+                standingBid = player.basePrice();
+                standingBidder = null;
+                voted = false;
+                bidPending = false;
+                considerBidding();
+                scheduleFinalizeCheck();
+
+            } else if (event instanceof AuctionEvent.NewBid bid) {
+                bidsSeen++;
+                standingBid = bid.amount();
+                standingBidder = bid.team();
+                considerBidding();
+                scheduleFinalizeCheck();
+            }
+        }
+
+        private void considerBidding() {
+            if (stopping || bidPending || team.equals(standingBidder)) return;
+            double next = standingBid + BID_INCREMENT;
+            if (next > ceiling) return;
+
+            bidPending = true;
+            int lotAtDecision = lot;
+            timers.schedule(() -> placeBid(lotAtDecision), random.nextInt(50), TimeUnit.MILLISECONDS);
+        }
+
+        private synchronized void placeBid(int lotAtDecision) {
+            bidPending = false;
+            if (stopping || lotAtDecision != lot || team.equals(standingBidder)) return;
+            double bid = standingBid + BID_INCREMENT;
+            if (bid <= ceiling) {
+                client.bid(bid);
+            }
+        }
+
+        private void scheduleFinalizeCheck() {
+            if (stopping) return;
+            int lotAtCheck = lot;
+            long seenAtCheck = bidsSeen;
+            timers.schedule(() -> finalizeIfQuiet(lotAtCheck, seenAtCheck), QUIET_MS + random.nextInt((int) QUIET_MS),
+                TimeUnit.MILLISECONDS);
+        }
+
+        private synchronized void finalizeIfQuiet(int lotAtCheck, long seenAtCheck) {
+            if (stopping || voted || lotAtCheck != lot || seenAtCheck != bidsSeen) return;
+            voted = true;
+            client.finalizePlayer();
+        }
+    }
+
+    /**
+     * A team on a poor connection: reads its broadcasts a line at a time with a pause after
+     * each, and now and then stops reading for a while. When the server gives up on it, it
+     * resumes its session on a new connection.
+     */
+    private final class SlowReader extends Thread {
+        private final String team;
+        private final Random random;
+        private volatile Socket socket;
+        private String sessionToken;
+
+        SlowReader(String team, Random random) {
+            super("soak-" + team.toLowerCase().replace(' ', '-'));
+            this.team = team;
+            this.random = random;
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (!stopping) {
+                try (Socket connection = new Socket("localhost", port)) {
+                    socket = connection;
+                    BufferedReader in = new BufferedReader(new InputStreamReader(connection.getInputStream()));
+                    new PrintWriter(connection.getOutputStream(), true).println(
+                        sessionToken == null ? "LOGIN:" + team : "RESUME:" + team + ":" + sessionToken);
+                    String line;
+                    while (!stopping && (line = in.readLine()) != null) {
+                        if (line.startsWith("SESSION:")) {
+                            sessionToken = line.substring(8);
+                        }
+                        Thread.sleep(random.nextInt(100) < 2 ? 5_000 + random.nextInt(25_000) : random.nextInt(20));
+                    }
+                } catch (IOException e) {
+                    // Dropped by the server
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (stopping) return;
+                slowReaderDrops.incrementAndGet();
+                try {
+                    Thread.sleep(1_000);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+
+        void close() {
+            try {
+                Socket connection = socket;
+                if (connection != null) connection.close();
+            } catch (IOException e) {
+                // Ignore
+            }
+        }
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (var paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
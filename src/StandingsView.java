@@ -0,0 +1,90 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable picture of the league table at one point in the auction, published by
+ * {@link AuctionReadModel}. Any number of threads can format replies from it without
+ * locking or touching the store.
+ */
+record StandingsView(long version, Map<String, StandingsView.TeamView> teams, List<Purchase> topBuys,
+                     int unsold, int passed) {
+
+    static final StandingsView EMPTY = new StandingsView(0, Map.of(), List.of(), 0, 0);
+
+    record TeamView(String name, double purse, double spent, int players, int overseas,
+                    Map<String, Integer> byType, List<AuctionStore.RosterEntry> roster) {}
+
+    record Purchase(String team, AuctionStore.RosterEntry player) {}
+
+    /** The full squad view sent in reply to {@code DISPLAY_TEAMS}. */
+    String teamView(String teamName) {
+        TeamView team = teams.getOrDefault(teamName,
+            new TeamView(teamName, 0, 0, 0, 0, Map.of(), List.of()));
+
+        StringBuilder view = new StringBuilder();
+        view.append("=== TEAM ").append(teamName.toUpperCase()).append(" ===\n");
+        for (AuctionStore.RosterEntry entry : team.roster()) {
+            view.append(String.format("%s (%s, %s) - Base: ₹%s, Bought: ₹%s\n",
+                entry.playerName(), entry.playerType(), entry.nationality(),
+                money(entry.basePrice()), money(entry.bidAmount())));
+        }
+        view.append(String.format("\nTotal Players: %d\n", team.players()));
+        view.append(String.format("Overseas Players: %d\n", team.overseas()));
+        if (!team.byType().isEmpty()) {
+            view.append("Squad Mix: ").append(typeBreakdown(team)).append('\n');
+        }
+        view.append(String.format("Total Spent: ₹%s\n", money(team.spent())));
+        view.append(String.format("Remaining Purse: ₹%s\n", money(team.purse())));
+        return view.toString();
+    }
+
+    /** Every team ranked by squad size and then by spend, followed by the most expensive buys. */
+    String leagueTable() {
+        List<TeamView> ranked = new ArrayList<>(teams.values());
+        ranked.sort(Comparator.comparingInt(TeamView::players).thenComparingDouble(TeamView::spent).reversed());
+
+        StringBuilder table = new StringBuilder("=== STANDINGS ===\n");
+        int rank = 0;
+        for (TeamView team : ranked) {
+            table.append(String.format("%d. %s - %d players (%d overseas), ₹%s spent, ₹%s left\n",
+                ++rank, team.name(), team.players(), team.overseas(), money(team.spent()), money(team.purse())));
+        }
+        table.append(String.format("Unsold: %d (%d passed in)\n", unsold, passed));
+
+        if (!topBuys.isEmpty()) {
+            table.append("\n=== TOP BUYS ===\n");
+            rank = 0;
+            for (Purchase buy : topBuys) {
+                table.append(String.format("%d. %s to %s for ₹%s\n",
+                    ++rank, buy.player().playerName(), buy.team(), money(buy.player().bidAmount())));
+            }
+        }
+        return table.toString();
+    }
+
+    /** The team's one-line summary for the closing report. */
+    String summaryLine(String teamName) {
+        TeamView team = teams.get(teamName);
+        if (team == null) {
+            return teamName + ": no purchases";
+        }
+        return String.format("%s: %d players (%d overseas), ₹%s spent, ₹%s remaining [%s]",
+            team.name(), team.players(), team.overseas(), money(team.spent()), money(team.purse()),
+            typeBreakdown(team));
+    }
+
+    private static String typeBreakdown(TeamView team) {
+        StringBuilder breakdown = new StringBuilder();
+        for (Map.Entry<String, Integer> type : team.byType().entrySet()) {
+            if (breakdown.length() > 0) breakdown.append(", ");
+            breakdown.append(type.getKey()).append(' ').append(type.getValue());
+        }
+        return breakdown.length() > 0 ? breakdown.toString() : "no players";
+    }
+
+    private static String money(double amount) {
+        return String.format("%,.2f", amount);
+    }
+}
@@ -0,0 +1,87 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures per-sale latency of each {@link AuctionStore} implementation.
+ *
+ * Usage: {@code java StoreBenchmark [--mysql]}
+ *
+ * Sales are reset, then every player in the catalog is sold once, round-robin across
+ * eight teams. The MySQL run wipes its sales, so it uses the {@code ipl_auction_bench}
+ * database unless {@code -Dauction.db.name} says otherwise.
+ */
+public class StoreBenchmark {
+    private static final int TEAMS = 8;
+    private static final int WARMUP_SALES = 100;
+
+    public static void main(String[] args) throws Exception {
+        boolean includeMySql = Arrays.asList(args).contains("--mysql");
+        if (System.getProperty("auction.db.name") == null) {
+            System.setProperty("auction.db.name", "ipl_auction_bench");
+        }
+
+        Path directory = Files.createTempDirectory("auction-store-bench");
+        try (AuctionStore embedded = FileAuctionStore.open(directory)) {
+            run("embedded", embedded);
+        } finally {
+            deleteRecursively(directory);
+        }
+
+        if (includeMySql) {
+            try (AuctionStore mysql = MySqlAuctionStore.connect()) {
+                run("mysql", mysql);
+            } catch (AuctionStore.StoreException e) {
+                System.out.println("mysql: skipped (" + e.getMessage() + ")");
+            }
+        }
+    }
+
+    private static void run(String name, AuctionStore store) throws AuctionStore.StoreException {
+        store.resetSales();
+        List<Integer> ids = store.loadAvailablePlayerIds();
+        for (int t = 0; t < TEAMS; t++) {
+            store.registerTeam("Bench Team " + t, true);
+        }
+
+        long[] latencies = new long[Math.max(0, ids.size() - WARMUP_SALES)];
+        for (int i = 0; i < ids.size(); i++) {
+            AuctionStore.Player player = store.loadPlayer(ids.get(i));
+            String team = "Bench Team " + (i % TEAMS);
+
+            long start = System.nanoTime();
+            store.recordSale(player, team, player.basePrice() + 10);
+            long elapsed = System.nanoTime() - start;
+
+            if (i >= WARMUP_SALES) {
+                latencies[i - WARMUP_SALES] = elapsed;
+            }
+        }
+
+        if (latencies.length == 0) {
+            System.out.println(name + ": catalog too small to measure (" + ids.size() + " players)");
+            return;
+        }
+        Arrays.sort(latencies);
+        long total = 0;
+        for (long latency : latencies) {
+            total += latency;
+        }
+        System.out.printf("%-9s %5d sales  mean %8.1f us  p50 %8.1f us  p99 %8.1f us  max %8.1f us  (%.0f sales/sec)%n",
+            name + ":", latencies.length, total / 1e3 / latencies.length,
+            percentile(latencies, 0.50), percentile(latencies, 0.99),
+            latencies[latencies.length - 1] / 1e3, latencies.length / (total / 1e9));
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.round(p * (sorted.length - 1)))] / 1e3;
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (var paths = Files.walk(directory)) {
+            paths.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/**
+ * How long a lot's bidding and finalization windows last.
+ *
+ * {@link Fixed} gives every lot the full {@code --bid-timeout} after each bid and the full
+ * {@code --finalize-timeout}, however the lot is going, so a lot nobody wants costs as
+ * much time as a contested one. {@link Adaptive} follows the lot instead: a lot with no bid
+ * gets a short opening window and a short finalization, and once bids come in the window
+ * after each one is sized from the pace of the bidding so far, never below a minimum
+ * extension, so a late bid always leaves the others time to answer it.
+ */
+sealed interface TimerPolicy {
+
+    /**
+     * @param bids accepted bids on the lot so far
+     * @param gapMillis the recent gap between its bids, the first counted from the lot
+     *                  opening, or 0 if not known, e.g. for a lot resumed after a restart
+     * @return how long bidding stays open from now, in ms
+     */
+    long biddingWindow(int bids, long gapMillis);
+
+    /** @return how long teams have to finalize a lot once its bidding has closed, in ms */
+    long finalizationWindow(int bids);
+
+    /** Reads {@code --timer-policy=fixed|adaptive} for the given full timeouts. */
+    static TimerPolicy named(String name, long biddingTimeout, long finalizationTimeout) {
+        return switch (name) {
+            case "fixed" -> new Fixed(biddingTimeout, finalizationTimeout);
+            case "adaptive" -> new Adaptive(biddingTimeout, finalizationTimeout);
+            default -> throw new IllegalArgumentException("Unknown timer policy: " + name + " (fixed or adaptive)");
+        };
+    }
+
+    record Fixed(long biddingTimeout, long finalizationTimeout) implements TimerPolicy {
+
+        @Override
+        public long biddingWindow(int bids, long gapMillis) {
+            return biddingTimeout;
+        }
+
+        @Override
+        public long finalizationWindow(int bids) {
+            return finalizationTimeout;
+        }
+    }
+
+    /**
+     * Windows scaled from the full timeouts, so a compressed auction keeps the same shape. At
+     * the defaults a lot nobody bids on gets 10 s of bidding and 5 s to finalize. After a bid,
+     * the window is three times the recent gap between bids: a bidding war answered within a
+     * second or two closes 5 s after its last bid, the minimum extension, where a lot bid on
+     * every 10 s waits the full 30 s for the next.
+     */
+    record Adaptive(long biddingTimeout, long finalizationTimeout) implements TimerPolicy {
+        private static final int GAPS_PER_WINDOW = 3;
+
+        @Override
+        public long biddingWindow(int bids, long gapMillis) {
+            if (bids == 0) {
+                return biddingTimeout / 3;
+            }
+            if (gapMillis == 0) {
+                return biddingTimeout;
+            }
+            long minimumExtension = biddingTimeout / 6;
+            return Math.min(biddingTimeout, Math.max(minimumExtension, GAPS_PER_WINDOW * gapMillis));
+        }
+
+        @Override
+        public long finalizationWindow(int bids) {
+            return bids == 0 ? finalizationTimeout / 3 : finalizationTimeout;
+        }
+    }
+}
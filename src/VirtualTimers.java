@@ -0,0 +1,58 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Stands in for the auction's scheduler during a replay. Timers never wait on the wall
+ * clock: each one is due at a point in virtual time, and fires when the recording says
+ * a timer of its name fired, however long the original wait was.
+ */
+class VirtualTimers {
+    private record Timer(String name, long dueMillis, long order, FutureTask<?> task) {}
+
+    private final List<Timer> pending = new ArrayList<>();
+    private long nowMillis;
+    private long scheduled;
+
+    /** Moves virtual time forward to {@code millis} since the session began; it never goes back. */
+    void advanceTo(long millis) {
+        nowMillis = Math.max(nowMillis, millis);
+    }
+
+    long now() {
+        return nowMillis;
+    }
+
+    Future<?> schedule(String name, Runnable task, long delayMillis) {
+        FutureTask<Void> future = new FutureTask<>(task, null);
+        pending.add(new Timer(name, nowMillis + delayMillis, scheduled++, future));
+        return future;
+    }
+
+    /**
+     * Runs the live timer of this name that is due soonest.
+     *
+     * @return false if no timer of that name is pending, i.e. the replay has diverged
+     */
+    boolean fire(String name) {
+        pending.removeIf(timer -> timer.task().isCancelled());
+        Timer next = null;
+        for (Timer timer : pending) {
+            if (timer.name().equals(name) && (next == null || timer.dueMillis() < next.dueMillis()
+                    || (timer.dueMillis() == next.dueMillis() && timer.order() < next.order()))) {
+                next = timer;
+            }
+        }
+        if (next == null) return false;
+        pending.remove(next);
+        next.task().run();
+        return true;
+    }
+
+    /** Timers still waiting, e.g. the bidding timeout of a lot the recording ended in. */
+    int pending() {
+        pending.removeIf(timer -> timer.task().isCancelled());
+        return pending.size();
+    }
+}